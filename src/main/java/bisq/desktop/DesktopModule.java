@@ -17,6 +17,7 @@
 
 package bisq.desktop;
 
+import bisq.desktop.app.BisqApp;
 import bisq.desktop.common.fxml.FxmlViewLoader;
 import bisq.desktop.common.view.CachingViewLoader;
 import bisq.desktop.common.view.ViewFactory;
@@ -31,7 +32,10 @@ import bisq.desktop.main.funds.transactions.TransactionListItemFactory;
 import bisq.desktop.main.offer.offerbook.OfferBook;
 import bisq.desktop.main.overlays.notifications.NotificationCenter;
 import bisq.desktop.main.overlays.windows.TorNetworkSettingsWindow;
+import bisq.desktop.util.GUIProfiler;
+import bisq.desktop.util.PeerTradeHistory;
 import bisq.desktop.util.Transitions;
+import bisq.desktop.util.TxConfidenceDispatcher;
 
 import bisq.core.app.AppOptionKeys;
 import bisq.core.locale.Res;
@@ -63,6 +67,14 @@ public class DesktopModule extends AppModule {
         bind(ResourceBundle.class).toInstance(Res.getResourceBundle());
         bind(ViewLoader.class).to(FxmlViewLoader.class).in(Singleton.class);
         bind(CachingViewLoader.class).in(Singleton.class);
+        bindConstant().annotatedWith(Names.named(CachingViewLoader.MAX_CACHED_VIEWS_KEY))
+                .to(environment.getProperty(CachingViewLoader.MAX_CACHED_VIEWS_KEY, Integer.class, 0));
+        bindConstant().annotatedWith(Names.named(BisqApp.FAST_STARTUP_KEY))
+                .to(environment.getProperty(BisqApp.FAST_STARTUP_KEY, Boolean.class, false));
+        bindConstant().annotatedWith(Names.named(GUIProfiler.STARTUP_TRACE_KEY))
+                .to(environment.getProperty(GUIProfiler.STARTUP_TRACE_KEY, Boolean.class, false));
+        bindConstant().annotatedWith(Names.named(GUIProfiler.PROFILE_GUI_KEY))
+                .to(environment.getProperty(GUIProfiler.PROFILE_GUI_KEY, Boolean.class, false));
 
         bind(Navigation.class).in(Singleton.class);
         bind(NotificationCenter.class).in(Singleton.class);
@@ -79,6 +91,8 @@ public class DesktopModule extends AppModule {
         bind(TransactionListItemFactory.class).in(Singleton.class);
         bind(TransactionAwareTradableFactory.class).in(Singleton.class);
         bind(DisplayedTransactionsFactory.class).in(Singleton.class);
+        bind(PeerTradeHistory.class).in(Singleton.class);
+        bind(TxConfidenceDispatcher.class).in(Singleton.class);
 
         bind(BondingViewUtils.class).in(Singleton.class);
 
@@ -18,6 +18,7 @@
 package bisq.desktop.app;
 
 import bisq.desktop.SystemTray;
+import bisq.desktop.common.StartupTrace;
 import bisq.desktop.common.view.CachingViewLoader;
 import bisq.desktop.common.view.View;
 import bisq.desktop.common.view.ViewLoader;
@@ -30,6 +31,7 @@ import bisq.desktop.main.overlays.windows.FilterWindow;
 import bisq.desktop.main.overlays.windows.ManualPayoutTxWindow;
 import bisq.desktop.main.overlays.windows.SendAlertMessageWindow;
 import bisq.desktop.main.overlays.windows.ShowWalletDataWindow;
+import bisq.desktop.util.GUIProfiler;
 import bisq.desktop.util.ImageUtil;
 
 import bisq.core.alert.AlertManager;
@@ -39,6 +41,7 @@ import bisq.core.btc.wallet.WalletsManager;
 import bisq.core.filter.FilterManager;
 import bisq.core.locale.Res;
 
+import bisq.common.Timer;
 import bisq.common.UserThread;
 import bisq.common.app.DevEnv;
 import bisq.common.setup.GracefulShutDownHandler;
@@ -54,6 +57,8 @@ import org.reactfx.EventStreams;
 
 import javafx.application.Application;
 
+import javafx.animation.AnimationTimer;
+
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -67,6 +72,8 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 
+import javafx.geometry.Insets;
+
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -79,6 +86,8 @@ import static bisq.desktop.util.Layout.INITIAL_SCENE_WIDTH;
 
 @Slf4j
 public class BisqApp extends Application implements UncaughtExceptionHandler {
+    // In fast startup mode the popups shown at startup are deferred until the splash screen got removed
+    public static final String FAST_STARTUP_KEY = "fastStartup";
     private static final long LOG_MEMORY_PERIOD_MIN = 10;
     @Setter
     private static Consumer<Application> appLaunchedHandler;
@@ -117,10 +126,21 @@ public class BisqApp extends Application implements UncaughtExceptionHandler {
 
     public void startApplication(Runnable onUiReadyHandler) {
         try {
-            MainView mainView = loadMainView(injector);
+            MainView mainView;
+            try (StartupTrace.Span ignored = GUIProfiler.startSpan("loadMainView")) {
+                mainView = loadMainView(injector);
+            }
             mainView.setOnUiReadyHandler(onUiReadyHandler);
-            scene = createAndConfigScene(mainView, injector);
-            setupStage(scene);
+            try (StartupTrace.Span ignored = GUIProfiler.startSpan("createScene")) {
+                scene = createAndConfigScene(mainView, injector);
+            }
+            try (StartupTrace.Span ignored = GUIProfiler.startSpan("setupStage")) {
+                setupStage(scene);
+            }
+            markFirstPulse();
+
+            if (injector.getInstance(Key.get(Boolean.class, Names.named(GUIProfiler.PROFILE_GUI_KEY))))
+                GUIProfiler.init();
 
             UserThread.runPeriodically(() -> Profiler.printSystemLoad(log), LOG_MEMORY_PERIOD_MIN, TimeUnit.MINUTES);
         } catch (Throwable throwable) {
@@ -197,12 +217,26 @@ public class BisqApp extends Application implements UncaughtExceptionHandler {
         Scene scene = new Scene(mainView.getRoot(), INITIAL_SCENE_WIDTH, INITIAL_SCENE_HEIGHT);
         scene.getStylesheets().setAll(
                 "/bisq/desktop/bisq.css",
-                "/bisq/desktop/images.css",
-                "/bisq/desktop/CandleStickChart.css");
+                "/bisq/desktop/images.css");
+
+        // The CSS would be applied at the first pulse anyway, we do it here to see its costs in the startup trace
+        try (StartupTrace.Span ignored = GUIProfiler.startSpan("applyCss")) {
+            scene.getRoot().applyCss();
+        }
         addSceneKeyEventHandler(scene, injector);
         return scene;
     }
 
+    private void markFirstPulse() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                GUIProfiler.mark("firstPulse");
+            }
+        }.start();
+    }
+
     private void setupStage(Scene scene) {
         // configure the system tray
         SystemTray.create(stage, shutDownHandler);
@@ -233,6 +267,7 @@ public class BisqApp extends Application implements UncaughtExceptionHandler {
 
         // make the UI visible
         stage.show();
+        GUIProfiler.mark("stageShown");
     }
 
     private MainView loadMainView(Injector injector) {
@@ -265,6 +300,8 @@ public class BisqApp extends Application implements UncaughtExceptionHandler {
                         injector.getInstance(ManualPayoutTxWindow.class).show();
                     else
                         new Popup<>().warning(Res.get("popup.warning.walletNotInitialized")).show();
+                } else if (Utilities.isAltOrCtrlPressed(KeyCode.K, keyEvent)) {
+                    showProfilerWindow(scene);
                 } else if (DevEnv.isDevMode()) {
                     // dev ode only
                     if (Utilities.isAltOrCtrlPressed(KeyCode.P, keyEvent)) {
@@ -323,6 +360,34 @@ public class BisqApp extends Application implements UncaughtExceptionHandler {
         stage.show();
     }
 
+    // Not limited to dev mode as we want to find the causes of jank with real data
+    private void showProfilerWindow(Scene scene) {
+        GUIProfiler.startMonitor();
+
+        Label label = new AutoTooltipLabel(GUIProfiler.getSummary());
+        label.setStyle("-fx-font-family: monospace;");
+        Timer timer = UserThread.runPeriodically(() -> label.setText(GUIProfiler.getSummary()), 1, TimeUnit.SECONDS);
+
+        Pane root = new StackPane();
+        root.setPadding(new Insets(10));
+        root.getChildren().add(label);
+        Stage stage = new Stage();
+        stage.setScene(new Scene(root));
+        stage.setTitle("GUI profiler"); // Don't translate, just for dev
+        stage.initModality(Modality.NONE);
+        stage.initStyle(StageStyle.UTILITY);
+        stage.initOwner(scene.getWindow());
+        stage.setX(this.stage.getX() + this.stage.getWidth() + 10);
+        stage.setY(this.stage.getY());
+        stage.setWidth(800);
+        stage.setHeight(400);
+        stage.setOnHidden(event -> {
+            timer.stop();
+            GUIProfiler.stopMonitor();
+        });
+        stage.show();
+    }
+
     private void showFPSWindow(Scene scene) {
         Label label = new AutoTooltipLabel();
         EventStreams.animationTicks()
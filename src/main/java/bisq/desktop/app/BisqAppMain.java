@@ -17,9 +17,11 @@
 
 package bisq.desktop.app;
 
+import bisq.desktop.common.StartupTrace;
 import bisq.desktop.common.UITimer;
 import bisq.desktop.common.view.guice.InjectorViewFactory;
 import bisq.desktop.setup.DesktopPersistedDataHost;
+import bisq.desktop.util.GUIProfiler;
 
 import bisq.core.app.BisqExecutable;
 
@@ -61,7 +63,7 @@ public class BisqAppMain extends BisqExecutable {
 
     @Override
     protected void configUserThread() {
-        UserThread.setExecutor(Platform::runLater);
+        UserThread.setExecutor(GUIProfiler.profiledExecutor(Platform::runLater));
         UserThread.setTimerClass(UITimer.class);
     }
 
@@ -96,11 +98,14 @@ public class BisqAppMain extends BisqExecutable {
 
     @Override
     protected AppModule getModule() {
+        // The injector gets created after the module, the time until injectorCreated is spent in Guice
+        GUIProfiler.mark("createInjector");
         return new BisqAppModule(bisqEnvironment);
     }
 
     @Override
     protected void applyInjector() {
+        GUIProfiler.mark("injectorCreated");
         super.applyInjector();
 
         application.setInjector(injector);
@@ -109,8 +114,10 @@ public class BisqAppMain extends BisqExecutable {
 
     @Override
     protected void setupPersistedDataHosts(Injector injector) {
-        super.setupPersistedDataHosts(injector);
-        PersistedDataHost.apply(DesktopPersistedDataHost.getPersistedDataHosts(injector));
+        try (StartupTrace.Span ignored = GUIProfiler.startSpan("readPersistedData")) {
+            super.setupPersistedDataHosts(injector);
+            PersistedDataHost.apply(DesktopPersistedDataHost.getPersistedDataHosts(injector));
+        }
     }
 
     @Override
@@ -118,12 +125,16 @@ public class BisqAppMain extends BisqExecutable {
         // We need to be in user thread! We mapped at launchApplication already...
 
         // Once the UI is ready we get onApplicationStarted called and start the setup there
-        application.startApplication(this::onApplicationStarted);
+        try (StartupTrace.Span ignored = GUIProfiler.startSpan("startApplication")) {
+            application.startApplication(this::onApplicationStarted);
+        }
     }
 
     @Override
     protected void onApplicationStarted() {
-        super.onApplicationStarted();
+        try (StartupTrace.Span ignored = GUIProfiler.startSpan("onApplicationStarted")) {
+            super.onApplicationStarted();
+        }
 
        /* if (runWithHttpApi()) {
             final BisqFacade bisqFacade = injector.getInstance(BisqFacade.class);
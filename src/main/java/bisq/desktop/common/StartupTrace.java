@@ -0,0 +1,198 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.common;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Records named spans and marks while the application starts up. Recording stops with {@link #finish()}, later spans
+ * are ignored so the trace does not grow while the application is running.
+ * The trace can be written in the Trace Event Format which is understood by chrome://tracing and other trace viewers.
+ * Spans can be started and ended on any thread.
+ */
+public class StartupTrace {
+    // The trace of the application starts with the JVM so the time before the UI classes got loaded is visible as well
+    @Getter
+    private static final StartupTrace instance = new StartupTrace(System.nanoTime() -
+            TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime()));
+
+    @Value
+    public static class Event {
+        private final String name;
+        private final String threadName;
+        private final long threadId;
+        // Relative to the start of the trace
+        private final long startNanos;
+        // -1 for marks
+        private final long durationNanos;
+
+        public boolean isMark() {
+            return durationNanos < 0;
+        }
+    }
+
+    public class Span implements AutoCloseable {
+        private final String name;
+        private final long startNanos;
+        private boolean closed;
+
+        private Span(String name) {
+            this.name = name;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            add(name, startNanos, System.nanoTime() - startNanos);
+        }
+    }
+
+    private final long traceStartNanos;
+    private final List<Event> events = new ArrayList<>();
+    private volatile boolean recording = true;
+
+    public StartupTrace() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * @param traceStartNanos The {@link System#nanoTime()} at which the trace starts
+     */
+    public StartupTrace(long traceStartNanos) {
+        this.traceStartNanos = traceStartNanos;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The started span, which must be closed at the end of the traced section.
+     */
+    public Span startSpan(String name) {
+        return new Span(name);
+    }
+
+    public void mark(String name) {
+        add(name, System.nanoTime(), -1);
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return The recorded events ordered by their start
+     */
+    public List<Event> finish() {
+        recording = false;
+        return getEvents();
+    }
+
+    public List<Event> getEvents() {
+        synchronized (events) {
+            return events.stream()
+                    .sorted(Comparator.comparingLong(Event::getStartNanos))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @return The spans with the longest durations, the longest first
+     */
+    public List<Event> getSlowestSpans(int limit) {
+        return getEvents().stream()
+                .filter(event -> !event.isMark())
+                .sorted(Comparator.comparingLong(Event::getDurationNanos).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void write(Writer writer) throws IOException {
+        List<Event> events = getEvents();
+        writer.write("{\"traceEvents\":[\n");
+        for (int i = 0; i < events.size(); i++) {
+            writer.write(toJson(events.get(i)));
+            writer.write(i < events.size() - 1 ? ",\n" : "\n");
+        }
+        writer.write("]}\n");
+        writer.flush();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void add(String name, long startNanos, long durationNanos) {
+        if (!recording)
+            return;
+
+        Thread thread = Thread.currentThread();
+        Event event = new Event(name, thread.getName(), thread.getId(), startNanos - traceStartNanos, durationNanos);
+        synchronized (events) {
+            events.add(event);
+        }
+    }
+
+    // Times are in microseconds in the Trace Event Format
+    private static String toJson(Event event) {
+        StringBuilder sb = new StringBuilder("{\"name\":\"").append(escape(event.getName()))
+                .append("\",\"ph\":\"").append(event.isMark() ? "i" : "X")
+                .append("\",\"ts\":").append(TimeUnit.NANOSECONDS.toMicros(event.getStartNanos()));
+        if (event.isMark())
+            sb.append(",\"s\":\"g\"");
+        else
+            sb.append(",\"dur\":").append(TimeUnit.NANOSECONDS.toMicros(event.getDurationNanos()));
+        return sb.append(",\"pid\":1,\"tid\":").append(event.getThreadId())
+                .append(",\"args\":{\"thread\":\"").append(escape(event.getThreadName())).append("\"}}")
+                .toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < 0x20)
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
+        }
+        return sb.toString();
+    }
+}
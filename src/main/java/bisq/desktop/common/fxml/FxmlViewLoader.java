@@ -39,6 +39,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.springframework.core.annotation.AnnotationUtils.getDefaultValue;
 
 public class FxmlViewLoader implements ViewLoader {
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends FxmlView.PathConvention> DEFAULT_CONVENTION =
+            (Class<? extends FxmlView.PathConvention>) getDefaultValue(FxmlView.class, "convention");
+    private static final String DEFAULT_LOCATION = (String) getDefaultValue(FxmlView.class, "location");
 
     private final ViewFactory viewFactory;
     private final ResourceBundle resourceBundle;
@@ -49,20 +53,32 @@ public class FxmlViewLoader implements ViewLoader {
         this.resourceBundle = resourceBundle;
     }
 
-    @SuppressWarnings("unchecked")
     public View load(Class<? extends View> viewClass) {
+        return loadFromFxml(getFxmlUrl(viewClass));
+    }
+
+    /**
+     * Runs the static initializers of the view class and resolves its FXML file.
+     */
+    @Override
+    public void prepare(Class<? extends View> viewClass) {
+        try {
+            Class.forName(viewClass.getName(), true, viewClass.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new ViewfxException(ex, "Failed to initialize view class %s", viewClass);
+        }
+        getFxmlUrl(viewClass);
+    }
+
+    private URL getFxmlUrl(Class<? extends View> viewClass) {
         FxmlView fxmlView = AnnotationUtils.getAnnotation(viewClass, FxmlView.class);
 
         final Class<? extends FxmlView.PathConvention> convention;
-        final Class<? extends FxmlView.PathConvention> defaultConvention =
-                (Class<? extends FxmlView.PathConvention>) getDefaultValue(FxmlView.class, "convention");
-
         final String specifiedLocation;
-        final String defaultLocation = (String) getDefaultValue(FxmlView.class, "location");
 
         if (fxmlView == null) {
-            convention = defaultConvention;
-            specifiedLocation = defaultLocation;
+            convention = DEFAULT_CONVENTION;
+            specifiedLocation = DEFAULT_LOCATION;
         } else {
             convention = fxmlView.convention();
             specifiedLocation = fxmlView.location();
@@ -74,7 +90,7 @@ public class FxmlViewLoader implements ViewLoader {
 
         try {
             final String resolvedLocation;
-            if (specifiedLocation.equals(defaultLocation))
+            if (specifiedLocation.equals(DEFAULT_LOCATION))
                 resolvedLocation = convention.newInstance().apply(viewClass);
             else
                 resolvedLocation = specifiedLocation;
@@ -85,7 +101,7 @@ public class FxmlViewLoader implements ViewLoader {
                         "Failed to load view class [%s] because FXML file at [%s] could not be loaded " +
                                 "as a classpath resource. Does it exist?", viewClass, specifiedLocation);
 
-            return loadFromFxml(fxmlUrl);
+            return fxmlUrl;
         } catch (InstantiationException | IllegalAccessException ex) {
             throw new ViewfxException(ex, "Failed to load view from class %s", viewClass);
         }
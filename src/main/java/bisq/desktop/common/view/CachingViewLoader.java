@@ -17,27 +17,205 @@
 
 package bisq.desktop.common.view;
 
+import bisq.desktop.common.StartupTrace;
+
+import bisq.common.UserThread;
+
+import com.google.inject.name.Named;
+
 import javax.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches the loaded views. If a max. number of cached views is set the least recently used views get evicted, except
+ * the ones which are currently shown and the ones used by the view which is currently loaded. By default all views
+ * are kept.
+ * Views can be preloaded: the preparation of the view classes runs on a background thread, the views themselves
+ * are created one after another on the UserThread as creating views and their models is not thread safe.
+ * All methods except the constructors must be called from the UserThread.
+ */
+@Slf4j
 public class CachingViewLoader implements ViewLoader {
+    public static final String MAX_CACHED_VIEWS_KEY = "maxCachedViews";
+    // Delay between preloaded views, so preloading never blocks the UserThread for several views in a row
+    private static final long PRELOAD_INTERVAL_MS = 100;
 
-    private final HashMap<Object, View> cache = new HashMap<>();
+    // Access ordered, the least recently used view comes first
+    private final Map<Class<? extends View>, View> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Class<? extends View>, Long> loadDurations = new HashMap<>();
+    // Views loaded while a view gets loaded, e.g. by a parent in its initialize method. They are not part of a scene
+    // yet but are about to be shown.
+    private final Set<Class<? extends View>> viewClassesOfCurrentLoad = new HashSet<>();
+    private int loadDepth;
     private final ViewLoader viewLoader;
+    private final int maxCachedViews;
+    private final Executor prepareExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CachingViewLoader.prepare");
+        thread.setDaemon(true);
+        return thread;
+    });
+    @Getter
+    private int numHits;
+    @Getter
+    private int numMisses;
+    @Getter
+    private int numEvictions;
 
-    @Inject
     public CachingViewLoader(ViewLoader viewLoader) {
+        this(viewLoader, 0);
+    }
+
+    /**
+     * @param maxCachedViews The max. number of cached views, 0 to keep all views
+     */
+    @Inject
+    public CachingViewLoader(ViewLoader viewLoader, @Named(MAX_CACHED_VIEWS_KEY) int maxCachedViews) {
         this.viewLoader = viewLoader;
+        this.maxCachedViews = maxCachedViews;
     }
 
     @Override
     public View load(Class<? extends View> viewClass) {
-        if (cache.containsKey(viewClass))
+        viewClassesOfCurrentLoad.add(viewClass);
+        loadDepth++;
+        try {
+            return loadCached(viewClass);
+        } finally {
+            loadDepth--;
+            if (loadDepth == 0)
+                viewClassesOfCurrentLoad.clear();
+        }
+    }
+
+    @Override
+    public void prepare(Class<? extends View> viewClass) {
+        viewLoader.prepare(viewClass);
+    }
+
+    /**
+     * Loads the views which are not cached yet in the background. Does nothing for views which get loaded in the
+     * meantime.
+     */
+    public void preload(List<Class<? extends View>> viewClasses) {
+        List<Class<? extends View>> notCachedViewClasses = viewClasses.stream()
+                .filter(viewClass -> !cache.containsKey(viewClass))
+                .collect(Collectors.toList());
+        if (notCachedViewClasses.isEmpty())
+            return;
+
+        prepareExecutor.execute(() -> {
+            for (Class<? extends View> viewClass : notCachedViewClasses) {
+                try {
+                    viewLoader.prepare(viewClass);
+                } catch (Throwable t) {
+                    log.warn("Preparing view {} failed: {}", viewClass.getSimpleName(), t.toString());
+                }
+            }
+            UserThread.execute(() -> preloadNext(new LinkedList<>(notCachedViewClasses)));
+        });
+    }
+
+    /**
+     * @return The duration in ms it took to load each view which got loaded so far. If a view loads other views
+     * while it gets initialized their durations are included.
+     */
+    public Map<Class<? extends View>, Long> getLoadDurations() {
+        return Collections.unmodifiableMap(loadDurations);
+    }
+
+    public int getNumCachedViews() {
+        return cache.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private View loadCached(Class<? extends View> viewClass) {
+        if (cache.containsKey(viewClass)) {
+            numHits++;
             return cache.get(viewClass);
+        }
+
+        numMisses++;
+        long ts = System.currentTimeMillis();
+        View view;
+        try (StartupTrace.Span ignored = StartupTrace.getInstance().startSpan("load " + viewClass.getSimpleName())) {
+            view = viewLoader.load(viewClass);
+        }
+        long duration = System.currentTimeMillis() - ts;
+        loadDurations.put(viewClass, duration);
+        log.info("Loading view {} took {} ms", viewClass.getSimpleName(), duration);
 
-        View view = viewLoader.load(viewClass);
         cache.put(viewClass, view);
+        evictIfNeeded();
         return view;
     }
+
+    private void preloadNext(Queue<Class<? extends View>> viewClasses) {
+        Class<? extends View> viewClass = viewClasses.poll();
+        if (viewClass == null)
+            return;
+
+        if (!cache.containsKey(viewClass)) {
+            try {
+                load(viewClass);
+            } catch (Throwable t) {
+                // We will get the error again when the view gets loaded for being shown
+                log.warn("Preloading view {} failed: {}", viewClass.getSimpleName(), t.toString());
+            }
+        }
+
+        if (!viewClasses.isEmpty())
+            UserThread.runAfter(() -> preloadNext(viewClasses), PRELOAD_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // The views of the current load are not shown yet, so we must not evict them
+    private void evictIfNeeded() {
+        if (maxCachedViews <= 0 || cache.size() <= maxCachedViews)
+            return;
+
+        List<View> evictedViews = new ArrayList<>();
+        Iterator<Map.Entry<Class<? extends View>, View>> iterator = cache.entrySet().iterator();
+        while (cache.size() > maxCachedViews && iterator.hasNext()) {
+            Map.Entry<Class<? extends View>, View> entry = iterator.next();
+            if (!viewClassesOfCurrentLoad.contains(entry.getKey()) && isEvictable(entry.getValue())) {
+                iterator.remove();
+                evictedViews.add(entry.getValue());
+            }
+        }
+
+        // The hooks are called after iterating as they might load other views
+        evictedViews.forEach(view -> {
+            numEvictions++;
+            if (view != null) {
+                log.info("Evicted view {} from the cache", view.getClass().getSimpleName());
+                view.onEvicted();
+            }
+        });
+    }
+
+    // Views which are part of the scene are still shown
+    private static boolean isEvictable(View view) {
+        return view == null || view.getRoot() == null || view.getRoot().getScene() == null;
+    }
 }
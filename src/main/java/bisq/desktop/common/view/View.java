@@ -21,4 +21,11 @@ import javafx.scene.Node;
 
 public interface View {
     Node getRoot();
+
+    /**
+     * Called when the view got removed from the view cache. The view is not shown at that time and will not be
+     * used again, so it should remove listeners it registered outside of its activate/deactivate cycle.
+     */
+    default void onEvicted() {
+    }
 }
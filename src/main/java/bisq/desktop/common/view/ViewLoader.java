@@ -19,4 +19,11 @@ package bisq.desktop.common.view;
 
 public interface ViewLoader {
     View load(Class<? extends View> viewClass);
+
+    /**
+     * Does the work for loading the view class which doesn't need the UserThread, without creating the view.
+     * Called from a background thread, so implementations must be thread safe and must not create any nodes.
+     */
+    default void prepare(Class<? extends View> viewClass) {
+    }
 }
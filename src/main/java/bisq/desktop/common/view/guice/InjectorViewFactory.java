@@ -17,6 +17,7 @@
 
 package bisq.desktop.common.view.guice;
 
+import bisq.desktop.common.StartupTrace;
 import bisq.desktop.common.view.ViewFactory;
 
 import com.google.inject.Injector;
@@ -34,6 +35,8 @@ public class InjectorViewFactory implements ViewFactory {
     @Override
     public Object call(Class<?> aClass) {
         Preconditions.checkNotNull(injector, "Injector has not yet been provided");
-        return injector.getInstance(aClass);
+        try (StartupTrace.Span ignored = StartupTrace.getInstance().startSpan("inject " + aClass.getSimpleName())) {
+            return injector.getInstance(aClass);
+        }
     }
 }
@@ -18,6 +18,7 @@
 package bisq.desktop.components;
 
 import bisq.desktop.main.overlays.editor.PeerInfoWithTagEditor;
+import bisq.desktop.util.PeerTradeHistory;
 
 import bisq.core.alert.PrivateNotificationManager;
 import bisq.core.locale.CurrencyUtil;
@@ -62,14 +63,14 @@ public class PeerInfoIcon extends Group {
 
     public PeerInfoIcon(NodeAddress nodeAddress,
                         String role,
-                        int numTrades,
+                        PeerTradeHistory.PeerStatistics peerStatistics,
                         PrivateNotificationManager privateNotificationManager,
                         Offer offer,
                         Preferences preferences,
                         AccountAgeWitnessService accountAgeWitnessService,
                         BSFormatter formatter,
                         boolean useDevPrivilegeKeys) {
-        this.numTrades = numTrades;
+        numTrades = peerStatistics.getNumTrades();
 
         scaleFactor = getScaleFactor();
         hostName = nodeAddress != null ? nodeAddress.getHostName() : "";
@@ -1,5 +1,7 @@
 package bisq.desktop.components;
 
+import bisq.desktop.util.PeerTradeHistory;
+
 import bisq.core.alert.PrivateNotificationManager;
 import bisq.core.offer.Offer;
 import bisq.core.payment.AccountAgeWitnessService;
@@ -12,7 +14,7 @@ public class PeerInfoIconSmall extends PeerInfoIcon {
     public PeerInfoIconSmall(NodeAddress nodeAddress, String role, Offer offer, Preferences preferences, AccountAgeWitnessService accountAgeWitnessService, BSFormatter formatter, boolean useDevPrivilegeKeys) {
         // We don't want to show number of trades in that case as it would be unreadable.
         // Also we don't need the privateNotificationManager as no interaction will take place with this icon.
-        super(nodeAddress, role, 0, null, offer, preferences, accountAgeWitnessService, formatter, useDevPrivilegeKeys);
+        super(nodeAddress, role, PeerTradeHistory.PeerStatistics.EMPTY, null, offer, preferences, accountAgeWitnessService, formatter, useDevPrivilegeKeys);
     }
 
     @Override
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.components;
+
+import bisq.desktop.components.indicator.TxConfidenceInfo;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+
+import javax.annotation.Nullable;
+
+/**
+ * List item showing the confidence of a transaction in a TxConfidenceTableCell. The item does not listen to the
+ * confidence changes itself, the cell subscribes for the item it currently shows and lets it update its
+ * confidence info.
+ */
+public interface TxConfidenceItem {
+    /**
+     * @return The ID of the transaction the confidence is shown for or null if there is none
+     */
+    @Nullable
+    String getTxId();
+
+    ReadOnlyObjectProperty<TxConfidenceInfo> confidenceInfoProperty();
+
+    /**
+     * Reads the current state of the confidence into the confidence info.
+     */
+    void updateConfidence();
+}
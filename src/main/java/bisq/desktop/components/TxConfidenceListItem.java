@@ -17,59 +17,60 @@
 
 package bisq.desktop.components;
 
-import bisq.desktop.components.indicator.TxConfidenceIndicator;
-import bisq.desktop.util.GUIUtil;
+import bisq.desktop.components.indicator.TxConfidenceInfo;
 
-import bisq.core.btc.listeners.TxConfidenceListener;
 import bisq.core.btc.wallet.BsqWalletService;
 
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionConfidence;
 
-import javafx.scene.control.Tooltip;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 
 import lombok.Data;
 
+import javax.annotation.Nullable;
 
 @Data
-public class TxConfidenceListItem {
+public class TxConfidenceListItem implements TxConfidenceItem {
     protected final BsqWalletService bsqWalletService;
     protected final String txId;
-    protected int confirmations = 0;
-    protected TxConfidenceIndicator txConfidenceIndicator;
-    protected TxConfidenceListener txConfidenceListener;
+    protected final ObjectProperty<TxConfidenceInfo> confidenceInfo = new SimpleObjectProperty<>(TxConfidenceInfo.NOT_USED);
+    // The confidence is updated by the wallet, so we can read the current state without listening to it
+    @Nullable
+    protected TransactionConfidence confidence;
 
-    protected TxConfidenceListItem(Transaction transaction,
-                                   BsqWalletService bsqWalletService) {
+    protected TxConfidenceListItem(Transaction transaction, BsqWalletService bsqWalletService) {
         this.bsqWalletService = bsqWalletService;
 
         txId = transaction.getHashAsString();
-        txConfidenceIndicator = new TxConfidenceIndicator();
-        txConfidenceIndicator.setId("funds-confidence");
-        Tooltip tooltip = new Tooltip();
-        txConfidenceIndicator.setProgress(0);
-        txConfidenceIndicator.setPrefSize(24, 24);
-        txConfidenceIndicator.setTooltip(tooltip);
-
-        txConfidenceListener = new TxConfidenceListener(txId) {
-            @Override
-            public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
-                updateConfidence(confidence, tooltip);
-            }
-        };
-        bsqWalletService.addTxConfidenceListener(txConfidenceListener);
-        updateConfidence(bsqWalletService.getConfidenceForTxId(txId), tooltip);
+
+        updateConfidence();
     }
 
-    private void updateConfidence(TransactionConfidence confidence, Tooltip tooltip) {
-        if (confidence != null) {
-            GUIUtil.updateConfidence(confidence, tooltip, txConfidenceIndicator);
-            confirmations = confidence.getDepthInBlocks();
-        }
+    @Override
+    public void updateConfidence() {
+        if (confidence == null)
+            confidence = bsqWalletService.getConfidenceForTxId(txId);
+        if (confidence != null)
+            confidenceInfo.set(TxConfidenceInfo.from(confidence));
     }
 
-    public void cleanup() {
-        bsqWalletService.removeTxConfidenceListener(txConfidenceListener);
+    public int getConfirmations() {
+        return confidence != null ? confidence.getDepthInBlocks() : 0;
+    }
+
+    public double getConfidenceProgress() {
+        return TxConfidenceInfo.getProgress(confidence);
     }
-}
 
+    @Override
+    public ReadOnlyObjectProperty<TxConfidenceInfo> confidenceInfoProperty() {
+        return confidenceInfo;
+    }
+
+    public TxConfidenceInfo getConfidenceInfo() {
+        return confidenceInfo.get();
+    }
+}
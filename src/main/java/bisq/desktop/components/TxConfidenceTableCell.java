@@ -0,0 +1,154 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.components;
+
+import bisq.desktop.components.indicator.TxConfidenceIndicator;
+import bisq.desktop.components.indicator.TxConfidenceInfo;
+import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.TxConfidenceDispatcher;
+
+import bisq.core.btc.listeners.TxConfidenceListener;
+import bisq.core.btc.wallet.WalletService;
+
+import org.bitcoinj.core.TransactionConfidence;
+
+import javafx.scene.control.TableCell;
+import javafx.scene.control.Tooltip;
+
+import javafx.beans.value.ChangeListener;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Table cell showing the confidence of the transaction of a list item. The TxConfidenceIndicator is created lazily
+ * by the cell and reused for all items the cell shows, so only the visible rows have an indicator.
+ * The cell subscribes to the confidence changes of the item it currently shows and unsubscribes when it gets reused,
+ * emptied or removed from the scene, so only the visible rows hold a subscription at the TxConfidenceDispatcher.
+ */
+public class TxConfidenceTableCell<S extends TxConfidenceItem> extends TableCell<S, S> {
+    private final TxConfidenceDispatcher txConfidenceDispatcher;
+    private final WalletService walletService;
+    private final Predicate<S> isIndicatorVisible;
+    private final ChangeListener<TxConfidenceInfo> confidenceInfoListener;
+    @Nullable
+    private TxConfidenceIndicator txConfidenceIndicator;
+    @Nullable
+    private Tooltip tooltip;
+    // The item we listen to and our subscription for its transaction
+    @Nullable
+    private S shownItem;
+    @Nullable
+    private TxConfidenceListener txConfidenceListener;
+
+    public TxConfidenceTableCell(TxConfidenceDispatcher txConfidenceDispatcher, WalletService walletService) {
+        this(txConfidenceDispatcher, walletService, item -> true);
+    }
+
+    /**
+     * @param isIndicatorVisible Items not matching the predicate are shown without indicator
+     */
+    public TxConfidenceTableCell(TxConfidenceDispatcher txConfidenceDispatcher,
+                                 WalletService walletService,
+                                 Predicate<S> isIndicatorVisible) {
+        this.txConfidenceDispatcher = txConfidenceDispatcher;
+        this.walletService = walletService;
+        this.isIndicatorVisible = isIndicatorVisible;
+        confidenceInfoListener = (observable, oldValue, newValue) -> {
+            updateIndicator(newValue);
+            // The transaction of an item might change, e.g. the latest tx of a deposit address
+            String subscribedTxId = txConfidenceListener != null ? txConfidenceListener.getTxID() : null;
+            if (shownItem != null && getScene() != null && !Objects.equals(subscribedTxId, shownItem.getTxId()))
+                subscribe();
+        };
+
+        // The cells are kept while the view is not shown, so we don't hold a subscription while not in a scene
+        sceneProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue == null)
+                unsubscribe();
+            else if (shownItem != null)
+                subscribe();
+        });
+    }
+
+    @Override
+    public void updateItem(final S item, boolean empty) {
+        super.updateItem(item, empty);
+
+        if (shownItem != null) {
+            shownItem.confidenceInfoProperty().removeListener(confidenceInfoListener);
+            shownItem = null;
+        }
+        unsubscribe();
+
+        if (item != null && !empty && isIndicatorVisible.test(item)) {
+            shownItem = item;
+            // We did not listen to the changes while the item was not shown
+            item.updateConfidence();
+            item.confidenceInfoProperty().addListener(confidenceInfoListener);
+            if (getScene() != null)
+                subscribe();
+            updateIndicator(item.confidenceInfoProperty().get());
+            setGraphic(getTxConfidenceIndicator());
+        } else {
+            setGraphic(null);
+        }
+    }
+
+    private void subscribe() {
+        unsubscribe();
+
+        S item = shownItem;
+        String txId = item != null ? item.getTxId() : null;
+        if (txId != null) {
+            txConfidenceListener = new TxConfidenceListener(txId) {
+                @Override
+                public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
+                    item.updateConfidence();
+                }
+            };
+            txConfidenceDispatcher.addTxConfidenceListener(walletService, txConfidenceListener);
+        }
+    }
+
+    private void unsubscribe() {
+        if (txConfidenceListener != null) {
+            txConfidenceDispatcher.removeTxConfidenceListener(walletService, txConfidenceListener);
+            txConfidenceListener = null;
+        }
+    }
+
+    private void updateIndicator(TxConfidenceInfo confidenceInfo) {
+        getTxConfidenceIndicator();
+        GUIUtil.updateConfidence(confidenceInfo, tooltip, txConfidenceIndicator);
+    }
+
+    private TxConfidenceIndicator getTxConfidenceIndicator() {
+        if (txConfidenceIndicator == null) {
+            txConfidenceIndicator = new TxConfidenceIndicator();
+            txConfidenceIndicator.setId("funds-confidence");
+            txConfidenceIndicator.setProgress(0);
+            txConfidenceIndicator.setPrefSize(24, 24);
+            tooltip = new Tooltip();
+            txConfidenceIndicator.setTooltip(tooltip);
+        }
+        return txConfidenceIndicator;
+    }
+}
@@ -19,6 +19,7 @@ package bisq.desktop.components;
 
 import bisq.desktop.components.indicator.TxConfidenceIndicator;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.TxConfidenceDispatcher;
 
 import bisq.core.btc.listeners.TxConfidenceListener;
 import bisq.core.btc.wallet.BtcWalletService;
@@ -53,6 +54,12 @@ public class TxIdTextField extends AnchorPane {
         TxIdTextField.walletService = walletService;
     }
 
+    private static TxConfidenceDispatcher txConfidenceDispatcher;
+
+    public static void setTxConfidenceDispatcher(TxConfidenceDispatcher txConfidenceDispatcher) {
+        TxIdTextField.txConfidenceDispatcher = txConfidenceDispatcher;
+    }
+
     private final TextField textField;
     private final Tooltip progressIndicatorTooltip;
     private final TxConfidenceIndicator txConfidenceIndicator;
@@ -109,7 +116,7 @@ public class TxIdTextField extends AnchorPane {
 
     public void setup(String txId) {
         if (txConfidenceListener != null)
-            walletService.removeTxConfidenceListener(txConfidenceListener);
+            txConfidenceDispatcher.removeTxConfidenceListener(walletService, txConfidenceListener);
 
         txConfidenceListener = new TxConfidenceListener(txId) {
             @Override
@@ -117,7 +124,7 @@ public class TxIdTextField extends AnchorPane {
                 updateConfidence(confidence);
             }
         };
-        walletService.addTxConfidenceListener(txConfidenceListener);
+        txConfidenceDispatcher.addTxConfidenceListener(walletService, txConfidenceListener);
         updateConfidence(walletService.getConfidenceForTxId(txId));
 
         textField.setText(txId);
@@ -128,7 +135,7 @@ public class TxIdTextField extends AnchorPane {
 
     public void cleanup() {
         if (walletService != null && txConfidenceListener != null)
-            walletService.removeTxConfidenceListener(txConfidenceListener);
+            txConfidenceDispatcher.removeTxConfidenceListener(walletService, txConfidenceListener);
 
         textField.setOnMouseClicked(null);
         blockExplorerIcon.setOnMouseClicked(null);
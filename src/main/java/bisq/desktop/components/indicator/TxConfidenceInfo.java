@@ -0,0 +1,94 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.components.indicator;
+
+import bisq.core.locale.Res;
+
+import org.bitcoinj.core.TransactionConfidence;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Snapshot of the confidence of a transaction as plain data, so list items don't need to hold a
+ * TxConfidenceIndicator node. The indicator is only created by the table cells for the visible rows.
+ */
+@Value
+public class TxConfidenceInfo {
+    // Used as long we don't have a confidence for the transaction
+    public static final TxConfidenceInfo NOT_USED = new TxConfidenceInfo(null, 0, 0);
+
+    public static TxConfidenceInfo from(@Nullable TransactionConfidence confidence) {
+        if (confidence == null)
+            return NOT_USED;
+
+        return new TxConfidenceInfo(confidence.getConfidenceType(),
+                confidence.getDepthInBlocks(),
+                confidence.numBroadcastPeers());
+    }
+
+    @Nullable
+    private final TransactionConfidence.ConfidenceType confidenceType;
+    private final int depthInBlocks;
+    private final int numBroadcastPeers;
+
+    /**
+     * @return The progress of the current state of the confidence without creating a snapshot, e.g. for sorting
+     */
+    public static double getProgress(@Nullable TransactionConfidence confidence) {
+        return confidence != null ? getProgress(confidence.getConfidenceType(), confidence.getDepthInBlocks()) : 0;
+    }
+
+    private static double getProgress(@Nullable TransactionConfidence.ConfidenceType confidenceType, int depthInBlocks) {
+        if (confidenceType == null)
+            return 0;
+
+        switch (confidenceType) {
+            case PENDING:
+                return -1.0;
+            case BUILDING:
+                return Math.min(1, (double) depthInBlocks / 6.0);
+            case UNKNOWN:
+            case DEAD:
+            default:
+                return 0;
+        }
+    }
+
+    public double getProgress() {
+        return getProgress(confidenceType, depthInBlocks);
+    }
+
+    public String getTooltipText() {
+        if (confidenceType == null)
+            return Res.get("shared.notUsedYet");
+
+        switch (confidenceType) {
+            case PENDING:
+                return Res.get("confidence.seen", numBroadcastPeers);
+            case BUILDING:
+                return Res.get("confidence.confirmed", depthInBlocks);
+            case DEAD:
+                return Res.get("confidence.invalid");
+            case UNKNOWN:
+            default:
+                return Res.get("confidence.unknown");
+        }
+    }
+}
@@ -18,11 +18,11 @@
 package bisq.desktop.main;
 
 import bisq.desktop.Navigation;
+import bisq.desktop.common.StartupTrace;
 import bisq.desktop.common.view.CachingViewLoader;
 import bisq.desktop.common.view.FxmlView;
 import bisq.desktop.common.view.InitializableView;
 import bisq.desktop.common.view.View;
-import bisq.desktop.common.view.ViewLoader;
 import bisq.desktop.components.AutoTooltipButton;
 import bisq.desktop.components.AutoTooltipLabel;
 import bisq.desktop.components.AutoTooltipToggleButton;
@@ -37,6 +37,7 @@ import bisq.desktop.main.offer.SellOfferView;
 import bisq.desktop.main.overlays.popups.Popup;
 import bisq.desktop.main.portfolio.PortfolioView;
 import bisq.desktop.main.settings.SettingsView;
+import bisq.desktop.util.GUIProfiler;
 import bisq.desktop.util.GUIUtil;
 import bisq.desktop.util.Transitions;
 
@@ -82,6 +83,9 @@ import javafx.geometry.Pos;
 
 import javafx.beans.value.ChangeListener;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -131,7 +135,7 @@ public class MainView extends InitializableView<StackPane, MainViewModel> {
     private static StackPane rootContainer;
 
 
-    private final ViewLoader viewLoader;
+    private final CachingViewLoader viewLoader;
     private final Navigation navigation;
     private final BSFormatter formatter;
 
@@ -305,9 +309,14 @@ public class MainView extends InitializableView<StackPane, MainViewModel> {
 
         model.getShowAppScreen().addListener((ov, oldValue, newValue) -> {
             if (newValue) {
-                navigation.navigateToPreviousVisitedView();
+                try (StartupTrace.Span ignored = GUIProfiler.startSpan("navigateToPreviousVisitedView")) {
+                    navigation.navigateToPreviousVisitedView();
+                }
 
-                transitions.fadeOutAndRemove(splashScreen, 1500, actionEvent -> disposeSplashScreen());
+                transitions.fadeOutAndRemove(splashScreen, 1500, actionEvent -> {
+                    disposeSplashScreen();
+                    preloadViews();
+                });
             }
         });
 
@@ -552,6 +561,17 @@ public class MainView extends InitializableView<StackPane, MainViewModel> {
         return vBox;
     }
 
+    // We load the views which are likely visited next while the user has not clicked them yet
+    private void preloadViews() {
+        List<Class<? extends View>> viewClasses = new ArrayList<>();
+        viewClasses.add(MarketView.class);
+        viewClasses.add(FundsView.class);
+        viewClasses.add(PortfolioView.class);
+        if (BisqEnvironment.isDAOActivatedAndBaseCurrencySupportingBsq())
+            viewClasses.add(DaoView.class);
+        viewLoader.preload(viewClasses);
+    }
+
     private void disposeSplashScreen() {
         model.getWalletServiceErrorMsg().removeListener(walletServiceErrorMsgListener);
         model.getBtcSplashSyncIconId().removeListener(btcSyncIconIdListener);
@@ -17,6 +17,8 @@
 
 package bisq.desktop.main;
 
+import bisq.desktop.app.BisqApp;
+import bisq.desktop.common.StartupTrace;
 import bisq.desktop.common.model.ViewModel;
 import bisq.desktop.components.BalanceWithConfirmationTextField;
 import bisq.desktop.components.TxIdTextField;
@@ -27,7 +29,9 @@ import bisq.desktop.main.overlays.windows.TacWindow;
 import bisq.desktop.main.overlays.windows.TorNetworkSettingsWindow;
 import bisq.desktop.main.overlays.windows.WalletPasswordWindow;
 import bisq.desktop.main.overlays.windows.downloadupdate.DisplayUpdateDownloadWindow;
+import bisq.desktop.util.GUIProfiler;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.TxConfidenceDispatcher;
 
 import bisq.core.alert.PrivateNotificationManager;
 import bisq.core.app.AppOptionKeys;
@@ -60,6 +64,7 @@ import bisq.common.app.DevEnv;
 import bisq.common.storage.CorruptedDatabaseFilesHandler;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.monadic.MonadicBinding;
@@ -73,7 +78,11 @@ import javafx.beans.property.StringProperty;
 
 import javafx.collections.ObservableList;
 
+import java.io.File;
+
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Random;
 
 import lombok.Getter;
@@ -103,10 +112,13 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
     private final TorNetworkSettingsWindow torNetworkSettingsWindow;
     private final CorruptedDatabaseFilesHandler corruptedDatabaseFilesHandler;
     private final BSFormatter formatter;
+    private final boolean fastStartup;
+    private final boolean traceStartup;
 
     @Getter
     private BooleanProperty showAppScreen = new SimpleBooleanProperty();
     private final BooleanProperty isSplashScreenRemoved = new SimpleBooleanProperty();
+    private final List<Runnable> popupsDeferredUntilSplashScreenRemoved = new ArrayList<>();
     private Timer checkNumberOfBtcPeersTimer;
     private Timer checkNumberOfP2pNetworkPeersTimer;
     @SuppressWarnings("FieldCanBeLocal")
@@ -122,6 +134,7 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
     public MainViewModel(BisqSetup bisqSetup,
                          WalletsSetup walletsSetup,
                          BtcWalletService btcWalletService,
+                         TxConfidenceDispatcher txConfidenceDispatcher,
                          User user,
                          BalancePresentation balancePresentation,
                          TradePresentation tradePresentation,
@@ -140,7 +153,9 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
                          AccountAgeWitnessService accountAgeWitnessService,
                          TorNetworkSettingsWindow torNetworkSettingsWindow,
                          CorruptedDatabaseFilesHandler corruptedDatabaseFilesHandler,
-                         BSFormatter formatter) {
+                         BSFormatter formatter,
+                         @Named(BisqApp.FAST_STARTUP_KEY) boolean fastStartup,
+                         @Named(GUIProfiler.STARTUP_TRACE_KEY) boolean traceStartup) {
         this.bisqSetup = bisqSetup;
         this.walletsSetup = walletsSetup;
         this.user = user;
@@ -161,10 +176,13 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
         this.torNetworkSettingsWindow = torNetworkSettingsWindow;
         this.corruptedDatabaseFilesHandler = corruptedDatabaseFilesHandler;
         this.formatter = formatter;
+        this.fastStartup = fastStartup;
+        this.traceStartup = traceStartup;
 
         TxIdTextField.setPreferences(preferences);
 
         TxIdTextField.setWalletService(btcWalletService);
+        TxIdTextField.setTxConfidenceDispatcher(txConfidenceDispatcher);
         BalanceWithConfirmationTextField.setWalletService(btcWalletService);
 
         GUIUtil.setFeeService(feeService);
@@ -180,6 +198,12 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
 
     @Override
     public void onSetupComplete() {
+        try (StartupTrace.Span ignored = GUIProfiler.startSpan("onSetupComplete")) {
+            setupComplete();
+        }
+    }
+
+    private void setupComplete() {
         // We handle the trade period here as we display a global popup if we reached dispute time
         tradesAndUIReady = EasyBind.combine(isSplashScreenRemoved, tradeManager.pendingTradesInitializedProperty(), (a, b) -> a && b);
         tradesAndUIReady.subscribe((observable, oldValue, newValue) -> {
@@ -242,6 +266,14 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
         // Delay that as we want to know what is the current path of the navigation which is set
         // in MainView showAppScreen handler
         notificationCenter.onAllServicesAndViewsInitialized();
+
+        popupsDeferredUntilSplashScreenRemoved.forEach(Runnable::run);
+        popupsDeferredUntilSplashScreenRemoved.clear();
+
+        File traceFile = traceStartup ?
+                new File(bisqEnvironment.getProperty(AppOptionKeys.APP_DATA_DIR_KEY), GUIProfiler.STARTUP_TRACE_FILE_NAME) :
+                null;
+        GUIProfiler.finishStartupTrace(traceFile);
     }
 
     void onOpenDownloadWindow() {
@@ -257,81 +289,92 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // Each handler is traced as the handlers can be called while the application starts up
     private void setupHandlers() {
-        bisqSetup.setDisplayTacHandler(acceptedHandler -> UserThread.runAfter(() -> {
-            //noinspection FunctionalExpressionCanBeFolded
-            tacWindow.onAction(acceptedHandler::run).show();
-        }, 1));
+        bisqSetup.setDisplayTacHandler(GUIProfiler.traced("displayTacHandler",
+                acceptedHandler -> UserThread.runAfter(() -> {
+                    //noinspection FunctionalExpressionCanBeFolded
+                    tacWindow.onAction(acceptedHandler::run).show();
+                }, 1)));
 
-        bisqSetup.setCryptoSetupFailedHandler(msg -> {
+        bisqSetup.setCryptoSetupFailedHandler(GUIProfiler.traced("cryptoSetupFailedHandler", msg -> {
             UserThread.execute(() -> new Popup<>().warning(msg)
                     .useShutDownButton()
                     .useReportBugButton()
                     .show());
-        });
-        bisqSetup.setDisplayTorNetworkSettingsHandler(show -> {
+        }));
+        bisqSetup.setDisplayTorNetworkSettingsHandler(GUIProfiler.traced("displayTorNetworkSettingsHandler", show -> {
             if (show)
                 torNetworkSettingsWindow.show();
             else
                 torNetworkSettingsWindow.hide();
-        });
-        bisqSetup.setSpvFileCorruptedHandler(msg -> {
+        }));
+        bisqSetup.setSpvFileCorruptedHandler(GUIProfiler.traced("spvFileCorruptedHandler", msg -> {
             new Popup<>().warning(msg)
                     .actionButtonText(Res.get("settings.net.reSyncSPVChainButton"))
                     .onAction(() -> GUIUtil.reSyncSPVChain(walletsSetup, preferences))
                     .show();
-        });
+        }));
 
-        bisqSetup.setChainFileLockedExceptionHandler(msg -> {
+        bisqSetup.setChainFileLockedExceptionHandler(GUIProfiler.traced("chainFileLockedExceptionHandler", msg -> {
             new Popup<>().warning(msg)
                     .useShutDownButton()
                     .show();
-        });
-        bisqSetup.setLockedUpFundsHandler(msg -> new Popup<>().warning(msg).show());
-        bisqSetup.setShowFirstPopupIfResyncSPVRequestedHandler(this::showFirstPopupIfResyncSPVRequested);
-        bisqSetup.setRequestWalletPasswordHandler(aesKeyHandler -> walletPasswordWindow
-                .onAesKey(aesKeyHandler::accept)
-                .hideCloseButton()
-                .show());
-
-        bisqSetup.setDisplayUpdateHandler((alert, key) -> new DisplayUpdateDownloadWindow(alert)
-                .actionButtonText(Res.get("displayUpdateDownloadWindow.button.downloadLater"))
-                .onAction(() -> {
-                    preferences.dontShowAgain(key, false); // update later
-                })
-                .closeButtonText(Res.get("shared.cancel"))
-                .onClose(() -> {
-                    preferences.dontShowAgain(key, true); // ignore update
-                })
-                .show());
-        bisqSetup.setDisplayAlertHandler(alert -> new DisplayAlertMessageWindow()
-                .alertMessage(alert)
-                .onClose(() -> {
-                    user.setDisplayedAlert(alert);
-                })
-                .show());
-        bisqSetup.setDisplayPrivateNotificationHandler(privateNotification ->
-                new Popup<>().headLine(Res.get("popup.privateNotification.headline"))
-                        .attention(privateNotification.getMessage())
-                        .setHeadlineStyle("-fx-text-fill: -bs-error-red;  -fx-font-weight: bold;  -fx-font-size: 16;")
-                        .onClose(privateNotificationManager::removePrivateNotification)
-                        .useIUnderstandButton()
-                        .show());
-        bisqSetup.setDaoSetupErrorHandler(errorMessage -> new Popup<>().error(errorMessage).show());
-        bisqSetup.setDisplaySecurityRecommendationHandler(key ->
-                new Popup<>().headLine(Res.get("popup.securityRecommendation.headline"))
-                        .information(Res.get("popup.securityRecommendation.msg"))
-                        .dontShowAgainId(key)
-                        .show());
-        bisqSetup.setDisplayLocalhostHandler(key -> {
+        }));
+        bisqSetup.setLockedUpFundsHandler(GUIProfiler.traced("lockedUpFundsHandler",
+                msg -> new Popup<>().warning(msg).show()));
+        bisqSetup.setShowFirstPopupIfResyncSPVRequestedHandler(GUIProfiler.traced("showFirstPopupIfResyncSPVRequestedHandler",
+                this::showFirstPopupIfResyncSPVRequested));
+        bisqSetup.setRequestWalletPasswordHandler(GUIProfiler.traced("requestWalletPasswordHandler",
+                aesKeyHandler -> walletPasswordWindow
+                        .onAesKey(aesKeyHandler::accept)
+                        .hideCloseButton()
+                        .show()));
+
+        bisqSetup.setDisplayUpdateHandler(GUIProfiler.traced("displayUpdateHandler",
+                (alert, key) -> showAfterSplashScreenRemoved(() -> new DisplayUpdateDownloadWindow(alert)
+                        .actionButtonText(Res.get("displayUpdateDownloadWindow.button.downloadLater"))
+                        .onAction(() -> {
+                            preferences.dontShowAgain(key, false); // update later
+                        })
+                        .closeButtonText(Res.get("shared.cancel"))
+                        .onClose(() -> {
+                            preferences.dontShowAgain(key, true); // ignore update
+                        })
+                        .show())));
+        bisqSetup.setDisplayAlertHandler(GUIProfiler.traced("displayAlertHandler",
+                alert -> new DisplayAlertMessageWindow()
+                        .alertMessage(alert)
+                        .onClose(() -> {
+                            user.setDisplayedAlert(alert);
+                        })
+                        .show()));
+        bisqSetup.setDisplayPrivateNotificationHandler(GUIProfiler.traced("displayPrivateNotificationHandler",
+                privateNotification -> showAfterSplashScreenRemoved(() ->
+                        new Popup<>().headLine(Res.get("popup.privateNotification.headline"))
+                                .attention(privateNotification.getMessage())
+                                .setHeadlineStyle("-fx-text-fill: -bs-error-red;  -fx-font-weight: bold;  -fx-font-size: 16;")
+                                .onClose(privateNotificationManager::removePrivateNotification)
+                                .useIUnderstandButton()
+                                .show())));
+        bisqSetup.setDaoSetupErrorHandler(GUIProfiler.traced("daoSetupErrorHandler",
+                errorMessage -> new Popup<>().error(errorMessage).show()));
+        bisqSetup.setDisplaySecurityRecommendationHandler(GUIProfiler.traced("displaySecurityRecommendationHandler",
+                key -> showAfterSplashScreenRemoved(() ->
+                        new Popup<>().headLine(Res.get("popup.securityRecommendation.headline"))
+                                .information(Res.get("popup.securityRecommendation.msg"))
+                                .dontShowAgainId(key)
+                                .show())));
+        bisqSetup.setDisplayLocalhostHandler(GUIProfiler.traced("displayLocalhostHandler", key -> {
             if (!DevEnv.isDevMode()) {
-                new Popup<>().backgroundInfo(Res.get("popup.bitcoinLocalhostNode.msg"))
+                showAfterSplashScreenRemoved(() -> new Popup<>().backgroundInfo(Res.get("popup.bitcoinLocalhostNode.msg"))
                         .dontShowAgainId(key)
-                        .show();
+                        .show());
             }
-        });
+        }));
 
-        bisqSetup.setWrongOSArchitectureHandler(msg -> new Popup<>().warning(msg).show());
+        bisqSetup.setWrongOSArchitectureHandler(GUIProfiler.traced("wrongOSArchitectureHandler",
+                msg -> new Popup<>().warning(msg).show()));
 
         corruptedDatabaseFilesHandler.getCorruptedDatabaseFiles().ifPresent(files -> {
             new Popup<>()
@@ -346,6 +389,15 @@ public class MainViewModel implements ViewModel, BisqSetup.BisqSetupCompleteList
                 .show());
     }
 
+    // In fast startup mode popups which are not required for continuing the startup are shown once the
+    // application screen is visible
+    private void showAfterSplashScreenRemoved(Runnable showPopup) {
+        if (fastStartup && !isSplashScreenRemoved.get())
+            popupsDeferredUntilSplashScreenRemoved.add(showPopup);
+        else
+            showPopup.run();
+    }
+
     private void setupP2PNumPeersWatcher() {
         p2PService.getNumConnectedPeers().addListener((observable, oldValue, newValue) -> {
             int numPeers = (int) newValue;
@@ -19,7 +19,6 @@ package bisq.desktop.main.dao.bonding.unlock;
 
 import bisq.desktop.components.AutoTooltipButton;
 import bisq.desktop.components.TxConfidenceListItem;
-import bisq.desktop.components.indicator.TxConfidenceIndicator;
 
 import bisq.core.btc.listeners.TxConfidenceListener;
 import bisq.core.btc.wallet.BsqWalletService;
@@ -54,7 +53,6 @@ class LockupTxListItem extends TxConfidenceListItem {
     private int lockTime;
     private AutoTooltipButton button;
 
-    private TxConfidenceIndicator txConfidenceIndicator;
     private TxConfidenceListener txConfidenceListener;
     private boolean issuanceTx;
 
@@ -101,6 +99,6 @@ class LockupTxListItem extends TxConfidenceListItem {
     public TxType getTxType() {
         return daoFacade.getTx(txId)
                 .flatMap(tx -> daoFacade.getOptionalTxType(tx.getId()))
-                .orElse(confirmations == 0 ? TxType.UNVERIFIED : TxType.UNDEFINED_TX_TYPE);
+                .orElse(getConfirmations() == 0 ? TxType.UNVERIFIED : TxType.UNDEFINED_TX_TYPE);
     }
 }
@@ -172,8 +172,6 @@ public class UnlockView extends ActivatableView<GridPane, Void> implements BsqBa
         bsqWalletService.removeBsqBalanceListener(this);
         btcWalletService.getChainHeightProperty().removeListener(walletChainHeightListener);
         daoFacade.removeBsqStateListener(this);
-
-        observableList.forEach(LockupTxListItem::cleanup);
     }
 
 
@@ -220,8 +218,6 @@ public class UnlockView extends ActivatableView<GridPane, Void> implements BsqBa
     }
 
     private void updateList() {
-        observableList.forEach(LockupTxListItem::cleanup);
-
         // copy list to avoid ConcurrentModificationException
         final List<Transaction> walletTransactions = new ArrayList<>(bsqWalletService.getWalletTransactions());
         List<LockupTxListItem> items = walletTransactions.stream()
@@ -32,6 +32,7 @@ import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionOutput;
 
 import java.util.Date;
+import java.util.Objects;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -48,6 +49,8 @@ class BsqTxListItem extends TxConfidenceListItem {
     private final BsqFormatter bsqFormatter;
     private final Date date;
     private final boolean isBurnedBsqTx;
+    private final TxType txType;
+    private final boolean unconfirmed;
 
     private final String address;
     private final String direction;
@@ -66,16 +69,20 @@ class BsqTxListItem extends TxConfidenceListItem {
 
         this.btcWalletService = btcWalletService;
         this.daoFacade = daoFacade;
-        this.isBurnedBsqTx = daoFacade.hasTxBurntFee(transaction.getHashAsString());
         this.date = date;
         this.bsqFormatter = bsqFormatter;
 
         checkNotNull(transaction, "transaction must not be null as we only have list items from transactions " +
                 "which are available in the wallet");
 
-        Coin valueSentToMe = bsqWalletService.getValueSentToMeForTransaction(transaction);
-        Coin valueSentFromMe = bsqWalletService.getValueSentFromMeForTransaction(transaction);
-        amount = valueSentToMe.subtract(valueSentFromMe);
+        // The DAO data is only read once. The view creates a new item if the tx got parsed again or got confirmed.
+        isBurnedBsqTx = daoFacade.hasTxBurntFee(txId);
+        unconfirmed = getConfirmations() == 0;
+        txType = daoFacade.getTx(txId)
+                .flatMap(tx -> daoFacade.getOptionalTxType(tx.getId()))
+                .orElse(unconfirmed ? TxType.UNVERIFIED : TxType.UNDEFINED_TX_TYPE);
+
+        amount = calculateAmount(transaction);
         if (amount.isPositive()) {
             if (txId.equals(daoFacade.getGenesisTxId()))
                 direction = Res.get("funds.tx.direction.genesisTx");
@@ -121,10 +128,16 @@ class BsqTxListItem extends TxConfidenceListItem {
             address = "";
     }
 
-    public TxType getTxType() {
-        return daoFacade.getTx(txId)
-                .flatMap(tx -> daoFacade.getOptionalTxType(tx.getId()))
-                .orElse(confirmations == 0 ? TxType.UNVERIFIED : TxType.UNDEFINED_TX_TYPE);
+    boolean isUpToDate(Transaction transaction) {
+        return Objects.equals(date, transaction.getUpdateTime()) &&
+                amount.equals(calculateAmount(transaction)) &&
+                unconfirmed == (transaction.getConfidence().getDepthInBlocks() == 0);
+    }
+
+    private Coin calculateAmount(Transaction transaction) {
+        Coin valueSentToMe = bsqWalletService.getValueSentToMeForTransaction(transaction);
+        Coin valueSentFromMe = bsqWalletService.getValueSentFromMeForTransaction(transaction);
+        return valueSentToMe.subtract(valueSentFromMe);
     }
 }
 
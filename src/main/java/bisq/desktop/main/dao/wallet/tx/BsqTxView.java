@@ -23,9 +23,11 @@ import bisq.desktop.components.AddressWithIconAndDirection;
 import bisq.desktop.components.AutoTooltipLabel;
 import bisq.desktop.components.AutoTooltipTableColumn;
 import bisq.desktop.components.HyperlinkWithIcon;
+import bisq.desktop.components.TxConfidenceTableCell;
 import bisq.desktop.main.dao.wallet.BsqBalanceUtil;
 import bisq.desktop.util.FormBuilder;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.TxConfidenceDispatcher;
 
 import bisq.core.app.BisqEnvironment;
 import bisq.core.btc.wallet.BsqBalanceListener;
@@ -39,6 +41,9 @@ import bisq.core.locale.Res;
 import bisq.core.user.Preferences;
 import bisq.core.util.BsqFormatter;
 
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
 import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.Transaction;
 
@@ -71,13 +76,23 @@ import javafx.collections.transformation.SortedList;
 import javafx.util.Callback;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @FxmlView
 public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBalanceListener, BsqStateListener {
+    // During a DAO resync each parsed block requests an update, so we update the list at most once per interval
+    private static final long UPDATE_INTERVAL_MS = 500;
+
 
     private TableView<BsqTxListItem> tableView;
 
@@ -87,10 +102,15 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
     private final BtcWalletService btcWalletService;
     private final BsqBalanceUtil bsqBalanceUtil;
     private final Preferences preferences;
+    private final TxConfidenceDispatcher txConfidenceDispatcher;
 
     private final ObservableList<BsqTxListItem> observableList = FXCollections.observableArrayList();
     // Need to be DoubleProperty as we pass it as reference
     private final SortedList<BsqTxListItem> sortedList = new SortedList<>(observableList);
+    private final Map<String, BsqTxListItem> itemsByTxId = new HashMap<>();
+    // IDs of the txs in the blocks parsed since the last update. Their items get created again to read the DAO data.
+    private final Set<String> parsedTxIds = new HashSet<>();
+    private Timer updateTimer;
     private ListChangeListener<Transaction> walletBsqTransactionsListener;
     private int gridRow = 0;
     private Label chainHeightLabel;
@@ -108,6 +128,7 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
                       Preferences preferences,
                       BtcWalletService btcWalletService,
                       BsqBalanceUtil bsqBalanceUtil,
+                      TxConfidenceDispatcher txConfidenceDispatcher,
                       BsqFormatter bsqFormatter) {
         this.daoFacade = daoFacade;
         this.bsqFormatter = bsqFormatter;
@@ -115,6 +136,7 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
         this.preferences = preferences;
         this.btcWalletService = btcWalletService;
         this.bsqBalanceUtil = bsqBalanceUtil;
+        this.txConfidenceDispatcher = txConfidenceDispatcher;
     }
 
     @Override
@@ -157,7 +179,7 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
         VBox.setVgrow(tableView, Priority.ALWAYS);
         root.getChildren().add(vBox);
 
-        walletBsqTransactionsListener = change -> updateList();
+        walletBsqTransactionsListener = change -> requestUpdate();
         //TODO do we want to get notified from wallet side?
         walletChainHeightListener = (observable, oldValue, newValue) -> onUpdateAnyChainHeight();
     }
@@ -187,7 +209,10 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
         btcWalletService.getChainHeightProperty().removeListener(walletChainHeightListener);
         daoFacade.removeBsqStateListener(this);
 
-        observableList.forEach(BsqTxListItem::cleanup);
+        stopUpdateTimer();
+        itemsByTxId.clear();
+        parsedTxIds.clear();
+        observableList.clear();
     }
 
 
@@ -202,7 +227,7 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
                                  Coin lockedForVotingBalance,
                                  Coin lockupBondsBalance,
                                  Coin unlockingBondsBalance) {
-        updateList();
+        requestUpdate();
     }
 
 
@@ -216,11 +241,14 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
 
     @Override
     public void onParseTxsComplete(Block block) {
+        block.getTxs().forEach(tx -> parsedTxIds.add(tx.getId()));
         onUpdateAnyChainHeight();
     }
 
     @Override
     public void onParseBlockChainComplete() {
+        parsedTxIds.addAll(itemsByTxId.keySet());
+        requestUpdate();
     }
 
 
@@ -253,25 +281,62 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
                     bsqBlockChainHeight,
                     bsqWalletChainHeight));
         }
-        updateList();
+        requestUpdate();
+    }
+
+    private void requestUpdate() {
+        if (updateTimer == null)
+            updateTimer = UserThread.runAfter(this::updateList, UPDATE_INTERVAL_MS, TimeUnit.MILLISECONDS);
     }
 
+    private void stopUpdateTimer() {
+        if (updateTimer != null) {
+            updateTimer.stop();
+            updateTimer = null;
+        }
+    }
+
+    // Only items of new or changed txs and of txs in parsed blocks are created, the others are kept
     private void updateList() {
-        observableList.forEach(BsqTxListItem::cleanup);
+        stopUpdateTimer();
 
         // copy list to avoid ConcurrentModificationException
         final List<Transaction> walletTransactions = new ArrayList<>(bsqWalletService.getWalletTransactions());
-        List<BsqTxListItem> items = walletTransactions.stream()
-                .map(transaction -> {
-                    return new BsqTxListItem(transaction,
-                            bsqWalletService,
-                            btcWalletService,
-                            daoFacade,
-                            transaction.getUpdateTime(),
-                            bsqFormatter);
-                })
-                .collect(Collectors.toList());
-        observableList.setAll(items);
+        Set<String> txIds = new HashSet<>();
+        Set<BsqTxListItem> removedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<BsqTxListItem> addedItems = new ArrayList<>();
+        for (Transaction transaction : walletTransactions) {
+            String txId = transaction.getHashAsString();
+            txIds.add(txId);
+            BsqTxListItem item = itemsByTxId.get(txId);
+            if (item == null || parsedTxIds.contains(txId) || !item.isUpToDate(transaction)) {
+                if (item != null)
+                    removedItems.add(item);
+                BsqTxListItem newItem = new BsqTxListItem(transaction,
+                        bsqWalletService,
+                        btcWalletService,
+                        daoFacade,
+                        transaction.getUpdateTime(),
+                        bsqFormatter);
+                itemsByTxId.put(txId, newItem);
+                addedItems.add(newItem);
+            }
+        }
+        parsedTxIds.clear();
+
+        Iterator<Map.Entry<String, BsqTxListItem>> iterator = itemsByTxId.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, BsqTxListItem> entry = iterator.next();
+            if (!txIds.contains(entry.getKey())) {
+                removedItems.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        if (!removedItems.isEmpty())
+            observableList.removeAll(removedItems);
+        if (!addedItems.isEmpty())
+            observableList.addAll(addedItems);
     }
 
     private void addDateColumn() {
@@ -458,19 +523,7 @@ public class BsqTxView extends ActivatableView<GridPane, Void> implements BsqBal
             @Override
             public TableCell<BsqTxListItem, BsqTxListItem> call(TableColumn<BsqTxListItem,
                     BsqTxListItem> column) {
-                return new TableCell<BsqTxListItem, BsqTxListItem>() {
-
-                    @Override
-                    public void updateItem(final BsqTxListItem item, boolean empty) {
-                        super.updateItem(item, empty);
-
-                        if (item != null && !empty) {
-                            setGraphic(item.getTxConfidenceIndicator());
-                        } else {
-                            setGraphic(null);
-                        }
-                    }
-                };
+                return new TxConfidenceTableCell<>(txConfidenceDispatcher, bsqWalletService);
             }
         });
         tableView.getColumns().add(column);
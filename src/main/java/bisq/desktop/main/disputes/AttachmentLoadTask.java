@@ -0,0 +1,196 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import bisq.core.arbitration.Attachment;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+
+
+import javafx.concurrent.Task;
+
+/**
+ * Reads a file for a dispute chat attachment outside of the UserThread. The size is checked before the file is read,
+ * so a file which is too large is never loaded. Images which are too large get downscaled until they fit.
+ * The task fails with an {@link AttachmentTooLargeException} if the file doesn't fit.
+ */
+@Slf4j
+public class AttachmentLoadTask extends Task<Attachment> {
+    @VisibleForTesting
+    static final int BUFFER_SIZE = 64 * 1024;
+    // Larger images are not decoded for downscaling as they would need too much memory
+    private static final long MAX_IMAGE_SIZE = 20 * 1024 * 1024;
+    // The file size doesn't limit the memory needed for the decoded image, so we check its dimensions as well
+    @VisibleForTesting
+    static final long MAX_IMAGE_PIXELS = 16 * 1024 * 1024;
+    private static final int MAX_DOWNSCALE_STEPS = 4;
+    private static final Set<String> IMAGE_FORMATS = ImmutableSet.of("png", "jpg", "jpeg");
+
+    public static class AttachmentTooLargeException extends Exception {
+        @Getter
+        private final long size;
+
+        AttachmentTooLargeException(long size) {
+            super("The attachment has " + size + " bytes");
+            this.size = size;
+        }
+    }
+
+    private final File file;
+    private final int maxSize;
+
+    /**
+     * @param file    The file to read
+     * @param maxSize The max. number of bytes the attachment may have
+     */
+    public AttachmentLoadTask(File file, int maxSize) {
+        this.file = file;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected Attachment call() throws Exception {
+        String imageFormat = getImageFormat(file.getName());
+        byte[] bytes;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxSize && (imageFormat == null || size > MAX_IMAGE_SIZE))
+                throw new AttachmentTooLargeException(size);
+
+            bytes = read(channel, (int) size);
+        }
+
+        if (isCancelled())
+            return null;
+
+        if (bytes.length > maxSize) {
+            if (imageFormat == null)
+                throw new AttachmentTooLargeException(bytes.length);
+
+            bytes = downscale(bytes, imageFormat);
+        }
+
+        return new Attachment(file.getName(), bytes);
+    }
+
+    private byte[] read(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining() && !isCancelled()) {
+            buffer.limit(Math.min(buffer.position() + BUFFER_SIZE, buffer.capacity()));
+            if (channel.read(buffer) < 0)
+                break;
+
+            updateProgress(buffer.position(), size);
+        }
+
+        // The file might have been shortened while we read it
+        byte[] bytes = buffer.array();
+        return buffer.position() == bytes.length ? bytes : Arrays.copyOf(bytes, buffer.position());
+    }
+
+    // Halves the dimensions of the image until it fits. The image is stored in its original format.
+    private byte[] downscale(byte[] bytes, String imageFormat) throws IOException, AttachmentTooLargeException {
+        updateProgress(-1, 1);
+        BufferedImage image = readImage(bytes);
+        if (image == null)
+            throw new AttachmentTooLargeException(bytes.length);
+
+        // JPEG does not support an alpha channel
+        int imageType = imageFormat.equals("png") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        for (int i = 0; i < MAX_DOWNSCALE_STEPS && !isCancelled(); i++) {
+            width = Math.max(1, width / 2);
+            height = Math.max(1, height / 2);
+            BufferedImage scaledImage = new BufferedImage(width, height, imageType);
+            Graphics2D graphics = scaledImage.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+            graphics.dispose();
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ImageIO.write(scaledImage, imageFormat, outputStream);
+            if (outputStream.size() <= maxSize) {
+                log.info("Downscaled image {} from {} to {} bytes", file.getName(), bytes.length, outputStream.size());
+                return outputStream.toByteArray();
+            }
+        }
+        throw new AttachmentTooLargeException(bytes.length);
+    }
+
+    // Returns null if the bytes are no image or if the image has too many pixels for being decoded
+    @Nullable
+    private static BufferedImage readImage(byte[] bytes) throws IOException {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+            if (!readers.hasNext())
+                return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(inputStream, true, true);
+                long numPixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (numPixels > MAX_IMAGE_PIXELS) {
+                    log.warn("Image has too many pixels for being downscaled: {}", numPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @Nullable
+    private static String getImageFormat(String fileName) {
+        int index = fileName.lastIndexOf('.');
+        if (index < 0)
+            return null;
+
+        String extension = fileName.substring(index + 1).toLowerCase();
+        return IMAGE_FORMATS.contains(extension) ? extension : null;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import bisq.core.arbitration.Attachment;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import java.io.File;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+
+import javafx.concurrent.Task;
+
+/**
+ * Writes a dispute chat attachment to a file outside of the UserThread. If the task gets cancelled the partially
+ * written file is deleted.
+ */
+@Slf4j
+public class AttachmentSaveTask extends Task<Void> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Attachment attachment;
+    private final File file;
+
+    public AttachmentSaveTask(Attachment attachment, File file) {
+        this.attachment = attachment;
+        this.file = file;
+    }
+
+    @Override
+    protected Void call() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(attachment.getBytes());
+        int size = buffer.capacity();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining() && !isCancelled()) {
+                buffer.limit(Math.min(buffer.position() + BUFFER_SIZE, size));
+                channel.write(buffer);
+                updateProgress(buffer.position(), size);
+            }
+        }
+
+        if (isCancelled()) {
+            log.info("Saving attachment to {} got cancelled", file);
+            if (!file.delete())
+                log.warn("Could not delete partially written file {}", file);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import bisq.core.arbitration.Dispute;
+import bisq.core.arbitration.messages.DisputeCommunicationMessage;
+import bisq.core.trade.Contract;
+import bisq.core.util.BSFormatter;
+
+import bisq.network.p2p.NodeAddress;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the disputes grouped by trade, the number of disputes per buyer and seller address and a text index over the
+ * dispute fields and chat messages. The index listens to the disputes and to the messages of each dispute and only
+ * updates the entries of the changed disputes, so the dispute views don't need to iterate over all disputes.
+ * All methods must be called from the UserThread.
+ */
+public class DisputeIndex {
+    private final ObservableList<Dispute> disputes;
+    private final BSFormatter formatter;
+    private final ListChangeListener<Dispute> disputesListener;
+    private final Map<Dispute, ListChangeListener<DisputeCommunicationMessage>> messagesListeners = new IdentityHashMap<>();
+    private final Map<String, List<Dispute>> disputesByTradeId = new LinkedHashMap<>();
+    private final Map<NodeAddress, Integer> numDisputesByBuyerNodeAddress = new HashMap<>();
+    private final Map<NodeAddress, Integer> numDisputesBySellerNodeAddress = new HashMap<>();
+    private final TextSearchIndex<Dispute> textSearchIndex = new TextSearchIndex<>();
+    private boolean started;
+
+    public DisputeIndex(ObservableList<Dispute> disputes, BSFormatter formatter) {
+        this.disputes = disputes;
+        this.formatter = formatter;
+        disputesListener = this::onDisputesChanged;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Lifecycle
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public void start() {
+        if (started)
+            return;
+
+        started = true;
+        disputes.forEach(this::add);
+        disputes.addListener(disputesListener);
+    }
+
+    public void shutDown() {
+        if (!started)
+            return;
+
+        started = false;
+        disputes.removeListener(disputesListener);
+        messagesListeners.forEach((dispute, listener) -> dispute.getDisputeCommunicationMessages().removeListener(listener));
+        messagesListeners.clear();
+        disputesByTradeId.clear();
+        numDisputesByBuyerNodeAddress.clear();
+        numDisputesBySellerNodeAddress.clear();
+        textSearchIndex.clear();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Getters
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The disputes grouped by trade, sorted by the opening date of the first dispute of a group
+     */
+    public List<List<Dispute>> getDisputeGroups() {
+        return disputesByTradeId.values().stream()
+                .filter(group -> !group.isEmpty())
+                .sorted(Comparator.comparing(group -> group.get(0).getOpeningDate()))
+                .map(ArrayList::new)
+                .collect(Collectors.toList());
+    }
+
+    public int getNumDisputesOfBuyer(Contract contract) {
+        return getNumDisputes(numDisputesByBuyerNodeAddress, contract.getBuyerNodeAddress());
+    }
+
+    public int getNumDisputesOfSeller(Contract contract) {
+        return getNumDisputes(numDisputesBySellerNodeAddress, contract.getSellerNodeAddress());
+    }
+
+    /**
+     * @return An identity based set of the disputes whose ID, opening date, buyer or seller address or one of the
+     * chat messages contains the search text, ignoring case
+     */
+    public Set<Dispute> findDisputes(String searchText) {
+        return textSearchIndex.find(searchText);
+    }
+
+    /**
+     * @return The predicate for the disputes matching the filter of the dispute view. The filter "open" shows only
+     * the open disputes, any other filter the disputes found by {@link #findDisputes(String)}.
+     */
+    public Predicate<Dispute> getFilterPredicate(String filterString) {
+        return getFilterPredicate(filterString, this::findDisputes);
+    }
+
+    // The text index also covers the chat messages, which often contain "open", so we must not combine the matches
+    // of the "open" filter with the found disputes
+    @VisibleForTesting
+    static Predicate<Dispute> getFilterPredicate(String filterString, Function<String, Set<Dispute>> findDisputes) {
+        if (filterString.isEmpty())
+            return dispute -> true;
+
+        if (filterString.toLowerCase().equals("open"))
+            return dispute -> !dispute.isClosed();
+
+        Set<Dispute> matchingDisputes = findDisputes.apply(filterString);
+        return matchingDisputes::contains;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void onDisputesChanged(ListChangeListener.Change<? extends Dispute> change) {
+        while (change.next()) {
+            if (change.wasRemoved())
+                change.getRemoved().forEach(this::remove);
+            if (change.wasAdded())
+                change.getAddedSubList().forEach(this::add);
+        }
+    }
+
+    private void add(Dispute dispute) {
+        if (messagesListeners.containsKey(dispute))
+            return;
+
+        ListChangeListener<DisputeCommunicationMessage> messagesListener = c -> updateSearchText(dispute);
+        messagesListeners.put(dispute, messagesListener);
+        dispute.getDisputeCommunicationMessages().addListener(messagesListener);
+
+        disputesByTradeId.computeIfAbsent(dispute.getTradeId(), k -> new ArrayList<>()).add(dispute);
+
+        Contract contract = dispute.getContract();
+        if (contract != null) {
+            changeNumDisputes(numDisputesByBuyerNodeAddress, contract.getBuyerNodeAddress(), 1);
+            changeNumDisputes(numDisputesBySellerNodeAddress, contract.getSellerNodeAddress(), 1);
+        }
+
+        updateSearchText(dispute);
+    }
+
+    private void remove(Dispute dispute) {
+        ListChangeListener<DisputeCommunicationMessage> messagesListener = messagesListeners.remove(dispute);
+        if (messagesListener == null)
+            return;
+
+        dispute.getDisputeCommunicationMessages().removeListener(messagesListener);
+
+        List<Dispute> group = disputesByTradeId.get(dispute.getTradeId());
+        if (group != null) {
+            group.removeIf(e -> e == dispute);
+            if (group.isEmpty())
+                disputesByTradeId.remove(dispute.getTradeId());
+        }
+
+        Contract contract = dispute.getContract();
+        if (contract != null) {
+            changeNumDisputes(numDisputesByBuyerNodeAddress, contract.getBuyerNodeAddress(), -1);
+            changeNumDisputes(numDisputesBySellerNodeAddress, contract.getSellerNodeAddress(), -1);
+        }
+
+        textSearchIndex.remove(dispute);
+    }
+
+    private void updateSearchText(Dispute dispute) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(dispute.getId()).append("\n")
+                .append(formatter.formatDate(dispute.getOpeningDate())).append("\n");
+        Contract contract = dispute.getContract();
+        if (contract != null) {
+            if (contract.getBuyerNodeAddress() != null)
+                sb.append(contract.getBuyerNodeAddress().getHostNameWithoutPostFix()).append("\n");
+            if (contract.getSellerNodeAddress() != null)
+                sb.append(contract.getSellerNodeAddress().getHostNameWithoutPostFix()).append("\n");
+        }
+        dispute.getDisputeCommunicationMessages().forEach(message -> {
+            if (message.getMessage() != null)
+                sb.append(message.getMessage()).append("\n");
+        });
+        textSearchIndex.put(dispute, sb.toString());
+    }
+
+    private static void changeNumDisputes(Map<NodeAddress, Integer> numDisputesByNodeAddress,
+                                          @Nullable NodeAddress nodeAddress,
+                                          int delta) {
+        if (nodeAddress != null)
+            numDisputesByNodeAddress.compute(nodeAddress, (k, num) -> {
+                int newNum = (num != null ? num : 0) + delta;
+                return newNum > 0 ? newNum : null;
+            });
+    }
+
+    private static int getNumDisputes(Map<NodeAddress, Integer> numDisputesByNodeAddress,
+                                      @Nullable NodeAddress nodeAddress) {
+        return nodeAddress != null ? numDisputesByNodeAddress.getOrDefault(nodeAddress, 0) : 0;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case insensitive substring search over the texts of items. The lower case text of each item is kept together with
+ * an index from all trigrams (sequences of 3 characters) of the text to the items containing them. A query of at
+ * least 3 characters only checks the items which contain all trigrams of the query, shorter queries check all texts.
+ * Items are compared by identity.
+ */
+public class TextSearchIndex<T> {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<T, String> textByItem = new IdentityHashMap<>();
+    private final Map<String, Set<T>> itemsByGram = new HashMap<>();
+
+    /**
+     * Adds the item or replaces the text of an already added item.
+     */
+    public void put(T item, String text) {
+        remove(item);
+
+        String lowerCaseText = text.toLowerCase();
+        textByItem.put(item, lowerCaseText);
+        getGrams(lowerCaseText).forEach(gram ->
+                itemsByGram.computeIfAbsent(gram, k -> newIdentitySet()).add(item));
+    }
+
+    public void remove(T item) {
+        String lowerCaseText = textByItem.remove(item);
+        if (lowerCaseText == null)
+            return;
+
+        getGrams(lowerCaseText).forEach(gram -> {
+            Set<T> items = itemsByGram.get(gram);
+            if (items != null) {
+                items.remove(item);
+                if (items.isEmpty())
+                    itemsByGram.remove(gram);
+            }
+        });
+    }
+
+    public void clear() {
+        textByItem.clear();
+        itemsByGram.clear();
+    }
+
+    public int size() {
+        return textByItem.size();
+    }
+
+    /**
+     * @return An identity based set of all items whose text contains the query, ignoring case
+     */
+    public Set<T> find(String query) {
+        String lowerCaseQuery = query.toLowerCase();
+        Set<T> result = newIdentitySet();
+        for (T item : getCandidates(lowerCaseQuery)) {
+            if (textByItem.get(item).contains(lowerCaseQuery))
+                result.add(item);
+        }
+        return result;
+    }
+
+    private Set<T> getCandidates(String lowerCaseQuery) {
+        if (lowerCaseQuery.length() < GRAM_LENGTH)
+            return textByItem.keySet();
+
+        // We start with the items of the rarest trigram, the other trigrams are verified by the contains check
+        Set<T> candidates = null;
+        for (String gram : getGrams(lowerCaseQuery)) {
+            Set<T> items = itemsByGram.get(gram);
+            if (items == null)
+                return Collections.emptySet();
+            if (candidates == null || items.size() < candidates.size())
+                candidates = items;
+        }
+        return candidates;
+    }
+
+    private static Set<String> getGrams(String lowerCaseText) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseText.length(); i++)
+            grams.add(lowerCaseText.substring(i, i + GRAM_LENGTH));
+        return grams;
+    }
+
+    private static <T> Set<T> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
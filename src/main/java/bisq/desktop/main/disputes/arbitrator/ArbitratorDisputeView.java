@@ -25,6 +25,7 @@ import bisq.desktop.main.overlays.windows.TradeDetailsWindow;
 
 import bisq.core.alert.PrivateNotificationManager;
 import bisq.core.app.AppOptionKeys;
+import bisq.core.arbitration.Dispute;
 import bisq.core.arbitration.DisputeManager;
 import bisq.core.trade.TradeManager;
 import bisq.core.util.BSFormatter;
@@ -37,6 +38,8 @@ import com.google.inject.name.Named;
 
 import javax.inject.Inject;
 
+import java.util.function.Predicate;
+
 @FxmlView
 public class ArbitratorDisputeView extends TraderDisputeView {
 
@@ -61,17 +64,12 @@ public class ArbitratorDisputeView extends TraderDisputeView {
 
     @Override
     protected void applyFilteredListPredicate(String filterString) {
+        // The index finds the disputes matching the ID, opening date, trader addresses or chat messages once per
+        // filter change, the predicate only needs a lookup per dispute
+        Predicate<Dispute> filterPredicate = disputeIndex.getFilterPredicate(filterString);
         // If in arbitrator view we must only display disputes where we are selected as arbitrator (must not receive others anyway)
         filteredList.setPredicate(dispute ->
-                dispute.getArbitratorPubKeyRing().equals(keyRing.getPubKeyRing()) &&
-                        (filterString.isEmpty() ||
-                                (dispute.getId().contains(filterString) ||
-                                        (!dispute.isClosed() && filterString.toLowerCase().equals("open")) ||
-                                        formatter.formatDate(dispute.getOpeningDate()).contains(filterString)) ||
-                                getBuyerOnionAddressColumnLabel(dispute).contains(filterString) ||
-                                getSellerOnionAddressColumnLabel(dispute).contains(filterString)
-
-                        ));
+                dispute.getArbitratorPubKeyRing().equals(keyRing.getPubKeyRing()) && filterPredicate.test(dispute));
     }
 
 }
@@ -26,13 +26,18 @@ import bisq.desktop.components.BusyAnimation;
 import bisq.desktop.components.HyperlinkWithIcon;
 import bisq.desktop.components.InputTextField;
 import bisq.desktop.components.TableGroupHeadline;
+import bisq.desktop.main.disputes.AttachmentLoadTask;
+import bisq.desktop.main.disputes.AttachmentSaveTask;
+import bisq.desktop.main.disputes.DisputeIndex;
 import bisq.desktop.main.disputes.arbitrator.ArbitratorDisputeView;
 import bisq.desktop.main.overlays.popups.Popup;
 import bisq.desktop.main.overlays.windows.ContractWindow;
 import bisq.desktop.main.overlays.windows.DisputeSummaryWindow;
 import bisq.desktop.main.overlays.windows.SendPrivateNotificationWindow;
+import bisq.desktop.main.overlays.windows.TaskProgressWindow;
 import bisq.desktop.main.overlays.windows.TradeDetailsWindow;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.Transitions;
 
 import bisq.core.alert.PrivateNotificationManager;
 import bisq.core.app.AppOptionKeys;
@@ -62,7 +67,6 @@ import com.google.inject.name.Named;
 import javax.inject.Inject;
 
 import com.google.common.collect.Lists;
-import com.google.common.io.ByteStreams;
 
 import de.jensd.fx.fontawesome.AwesomeDude;
 import de.jensd.fx.fontawesome.AwesomeIcon;
@@ -112,32 +116,32 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
+
+
+import javafx.concurrent.Task;
+
 // will be probably only used for arbitration communication, will be renamed and the icon changed
 @FxmlView
 public class TraderDisputeView extends ActivatableView<VBox, Void> {
+    private static final long PROGRESS_WINDOW_DELAY_MS = 300;
+    private static final int MAX_ATTACHMENTS = 3;
 
     private final DisputeManager disputeManager;
     protected final KeyRing keyRing;
     private final TradeManager tradeManager;
     protected final BSFormatter formatter;
+    protected final DisputeIndex disputeIndex;
     private final DisputeSummaryWindow disputeSummaryWindow;
     private final PrivateNotificationManager privateNotificationManager;
     private final ContractWindow contractWindow;
@@ -173,6 +177,8 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
     protected FilteredList<Dispute> filteredList;
     private InputTextField filterTextField;
     private ChangeListener<String> filterTextFieldListener;
+    @Nullable
+    private AttachmentLoadTask attachmentLoadTask;
     protected HBox filterBox;
 
 
@@ -195,6 +201,7 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
         this.keyRing = keyRing;
         this.tradeManager = tradeManager;
         this.formatter = formatter;
+        disputeIndex = new DisputeIndex(disputeManager.getDisputesAsObservableList(), formatter);
         this.disputeSummaryWindow = disputeSummaryWindow;
         this.privateNotificationManager = privateNotificationManager;
         this.contractWindow = contractWindow;
@@ -281,19 +288,7 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
 
         keyEventEventHandler = event -> {
             if (Utilities.isAltOrCtrlPressed(KeyCode.L, event)) {
-                Map<String, List<Dispute>> map = new HashMap<>();
-                disputeManager.getDisputesAsObservableList().stream().forEach(dispute -> {
-                    String tradeId = dispute.getTradeId();
-                    List<Dispute> list;
-                    if (!map.containsKey(tradeId))
-                        map.put(tradeId, new ArrayList<>());
-
-                    list = map.get(tradeId);
-                    list.add(dispute);
-                });
-                List<List<Dispute>> disputeGroups = new ArrayList<>();
-                map.entrySet().stream().forEach(entry -> disputeGroups.add(entry.getValue()));
-                disputeGroups.sort((o1, o2) -> !o1.isEmpty() && !o2.isEmpty() ? o1.get(0).getOpeningDate().compareTo(o2.get(0).getOpeningDate()) : 0);
+                List<List<Dispute>> disputeGroups = disputeIndex.getDisputeGroups();
                 StringBuilder stringBuilder = new StringBuilder();
 
                 // We don't translate that as it is not intended for the public
@@ -373,6 +368,8 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
     protected void activate() {
         filterTextField.textProperty().addListener(filterTextFieldListener);
         disputeManager.cleanupDisputes();
+        // The index stays registered at the disputes while the view is inactive so it doesn't need to get rebuilt
+        disputeIndex.start();
 
         filteredList = new FilteredList<>(disputeManager.getDisputesAsObservableList());
         applyFilteredListPredicate(filterTextField.getText());
@@ -455,6 +452,11 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
             scene.removeEventHandler(KeyEvent.KEY_RELEASED, keyEventEventHandler);
     }
 
+    @Override
+    public void onEvicted() {
+        disputeIndex.shutDown();
+    }
+
     protected void applyFilteredListPredicate(String filterString) {
         // If in trader view we must not display arbitrators own disputes as trader (must not happen anyway)
         filteredList.setPredicate(dispute -> !dispute.getArbitratorPubKeyRing().equals(keyRing.getPubKeyRing()));
@@ -558,8 +560,12 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
     }
 
     private void onRequestUpload() {
-        int totalSize = tempAttachments.stream().mapToInt(a -> a.getBytes().length).sum();
-        if (tempAttachments.size() < 3) {
+        // We load one attachment at a time, so the checks below can't be passed by several loads at once
+        if (attachmentLoadTask != null && attachmentLoadTask.isRunning())
+            return;
+
+        int totalSize = getTempAttachmentsSize();
+        if (tempAttachments.size() < MAX_ATTACHMENTS) {
             FileChooser fileChooser = new FileChooser();
             int maxMsgSize = Connection.getPermittedMessageSize();
             int maxSizeInKB = maxMsgSize / 1024;
@@ -568,34 +574,48 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
                 fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));*/
             File result = fileChooser.showOpenDialog(root.getScene().getWindow());
             if (result != null) {
-                try {
-                    URL url = result.toURI().toURL();
-                    try (InputStream inputStream = url.openStream()) {
-                        byte[] filesAsBytes = ByteStreams.toByteArray(inputStream);
-                        int size = filesAsBytes.length;
-                        int newSize = totalSize + size;
-                        if (newSize > maxMsgSize) {
-                            new Popup<>().warning(Res.get("support.attachmentTooLarge", (newSize / 1024), maxSizeInKB)).show();
-                        } else if (size > maxMsgSize) {
-                            new Popup<>().warning(Res.get("support.maxSize", maxSizeInKB)).show();
-                        } else {
-                            tempAttachments.add(new Attachment(result.getName(), filesAsBytes));
-                            inputTextArea.setText(inputTextArea.getText() + "\n[" + Res.get("support.attachment") + " " + result.getName() + "]");
-                        }
-                    } catch (java.io.IOException e) {
-                        e.printStackTrace();
-                        log.error(e.getMessage());
+                AttachmentLoadTask attachmentLoadTask = new AttachmentLoadTask(result, maxMsgSize - totalSize);
+                this.attachmentLoadTask = attachmentLoadTask;
+                attachmentLoadTask.setOnSucceeded(event -> {
+                    Attachment attachment = attachmentLoadTask.getValue();
+                    if (attachment == null)
+                        return;
+
+                    // The attachments might have changed while the file got loaded
+                    int newTotalSize = getTempAttachmentsSize() + attachment.getBytes().length;
+                    if (tempAttachments.size() >= MAX_ATTACHMENTS) {
+                        showAttachmentWarning(Res.get("support.tooManyAttachments"));
+                    } else if (newTotalSize > maxMsgSize) {
+                        showAttachmentWarning(Res.get("support.attachmentTooLarge", (newTotalSize / 1024), maxSizeInKB));
+                    } else {
+                        tempAttachments.add(attachment);
+                        inputTextArea.setText(inputTextArea.getText() + "\n[" + Res.get("support.attachment") + " " + attachment.getFileName() + "]");
                     }
-                } catch (MalformedURLException e2) {
-                    e2.printStackTrace();
-                    log.error(e2.getMessage());
-                }
+                });
+                attachmentLoadTask.setOnFailed(event -> {
+                    Throwable throwable = attachmentLoadTask.getException();
+                    if (throwable instanceof AttachmentLoadTask.AttachmentTooLargeException) {
+                        long size = ((AttachmentLoadTask.AttachmentTooLargeException) throwable).getSize();
+                        if (size > maxMsgSize)
+                            showAttachmentWarning(Res.get("support.maxSize", maxSizeInKB));
+                        else
+                            showAttachmentWarning(Res.get("support.attachmentTooLarge", ((totalSize + size) / 1024), maxSizeInKB));
+                    } else {
+                        log.error("Loading attachment failed", throwable);
+                        showAttachmentWarning(throwable.toString());
+                    }
+                });
+                runAttachmentTask(attachmentLoadTask, Res.get("support.addAttachments"), "AttachmentLoadTask");
             }
         } else {
             new Popup<>().warning(Res.get("support.tooManyAttachments")).show();
         }
     }
 
+    private int getTempAttachmentsSize() {
+        return tempAttachments.stream().mapToInt(a -> a.getBytes().length).sum();
+    }
+
     private void onOpenAttachment(Attachment attachment) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle(Res.get("support.save"));
@@ -604,15 +624,37 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
             fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));*/
         File file = fileChooser.showSaveDialog(root.getScene().getWindow());
         if (file != null) {
-            try (FileOutputStream fileOutputStream = new FileOutputStream(file.getAbsolutePath())) {
-                fileOutputStream.write(attachment.getBytes());
-            } catch (IOException e) {
-                e.printStackTrace();
-                System.out.println(e.getMessage());
-            }
+            AttachmentSaveTask attachmentSaveTask = new AttachmentSaveTask(attachment, file);
+            attachmentSaveTask.setOnFailed(event -> {
+                Throwable throwable = attachmentSaveTask.getException();
+                log.error("Saving attachment failed", throwable);
+                showAttachmentWarning(throwable.toString());
+            });
+            runAttachmentTask(attachmentSaveTask, Res.get("support.save"), "AttachmentSaveTask");
         }
     }
 
+    // Files are read and written outside of the UserThread. The progress window only shows up if the task takes
+    // longer than PROGRESS_WINDOW_DELAY_MS, so small attachments don't cause a flickering window.
+    private void runAttachmentTask(Task<?> task, String headLine, String threadName) {
+        TaskProgressWindow progressWindow = new TaskProgressWindow(task).headLine(headLine);
+        Timer showProgressWindowTimer = UserThread.runAfter(progressWindow::show,
+                PROGRESS_WINDOW_DELAY_MS, TimeUnit.MILLISECONDS);
+        task.runningProperty().addListener((observable, oldValue, newValue) -> {
+            if (!newValue) {
+                showProgressWindowTimer.stop();
+                progressWindow.hide();
+            }
+        });
+        GUIUtil.runInBackground(task, threadName);
+    }
+
+    private void showAttachmentWarning(String message) {
+        // We wait until a progress window is hidden
+        UserThread.runAfter(() -> new Popup<>().warning(message).show(),
+                Transitions.DEFAULT_DURATION, TimeUnit.MILLISECONDS);
+    }
+
     private void removeListenersOnSelectDispute() {
         if (selectedDispute != null) {
             if (selectedDisputeClosedPropertyListener != null)
@@ -1214,7 +1256,7 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
         if (contract != null) {
             NodeAddress buyerNodeAddress = contract.getBuyerNodeAddress();
             if (buyerNodeAddress != null)
-                return buyerNodeAddress.getHostNameWithoutPostFix() + " (" + disputeManager.getNrOfDisputes(true, contract) + ")";
+                return buyerNodeAddress.getHostNameWithoutPostFix() + " (" + disputeIndex.getNumDisputesOfBuyer(contract) + ")";
             else
                 return Res.get("shared.na");
         } else {
@@ -1227,7 +1269,7 @@ public class TraderDisputeView extends ActivatableView<VBox, Void> {
         if (contract != null) {
             NodeAddress sellerNodeAddress = contract.getSellerNodeAddress();
             if (sellerNodeAddress != null)
-                return sellerNodeAddress.getHostNameWithoutPostFix() + " (" + disputeManager.getNrOfDisputes(false, contract) + ")";
+                return sellerNodeAddress.getHostNameWithoutPostFix() + " (" + disputeIndex.getNumDisputesOfSeller(contract) + ")";
             else
                 return Res.get("shared.na");
         } else {
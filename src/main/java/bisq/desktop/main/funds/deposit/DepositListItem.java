@@ -17,67 +17,64 @@
 
 package bisq.desktop.main.funds.deposit;
 
-import bisq.desktop.components.indicator.TxConfidenceIndicator;
-import bisq.desktop.util.GUIUtil;
+import bisq.desktop.components.TxConfidenceItem;
+import bisq.desktop.components.indicator.TxConfidenceInfo;
 
 import bisq.core.btc.AddressEntry;
-import bisq.core.btc.listeners.BalanceListener;
-import bisq.core.btc.listeners.TxConfidenceListener;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.locale.Res;
 import bisq.core.util.BSFormatter;
 
 import org.bitcoinj.core.Address;
 import org.bitcoinj.core.Coin;
-import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionConfidence;
 
-import javafx.scene.control.Tooltip;
-
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-class DepositListItem {
+import javax.annotation.Nullable;
+
+class DepositListItem implements TxConfidenceItem {
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
     private final StringProperty balance = new SimpleStringProperty();
     private final BtcWalletService walletService;
+    private final BSFormatter formatter;
+    private final Address address;
     private Coin balanceAsCoin;
-    private final TxConfidenceIndicator txConfidenceIndicator;
-    private final Tooltip tooltip;
+    private final ObjectProperty<TxConfidenceInfo> confidenceInfo = new SimpleObjectProperty<>(TxConfidenceInfo.NOT_USED);
     private final String addressString;
-    private String usage = "-";
-    private TxConfidenceListener txConfidenceListener;
-    private int numTxOutputs = 0;
+    private final StringProperty usage = new SimpleStringProperty("-");
+    private final IntegerProperty numTxOutputs = new SimpleIntegerProperty(0);
+    // Confidence of the latest tx of the address, updated by the wallet
+    @Nullable
+    private TransactionConfidence confidence;
 
     public DepositListItem(AddressEntry addressEntry, BtcWalletService walletService, BSFormatter formatter) {
         this.walletService = walletService;
+        this.formatter = formatter;
 
+        address = addressEntry.getAddress();
         addressString = addressEntry.getAddressString();
 
-        // confidence
-        txConfidenceIndicator = new TxConfidenceIndicator();
-        txConfidenceIndicator.setId("funds-confidence");
-        tooltip = new Tooltip(Res.get("shared.notUsedYet"));
-        txConfidenceIndicator.setProgress(0);
-        txConfidenceIndicator.setPrefHeight(30);
-        txConfidenceIndicator.setPrefWidth(30);
-        txConfidenceIndicator.setTooltip(tooltip);
-
-        final Address address = addressEntry.getAddress();
-        walletService.addBalanceListener(new BalanceListener(address) {
-            @Override
-            public void onBalanceChanged(Coin balanceAsCoin, Transaction tx) {
-                DepositListItem.this.balanceAsCoin = balanceAsCoin;
-                DepositListItem.this.balance.set(formatter.formatCoin(balanceAsCoin));
-                GUIUtil.updateConfidence(walletService.getConfidenceForTxId(tx.getHashAsString()), tooltip, txConfidenceIndicator);
-                updateUsage(address);
-            }
-        });
+        update();
+    }
 
+    /**
+     * Reads the balance, usage and confidence of the address from the wallet. Called by the view if a transaction
+     * changed the balance of the address.
+     */
+    void update() {
         balanceAsCoin = walletService.getBalanceForAddress(address);
         balance.set(formatter.formatCoin(balanceAsCoin));
 
@@ -85,39 +82,54 @@ class DepositListItem {
 
         TransactionConfidence confidence = walletService.getConfidenceForAddress(address);
         if (confidence != null) {
-            GUIUtil.updateConfidence(confidence, tooltip, txConfidenceIndicator);
-
-            txConfidenceListener = new TxConfidenceListener(confidence.getTransactionHash().toString()) {
-                @Override
-                public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
-                    GUIUtil.updateConfidence(confidence, tooltip, txConfidenceIndicator);
-                }
-            };
-            walletService.addTxConfidenceListener(txConfidenceListener);
+            this.confidence = confidence;
+            updateConfidence();
         }
     }
 
+    @Override
+    public void updateConfidence() {
+        if (confidence != null)
+            confidenceInfo.set(TxConfidenceInfo.from(confidence));
+    }
+
     private void updateUsage(Address address) {
-        numTxOutputs = walletService.getNumTxOutputsForAddress(address);
-        usage = numTxOutputs == 0 ? Res.get("funds.deposit.unused") : Res.get("funds.deposit.usedInTx", numTxOutputs);
+        int numTxOutputs = walletService.getNumTxOutputsForAddress(address);
+        this.numTxOutputs.set(numTxOutputs);
+        usage.set(numTxOutputs == 0 ? Res.get("funds.deposit.unused") : Res.get("funds.deposit.usedInTx", numTxOutputs));
+    }
+
+    @Override
+    @Nullable
+    public String getTxId() {
+        return confidence != null ? confidence.getTransactionHash().toString() : null;
+    }
+
+    @Override
+    public ReadOnlyObjectProperty<TxConfidenceInfo> confidenceInfoProperty() {
+        return confidenceInfo;
     }
 
-    public void cleanup() {
-        walletService.removeTxConfidenceListener(txConfidenceListener);
+    public TxConfidenceInfo getConfidenceInfo() {
+        return confidenceInfo.get();
     }
 
-    public TxConfidenceIndicator getTxConfidenceIndicator() {
-        return txConfidenceIndicator;
+    public double getConfidenceProgress() {
+        return TxConfidenceInfo.getProgress(confidence);
     }
 
     public String getAddressString() {
         return addressString;
     }
 
-    public String getUsage() {
+    public ReadOnlyStringProperty usageProperty() {
         return usage;
     }
 
+    public String getUsage() {
+        return usage.get();
+    }
+
     public final StringProperty balanceProperty() {
         return this.balance;
     }
@@ -130,7 +142,11 @@ class DepositListItem {
         return balanceAsCoin;
     }
 
-    public int getNumTxOutputs() {
+    public ReadOnlyIntegerProperty numTxOutputsProperty() {
         return numTxOutputs;
     }
+
+    public int getNumTxOutputs() {
+        return numTxOutputs.get();
+    }
 }
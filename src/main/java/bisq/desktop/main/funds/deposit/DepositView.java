@@ -25,14 +25,17 @@ import bisq.desktop.components.AutoTooltipLabel;
 import bisq.desktop.components.HyperlinkWithIcon;
 import bisq.desktop.components.InputTextField;
 import bisq.desktop.components.TitledGroupBg;
+import bisq.desktop.components.TxConfidenceTableCell;
 import bisq.desktop.main.overlays.popups.Popup;
 import bisq.desktop.main.overlays.windows.QRCodeWindow;
 import bisq.desktop.util.GUIUtil;
 import bisq.desktop.util.Layout;
+import bisq.desktop.util.TxConfidenceDispatcher;
 
 import bisq.core.btc.AddressEntry;
 import bisq.core.btc.listeners.BalanceListener;
 import bisq.core.btc.wallet.BtcWalletService;
+import bisq.core.btc.wallet.WalletService;
 import bisq.core.locale.Res;
 import bisq.core.provider.fee.FeeService;
 import bisq.core.user.Preferences;
@@ -44,6 +47,8 @@ import bisq.common.util.Tuple2;
 
 import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutput;
 
 import net.glxn.qrgen.QRCode;
 import net.glxn.qrgen.image.ImageType;
@@ -82,10 +87,23 @@ import javafx.util.Callback;
 
 import java.io.ByteArrayInputStream;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
 import static bisq.desktop.util.FormBuilder.addButton;
 import static bisq.desktop.util.FormBuilder.addLabelAddressTextField;
 import static bisq.desktop.util.FormBuilder.addLabelInputTextField;
@@ -111,9 +129,12 @@ public class DepositView extends ActivatableView<VBox, Void> {
     private final FeeService feeService;
     private final Preferences preferences;
     private final BSFormatter formatter;
+    private final TxConfidenceDispatcher txConfidenceDispatcher;
     private String paymentLabelString;
     private final ObservableList<DepositListItem> observableList = FXCollections.observableArrayList();
     private final SortedList<DepositListItem> sortedList = new SortedList<>(observableList);
+    private final Map<String, DepositListItem> itemsByAddressString = new HashMap<>();
+    private int numUnusedAddresses;
     private BalanceListener balanceListener;
     private Subscription amountTextFieldSubscription;
     private ChangeListener<DepositListItem> tableViewSelectionListener;
@@ -127,10 +148,12 @@ public class DepositView extends ActivatableView<VBox, Void> {
     private DepositView(BtcWalletService walletService,
                         FeeService feeService,
                         Preferences preferences,
+                        TxConfidenceDispatcher txConfidenceDispatcher,
                         BSFormatter formatter) {
         this.walletService = walletService;
         this.feeService = feeService;
         this.preferences = preferences;
+        this.txConfidenceDispatcher = txConfidenceDispatcher;
         this.formatter = formatter;
     }
 
@@ -163,8 +186,7 @@ public class DepositView extends ActivatableView<VBox, Void> {
 
         addressColumn.setComparator((o1, o2) -> o1.getAddressString().compareTo(o2.getAddressString()));
         balanceColumn.setComparator((o1, o2) -> o1.getBalanceAsCoin().compareTo(o2.getBalanceAsCoin()));
-        confirmationsColumn.setComparator((o1, o2) -> Double.valueOf(o1.getTxConfidenceIndicator().getProgress())
-                .compareTo(o2.getTxConfidenceIndicator().getProgress()));
+        confirmationsColumn.setComparator(Comparator.comparingDouble(DepositListItem::getConfidenceProgress));
         usageColumn.setComparator((a, b) -> (a.getNumTxOutputs() < b.getNumTxOutputs()) ? -1 : ((a.getNumTxOutputs() == b.getNumTxOutputs()) ? 0 : 1));
         tableView.getSortOrder().add(usageColumn);
         tableView.setItems(sortedList);
@@ -213,23 +235,21 @@ public class DepositView extends ActivatableView<VBox, Void> {
         GridPane.setHalignment(generateNewAddressButton, HPos.LEFT);
 
         generateNewAddressButton.setOnAction(event -> {
-            boolean hasUnUsedAddress = observableList.stream().filter(e -> e.getNumTxOutputs() == 0).findAny().isPresent();
-            if (hasUnUsedAddress) {
+            if (numUnusedAddresses > 0) {
                 new Popup<>().warning(Res.get("funds.deposit.selectUnused")).show();
             } else {
                 AddressEntry newSavingsAddressEntry = walletService.getFreshAddressEntry();
                 updateList();
-                observableList.stream()
-                        .filter(depositListItem -> depositListItem.getAddressString().equals(newSavingsAddressEntry.getAddressString()))
-                        .findAny()
-                        .ifPresent(depositListItem -> tableView.getSelectionModel().select(depositListItem));
+                DepositListItem depositListItem = itemsByAddressString.get(newSavingsAddressEntry.getAddressString());
+                if (depositListItem != null)
+                    tableView.getSelectionModel().select(depositListItem);
             }
         });
 
         balanceListener = new BalanceListener() {
             @Override
             public void onBalanceChanged(Coin balance, Transaction tx) {
-                updateList();
+                onTransactionChanged(tx);
             }
         };
 
@@ -257,7 +277,9 @@ public class DepositView extends ActivatableView<VBox, Void> {
     protected void deactivate() {
         tableView.getSelectionModel().selectedItemProperty().removeListener(tableViewSelectionListener);
         sortedList.comparatorProperty().unbind();
-        observableList.forEach(DepositListItem::cleanup);
+        itemsByAddressString.clear();
+        observableList.clear();
+        numUnusedAddresses = 0;
         walletService.removeBalanceListener(balanceListener);
         amountTextFieldSubscription.unsubscribe();
     }
@@ -309,11 +331,86 @@ public class DepositView extends ActivatableView<VBox, Void> {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // Creates the items of new address entries and removes the items of entries which are not available anymore.
+    // Existing items are kept.
     private void updateList() {
-        observableList.forEach(DepositListItem::cleanup);
-        observableList.clear();
-        walletService.getAvailableAddressEntries().stream()
-                .forEach(e -> observableList.add(new DepositListItem(e, walletService, formatter)));
+        Set<String> addressStrings = new HashSet<>();
+        List<DepositListItem> addedItems = new ArrayList<>();
+        for (AddressEntry addressEntry : walletService.getAvailableAddressEntries()) {
+            String addressString = addressEntry.getAddressString();
+            addressStrings.add(addressString);
+            if (!itemsByAddressString.containsKey(addressString)) {
+                DepositListItem item = new DepositListItem(addressEntry, walletService, formatter);
+                itemsByAddressString.put(addressString, item);
+                addedItems.add(item);
+                if (item.getNumTxOutputs() == 0)
+                    numUnusedAddresses++;
+            }
+        }
+
+        Set<DepositListItem> removedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        Iterator<Map.Entry<String, DepositListItem>> iterator = itemsByAddressString.entrySet().iterator();
+        while (iterator.hasNext()) {
+            DepositListItem item = iterator.next().getValue();
+            if (!addressStrings.contains(item.getAddressString())) {
+                removedItems.add(item);
+                if (item.getNumTxOutputs() == 0)
+                    numUnusedAddresses--;
+                iterator.remove();
+            }
+        }
+
+        if (!removedItems.isEmpty())
+            observableList.removeAll(removedItems);
+        if (!addedItems.isEmpty())
+            observableList.addAll(addedItems);
+    }
+
+    // Only the items of the addresses used in the inputs and outputs of the transaction get updated. The cells are
+    // bound to the items, so we don't need to refresh the table.
+    private void onTransactionChanged(@Nullable Transaction tx) {
+        Collection<DepositListItem> affectedItems = tx != null ?
+                getItemsOfTransaction(tx) :
+                new ArrayList<>(itemsByAddressString.values());
+        affectedItems.forEach(item -> {
+            if (item.getNumTxOutputs() == 0)
+                numUnusedAddresses--;
+            item.update();
+            if (item.getNumTxOutputs() == 0)
+                numUnusedAddresses++;
+        });
+
+        // The address entries only change if a new address was generated, which updates the list itself, or
+        // if we got funds at an address we have no item for yet
+        if (tx == null || fundsUnknownAddress(tx))
+            updateList();
+    }
+
+    private boolean fundsUnknownAddress(Transaction tx) {
+        for (TransactionOutput output : tx.getOutputs()) {
+            if (WalletService.isOutputScriptConvertibleToAddress(output) &&
+                    !itemsByAddressString.containsKey(WalletService.getAddressStringFromOutput(output)) &&
+                    walletService.isTransactionOutputMine(output))
+                return true;
+        }
+        return false;
+    }
+
+    private Collection<DepositListItem> getItemsOfTransaction(Transaction tx) {
+        Set<DepositListItem> items = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TransactionOutput output : tx.getOutputs())
+            addItemOfOutput(output, items);
+        for (TransactionInput input : tx.getInputs())
+            addItemOfOutput(input.getConnectedOutput(), items);
+        return items;
+    }
+
+    private void addItemOfOutput(@Nullable TransactionOutput output, Set<DepositListItem> items) {
+        if (output != null && WalletService.isOutputScriptConvertibleToAddress(output)) {
+            DepositListItem item = itemsByAddressString.get(WalletService.getAddressStringFromOutput(output));
+            if (item != null)
+                items.add(item);
+        }
     }
 
     private Coin getAmountAsCoin() {
@@ -340,13 +437,19 @@ public class DepositView extends ActivatableView<VBox, Void> {
             public TableCell<DepositListItem, DepositListItem> call(TableColumn<DepositListItem,
                     DepositListItem> column) {
                 return new TableCell<DepositListItem, DepositListItem>() {
+                    private AutoTooltipLabel label;
 
                     @Override
                     public void updateItem(final DepositListItem item, boolean empty) {
                         super.updateItem(item, empty);
                         if (item != null && !empty) {
-                            setGraphic(new AutoTooltipLabel(item.getUsage()));
+                            if (label == null)
+                                label = new AutoTooltipLabel();
+                            label.textProperty().bind(item.usageProperty());
+                            setGraphic(label);
                         } else {
+                            if (label != null)
+                                label.textProperty().unbind();
                             setGraphic(null);
                         }
                     }
@@ -466,19 +569,7 @@ public class DepositView extends ActivatableView<VBox, Void> {
                     @Override
                     public TableCell<DepositListItem, DepositListItem> call(TableColumn<DepositListItem,
                             DepositListItem> column) {
-                        return new TableCell<DepositListItem, DepositListItem>() {
-
-                            @Override
-                            public void updateItem(final DepositListItem item, boolean empty) {
-                                super.updateItem(item, empty);
-
-                                if (item != null && !empty) {
-                                    setGraphic(item.getTxConfidenceIndicator());
-                                } else {
-                                    setGraphic(null);
-                                }
-                            }
-                        };
+                        return new TxConfidenceTableCell<>(txConfidenceDispatcher, walletService);
                     }
                 });
     }
@@ -20,17 +20,33 @@ package bisq.desktop.main.funds.transactions;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.trade.Tradable;
 
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
 import org.bitcoinj.core.Transaction;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 class DisplayedTransactions extends ObservableListDecorator<TransactionsListItem> {
+    // A new block triggers several wallet events in a row, we handle those with one update
+    private static final long UPDATE_DELAY_MS = 100;
+
     private final BtcWalletService btcWalletService;
     private final TradableRepository tradableRepository;
     private final TransactionListItemFactory transactionListItemFactory;
     private final TransactionAwareTradableFactory transactionAwareTradableFactory;
+    private final Map<String, TransactionsListItem> itemsByTxId = new HashMap<>();
+    private Timer updateTimer;
 
     DisplayedTransactions(BtcWalletService btcWalletService, TradableRepository tradableRepository,
                           TransactionListItemFactory transactionListItemFactory,
@@ -41,29 +57,80 @@ class DisplayedTransactions extends ObservableListDecorator<TransactionsListItem
         this.transactionAwareTradableFactory = transactionAwareTradableFactory;
     }
 
-    void update() {
-        List<TransactionsListItem> transactionsListItems = getTransactionListItems();
-        // are sorted by getRecentTransactions
-        forEach(TransactionsListItem::cleanup);
-        setAll(transactionsListItems);
+    /**
+     * Updates the list after a short delay. Multiple requests within the delay lead to a single update.
+     */
+    void requestUpdate() {
+        if (updateTimer == null)
+            updateTimer = UserThread.runAfter(this::update, UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
     }
 
-    private List<TransactionsListItem> getTransactionListItems() {
+    /**
+     * Compares the transactions of the wallet with the displayed items. Only items of new or changed transactions
+     * are created, items of unchanged transactions are kept with their confidence indicators and listeners.
+     */
+    void update() {
+        stopUpdateTimer();
+
         Set<Transaction> transactions = btcWalletService.getTransactions(false);
-        return transactions.stream()
-                .map(this::convertTransactionToListItem)
-                .collect(Collectors.toList());
+        TransactionAwareTradableIndex index = createTradableIndex();
+
+        Set<String> txIds = new HashSet<>();
+        Set<TransactionsListItem> removedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TransactionsListItem> addedItems = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            String txId = transaction.getHashAsString();
+            txIds.add(txId);
+            TransactionAwareTradable maybeTradable = index.get(txId);
+            Tradable tradable = maybeTradable != null ? maybeTradable.asTradable() : null;
+
+            TransactionsListItem item = itemsByTxId.get(txId);
+            if (item == null || !item.isUpToDate(transaction, tradable)) {
+                if (item != null)
+                    removedItems.add(item);
+                TransactionsListItem newItem = transactionListItemFactory.create(transaction, maybeTradable);
+                itemsByTxId.put(txId, newItem);
+                addedItems.add(newItem);
+            }
+        }
+
+        Iterator<Map.Entry<String, TransactionsListItem>> iterator = itemsByTxId.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, TransactionsListItem> entry = iterator.next();
+            if (!txIds.contains(entry.getKey())) {
+                removedItems.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        if (!removedItems.isEmpty())
+            removeAll(removedItems);
+        if (!addedItems.isEmpty())
+            addAll(addedItems);
     }
 
-    private TransactionsListItem convertTransactionToListItem(Transaction transaction) {
-        Set<Tradable> tradables = tradableRepository.getAll();
+    /**
+     * Stops a pending update and clears the list. The items get created again at the next update.
+     */
+    void cleanup() {
+        stopUpdateTimer();
+        itemsByTxId.clear();
+        setAll(Collections.emptyList());
+    }
 
-        TransactionAwareTradable maybeTradable = tradables.stream()
-                .map(transactionAwareTradableFactory::create)
-                .filter(tradable -> tradable.isRelatedToTransaction(transaction))
-                .findAny()
-                .orElse(null);
+    private void stopUpdateTimer() {
+        if (updateTimer != null) {
+            updateTimer.stop();
+            updateTimer = null;
+        }
+    }
 
-        return transactionListItemFactory.create(transaction, maybeTradable);
+    // Trades get their transactions assigned while the trade protocol proceeds, so we build the index once for each
+    // update instead of probing all tradables for each transaction
+    private TransactionAwareTradableIndex createTradableIndex() {
+        List<TransactionAwareTradable> transactionAwareTradables = tradableRepository.getAll().stream()
+                .map(transactionAwareTradableFactory::create)
+                .collect(Collectors.toList());
+        return new TransactionAwareTradableIndex(transactionAwareTradables, transactionAwareTradableFactory.getDisputes());
     }
 }
@@ -21,6 +21,9 @@ import bisq.core.trade.Tradable;
 
 import org.bitcoinj.core.Transaction;
 
+import java.util.Collections;
+import java.util.Set;
+
 class DummyTransactionAwareTradable implements TransactionAwareTradable {
     private final Tradable delegate;
 
@@ -33,6 +36,11 @@ class DummyTransactionAwareTradable implements TransactionAwareTradable {
         return false;
     }
 
+    @Override
+    public Set<String> getTransactionIds() {
+        return Collections.emptySet();
+    }
+
     @Override
     public Tradable asTradable() {
         return delegate;
@@ -35,6 +35,16 @@ class ObservableListDecorator<T> extends AbstractList<T> {
         delegate.setAll(elements);
     }
 
+    @Override
+    public boolean addAll(Collection<? extends T> elements) {
+        return delegate.addAll(elements);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+        return delegate.removeAll(elements);
+    }
+
     @Override
     public T get(int index) {
         return delegate.get(index);
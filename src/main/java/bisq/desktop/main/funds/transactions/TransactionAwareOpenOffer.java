@@ -23,6 +23,9 @@ import bisq.core.trade.Tradable;
 
 import org.bitcoinj.core.Transaction;
 
+import java.util.Collections;
+import java.util.Set;
+
 class TransactionAwareOpenOffer implements TransactionAwareTradable {
     private final OpenOffer delegate;
 
@@ -39,6 +42,10 @@ class TransactionAwareOpenOffer implements TransactionAwareTradable {
         return paymentTxId.equals(txId);
     }
 
+    public Set<String> getTransactionIds() {
+        return Collections.singleton(delegate.getOffer().getOfferFeePaymentTxId());
+    }
+
     public Tradable asTradable() {
         return delegate;
     }
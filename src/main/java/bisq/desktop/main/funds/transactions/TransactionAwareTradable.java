@@ -21,8 +21,13 @@ import bisq.core.trade.Tradable;
 
 import org.bitcoinj.core.Transaction;
 
+import java.util.Set;
+
 interface TransactionAwareTradable {
     boolean isRelatedToTransaction(Transaction transaction);
 
+    // IDs of the transactions of the tradable itself, dispute payouts are looked up by the TransactionAwareTradableIndex
+    Set<String> getTransactionIds();
+
     Tradable asTradable();
 }
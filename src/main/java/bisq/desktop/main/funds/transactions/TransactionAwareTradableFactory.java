@@ -17,6 +17,7 @@
 
 package bisq.desktop.main.funds.transactions;
 
+import bisq.core.arbitration.Dispute;
 import bisq.core.arbitration.DisputeManager;
 import bisq.core.offer.OpenOffer;
 import bisq.core.trade.Tradable;
@@ -24,6 +25,8 @@ import bisq.core.trade.Trade;
 
 import javax.inject.Inject;
 
+import java.util.List;
+
 public class TransactionAwareTradableFactory {
     private final DisputeManager disputeManager;
 
@@ -41,4 +44,8 @@ public class TransactionAwareTradableFactory {
             return new DummyTransactionAwareTradable(delegate);
         }
     }
+
+    List<Dispute> getDisputes() {
+        return disputeManager.getDisputesAsObservableList();
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.funds.transactions;
+
+import bisq.core.arbitration.Dispute;
+import bisq.core.trade.Trade;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Maps the IDs of the offer fee, taker fee, deposit, payout and dispute payout transactions to the tradable they
+ * belong to. If multiple tradables are related to the same transaction the first one wins.
+ */
+class TransactionAwareTradableIndex {
+    private final Map<String, TransactionAwareTradable> tradableByTxId = new HashMap<>();
+
+    TransactionAwareTradableIndex(Collection<TransactionAwareTradable> tradables, Collection<Dispute> disputes) {
+        Map<String, TransactionAwareTradable> tradeById = new HashMap<>();
+        for (TransactionAwareTradable tradable : tradables) {
+            tradable.getTransactionIds().forEach(txId -> tradableByTxId.putIfAbsent(txId, tradable));
+            if (tradable.asTradable() instanceof Trade)
+                tradeById.putIfAbsent(((Trade) tradable.asTradable()).getId(), tradable);
+        }
+
+        for (Dispute dispute : disputes) {
+            String disputePayoutTxId = dispute.getDisputePayoutTxId();
+            TransactionAwareTradable trade = tradeById.get(dispute.getTradeId());
+            if (disputePayoutTxId != null && trade != null)
+                tradableByTxId.putIfAbsent(disputePayoutTxId, trade);
+        }
+    }
+
+    @Nullable
+    TransactionAwareTradable get(String txId) {
+        return tradableByTxId.get(txId);
+    }
+}
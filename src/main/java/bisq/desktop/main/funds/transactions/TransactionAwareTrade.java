@@ -27,7 +27,9 @@ import org.bitcoinj.core.Transaction;
 
 import javafx.collections.ObservableList;
 
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 class TransactionAwareTrade implements TransactionAwareTradable {
     private final Trade delegate;
@@ -51,6 +53,22 @@ class TransactionAwareTrade implements TransactionAwareTradable {
         return isTakerOfferFeeTx || isOfferFeeTx || isDepositTx || isPayoutTx || isDisputedPayoutTx;
     }
 
+    @Override
+    public Set<String> getTransactionIds() {
+        Set<String> txIds = new HashSet<>();
+        Optional.ofNullable(delegate.getTakerFeeTxId()).ifPresent(txIds::add);
+        Optional.ofNullable(delegate.getOffer())
+                .map(Offer::getOfferFeePaymentTxId)
+                .ifPresent(txIds::add);
+        Optional.ofNullable(delegate.getDepositTx())
+                .map(Transaction::getHashAsString)
+                .ifPresent(txIds::add);
+        Optional.ofNullable(delegate.getPayoutTx())
+                .map(Transaction::getHashAsString)
+                .ifPresent(txIds::add);
+        return txIds;
+    }
+
     private boolean isPayoutTx(String txId) {
         return Optional.ofNullable(delegate.getPayoutTx())
                 .map(Transaction::getHashAsString)
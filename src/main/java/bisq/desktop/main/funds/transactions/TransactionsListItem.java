@@ -17,11 +17,10 @@
 
 package bisq.desktop.main.funds.transactions;
 
-import bisq.desktop.components.indicator.TxConfidenceIndicator;
-import bisq.desktop.util.GUIUtil;
+import bisq.desktop.components.TxConfidenceItem;
+import bisq.desktop.components.indicator.TxConfidenceInfo;
 
 import bisq.core.app.BisqEnvironment;
-import bisq.core.btc.listeners.TxConfidenceListener;
 import bisq.core.btc.wallet.BsqWalletService;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.btc.wallet.WalletService;
@@ -39,9 +38,14 @@ import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionConfidence;
 import org.bitcoinj.core.TransactionOutput;
 
-import javafx.scene.control.Tooltip;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import lombok.extern.slf4j.Slf4j;
@@ -49,34 +53,28 @@ import lombok.extern.slf4j.Slf4j;
 import javax.annotation.Nullable;
 
 @Slf4j
-class TransactionsListItem {
+class TransactionsListItem implements TxConfidenceItem {
     private final BtcWalletService btcWalletService;
     private final BSFormatter formatter;
     private String dateString;
     private final Date date;
     private final String txId;
-    private final TxConfidenceIndicator txConfidenceIndicator;
-    private final Tooltip tooltip;
+    private final ObjectProperty<TxConfidenceInfo> confidenceInfo = new SimpleObjectProperty<>(TxConfidenceInfo.NOT_USED);
+    // Updated by the wallet, so we can read the current state without listening to it
+    private final TransactionConfidence confidence;
+    private boolean confidenceIndicatorVisible = true;
     @Nullable
     private Tradable tradable;
+    @Nullable
+    private final List<Object> tradeState;
     private String details = "";
     private String addressString = "";
     private String direction = "";
-    private TxConfidenceListener txConfidenceListener;
     private boolean received;
     private boolean detailsAvailable;
     private Coin amountAsCoin = Coin.ZERO;
-    private int confirmations = 0;
-
-    // used at exportCSV
-    TransactionsListItem() {
-        date = null;
-        btcWalletService = null;
-        txConfidenceIndicator = null;
-        tooltip = null;
-        txId = null;
-        formatter = null;
-    }
+    private Coin valueSentToMe = Coin.ZERO;
+    private Coin valueSentFromMe = Coin.ZERO;
 
     TransactionsListItem(Transaction transaction,
                          BtcWalletService btcWalletService,
@@ -89,8 +87,8 @@ class TransactionsListItem {
 
         txId = transaction.getHashAsString();
 
-        Coin valueSentToMe = btcWalletService.getValueSentToMeForTransaction(transaction);
-        Coin valueSentFromMe = btcWalletService.getValueSentFromMeForTransaction(transaction);
+        valueSentToMe = btcWalletService.getValueSentToMeForTransaction(transaction);
+        valueSentFromMe = btcWalletService.getValueSentFromMeForTransaction(transaction);
 
         // TODO check and refactor
         boolean txFeeForBsqPayment = false;
@@ -157,27 +155,11 @@ class TransactionsListItem {
         }
 
         // confidence
-        txConfidenceIndicator = new TxConfidenceIndicator();
-        txConfidenceIndicator.setId("funds-confidence");
-        tooltip = new Tooltip(Res.get("shared.notUsedYet"));
-        txConfidenceIndicator.setProgress(0);
-        txConfidenceIndicator.setPrefHeight(30);
-        txConfidenceIndicator.setPrefWidth(30);
-        txConfidenceIndicator.setTooltip(tooltip);
-
-        txConfidenceListener = new TxConfidenceListener(txId) {
-            @Override
-            public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
-                GUIUtil.updateConfidence(confidence, tooltip, txConfidenceIndicator);
-                confirmations = confidence.getDepthInBlocks();
-            }
-        };
-        btcWalletService.addTxConfidenceListener(txConfidenceListener);
-        TransactionConfidence confidence = transaction.getConfidence();
-        GUIUtil.updateConfidence(confidence, tooltip, txConfidenceIndicator);
-        confirmations = confidence.getDepthInBlocks();
+        confidence = transaction.getConfidence();
+        updateConfidence();
 
 
+        tradeState = getTradeState(tradableOptional.orElse(null));
         if (tradableOptional.isPresent()) {
             tradable = tradableOptional.get();
             detailsAvailable = true;
@@ -204,7 +186,7 @@ class TransactionsListItem {
                             details = Res.get("funds.tx.disputePayout", id);
                         } else {
                             details = Res.get("funds.tx.disputeLost", id);
-                            txConfidenceIndicator.setVisible(false);
+                            confidenceIndicatorVisible = false;
                         }
                     } else {
                         details = Res.get("funds.tx.unknown", id);
@@ -224,13 +206,53 @@ class TransactionsListItem {
         dateString = formatter.formatDateTime(date);
     }
 
-    public void cleanup() {
-        btcWalletService.removeTxConfidenceListener(txConfidenceListener);
+    @Override
+    public void updateConfidence() {
+        confidenceInfo.set(TxConfidenceInfo.from(confidence));
+    }
+
+    // The confidence is read from the wallet, all other data only changes if the wallet, the tradable or the state of
+    // the trade changes
+    boolean isUpToDate(Transaction transaction, @Nullable Tradable tradable) {
+        return this.tradable == tradable &&
+                Objects.equals(tradeState, getTradeState(tradable)) &&
+                Objects.equals(date, transaction.getUpdateTime()) &&
+                valueSentToMe.equals(btcWalletService.getValueSentToMeForTransaction(transaction)) &&
+                valueSentFromMe.equals(btcWalletService.getValueSentFromMeForTransaction(transaction));
+    }
+
+    // The state of the trade the details depend on
+    @Nullable
+    private static List<Object> getTradeState(@Nullable Tradable tradable) {
+        if (!(tradable instanceof Trade))
+            return null;
+
+        Trade trade = (Trade) tradable;
+        Transaction depositTx = trade.getDepositTx();
+        Transaction payoutTx = trade.getPayoutTx();
+        return Arrays.asList(trade.getTakerFeeTxId(),
+                trade.getOffer().getOfferFeePaymentTxId(),
+                depositTx != null ? depositTx.getHashAsString() : null,
+                payoutTx != null ? payoutTx.getHashAsString() : null,
+                trade.getDisputeState());
+    }
+
+
+    @Override
+    public ReadOnlyObjectProperty<TxConfidenceInfo> confidenceInfoProperty() {
+        return confidenceInfo;
     }
 
+    public TxConfidenceInfo getConfidenceInfo() {
+        return confidenceInfo.get();
+    }
+
+    public double getConfidenceProgress() {
+        return TxConfidenceInfo.getProgress(confidence);
+    }
 
-    public TxConfidenceIndicator getTxConfidenceIndicator() {
-        return txConfidenceIndicator;
+    public boolean isConfidenceIndicatorVisible() {
+        return confidenceIndicatorVisible;
     }
 
     public final String getDateString() {
@@ -255,6 +277,7 @@ class TransactionsListItem {
         return direction;
     }
 
+    @Override
     public String getTxId() {
         return txId;
     }
@@ -281,7 +304,7 @@ class TransactionsListItem {
     }
 
     public String getNumConfirmations() {
-        return String.valueOf(confirmations);
+        return String.valueOf(confidence.getDepthInBlocks());
     }
 }
 
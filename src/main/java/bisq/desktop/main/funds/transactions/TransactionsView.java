@@ -23,10 +23,13 @@ import bisq.desktop.components.AddressWithIconAndDirection;
 import bisq.desktop.components.AutoTooltipButton;
 import bisq.desktop.components.AutoTooltipLabel;
 import bisq.desktop.components.HyperlinkWithIcon;
+import bisq.desktop.components.TxConfidenceTableCell;
 import bisq.desktop.main.overlays.popups.Popup;
 import bisq.desktop.main.overlays.windows.OfferDetailsWindow;
 import bisq.desktop.main.overlays.windows.TradeDetailsWindow;
+import bisq.desktop.util.CsvExportTask;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.TxConfidenceDispatcher;
 
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.btc.wallet.WalletsSetup;
@@ -51,8 +54,6 @@ import org.bitcoinj.script.Script;
 import org.bitcoinj.wallet.Wallet;
 import org.bitcoinj.wallet.listeners.WalletEventListener;
 
-import com.googlecode.jcsv.writer.CSVEntryConverter;
-
 import javax.inject.Inject;
 
 import de.jensd.fx.fontawesome.AwesomeIcon;
@@ -113,6 +114,7 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
     private final Preferences preferences;
     private final TradeDetailsWindow tradeDetailsWindow;
     private final OfferDetailsWindow offerDetailsWindow;
+    private final TxConfidenceDispatcher txConfidenceDispatcher;
     @SuppressWarnings("deprecation")
     private WalletEventListener walletEventListener;
     private EventHandler<KeyEvent> keyEventEventHandler;
@@ -130,7 +132,8 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
                              Preferences preferences,
                              TradeDetailsWindow tradeDetailsWindow,
                              OfferDetailsWindow offerDetailsWindow,
-                             DisplayedTransactionsFactory displayedTransactionsFactory) {
+                             DisplayedTransactionsFactory displayedTransactionsFactory,
+                             TxConfidenceDispatcher txConfidenceDispatcher) {
         this.btcWalletService = btcWalletService;
         this.p2PService = p2PService;
         this.walletsSetup = walletsSetup;
@@ -138,6 +141,7 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
         this.preferences = preferences;
         this.tradeDetailsWindow = tradeDetailsWindow;
         this.offerDetailsWindow = offerDetailsWindow;
+        this.txConfidenceDispatcher = txConfidenceDispatcher;
         this.displayedTransactions = displayedTransactionsFactory.create();
         this.sortedDisplayedTransactions = displayedTransactions.asSortedList();
     }
@@ -172,7 +176,7 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
         addressColumn.setComparator(Comparator.comparing(TransactionsListItem::getAddressString));
         transactionColumn.setComparator(Comparator.comparing(TransactionsListItem::getTxId));
         amountColumn.setComparator(Comparator.comparing(TransactionsListItem::getAmountAsCoin));
-        confidenceColumn.setComparator(Comparator.comparingDouble(item -> item.getTxConfidenceIndicator().getProgress()));
+        confidenceColumn.setComparator(Comparator.comparingDouble(TransactionsListItem::getConfidenceProgress));
 
         dateColumn.setSortType(TableColumn.SortType.DESCENDING);
         tableView.getSortOrder().add(dateColumn);
@@ -181,17 +185,17 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
         walletEventListener = new WalletEventListener() {
             @Override
             public void onCoinsReceived(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
-                displayedTransactions.update();
+                displayedTransactions.requestUpdate();
             }
 
             @Override
             public void onCoinsSent(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
-                displayedTransactions.update();
+                displayedTransactions.requestUpdate();
             }
 
             @Override
             public void onReorganize(Wallet wallet) {
-                displayedTransactions.update();
+                displayedTransactions.requestUpdate();
             }
 
             @Override
@@ -200,17 +204,17 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
 
             @Override
             public void onWalletChanged(Wallet wallet) {
-                displayedTransactions.update();
+                displayedTransactions.requestUpdate();
             }
 
             @Override
             public void onScriptsChanged(Wallet wallet, List<Script> scripts, boolean isAddingScripts) {
-                displayedTransactions.update();
+                displayedTransactions.requestUpdate();
             }
 
             @Override
             public void onKeysAdded(List<ECKey> keys) {
-                displayedTransactions.update();
+                displayedTransactions.requestUpdate();
             }
         };
 
@@ -238,33 +242,24 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
 
         exportButton.setOnAction(event -> {
             final ObservableList<TableColumn<TransactionsListItem, ?>> tableColumns = tableView.getColumns();
-            CSVEntryConverter<TransactionsListItem> headerConverter = transactionsListItem -> {
-                String[] columns = new String[6];
-                for (int i = 0; i < columns.length; i++)
-                    columns[i] = tableColumns.get(i).getText();
-
-                return columns;
-            };
-            CSVEntryConverter<TransactionsListItem> contentConverter = item -> {
-                String[] columns = new String[6];
-                columns[0] = item.getDateString();
-                columns[1] = item.getDetails();
-                columns[2] = item.getDirection() + " " + item.getAddressString();
-                columns[3] = item.getTxId();
-                columns[4] = item.getAmount();
-                columns[5] = item.getNumConfirmations();
-                return columns;
-            };
-
-            GUIUtil.exportCSV("transactions.csv", headerConverter, contentConverter,
-                    new TransactionsListItem(), sortedDisplayedTransactions, (Stage) root.getScene().getWindow());
+            List<CsvExportTask.Column<TransactionsListItem>> columns = new ArrayList<>();
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(0).getText(), TransactionsListItem::getDateString));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(1).getText(), TransactionsListItem::getDetails));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(2).getText(),
+                    item -> item.getDirection() + " " + item.getAddressString()));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(3).getText(), TransactionsListItem::getTxId));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(4).getText(), TransactionsListItem::getAmount));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(5).getText(), TransactionsListItem::getNumConfirmations));
+
+            GUIUtil.exportCSV("transactions.csv", columns, sortedDisplayedTransactions,
+                    (Stage) root.getScene().getWindow());
         });
     }
 
     @Override
     protected void deactivate() {
         sortedDisplayedTransactions.comparatorProperty().unbind();
-        displayedTransactions.forEach(TransactionsListItem::cleanup);
+        displayedTransactions.cleanup();
         btcWalletService.removeEventListener(walletEventListener);
 
         if (scene != null)
@@ -468,19 +463,8 @@ public class TransactionsView extends ActivatableView<VBox, Void> {
                     @Override
                     public TableCell<TransactionsListItem, TransactionsListItem> call(TableColumn<TransactionsListItem,
                             TransactionsListItem> column) {
-                        return new TableCell<TransactionsListItem, TransactionsListItem>() {
-
-                            @Override
-                            public void updateItem(final TransactionsListItem item, boolean empty) {
-                                super.updateItem(item, empty);
-
-                                if (item != null && !empty) {
-                                    setGraphic(item.getTxConfidenceIndicator());
-                                } else {
-                                    setGraphic(null);
-                                }
-                            }
-                        };
+                        return new TxConfidenceTableCell<>(txConfidenceDispatcher, btcWalletService,
+                                TransactionsListItem::isConfidenceIndicatorVisible);
                     }
                 });
     }
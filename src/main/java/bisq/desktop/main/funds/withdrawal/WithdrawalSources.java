@@ -0,0 +1,108 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.funds.withdrawal;
+
+import org.bitcoinj.core.Coin;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The addresses available for a withdrawal and the ones selected by the user. Keeps running totals of the available
+ * and the selected balance, so selecting or deselecting an address doesn't iterate over all addresses.
+ * The balance of an item is taken when the item is added, the view sets the items again if a balance changes.
+ */
+class WithdrawalSources {
+    // Selected items with their balance at the time they were added, in order of selection
+    private final Map<WithdrawalListItem, Long> selectedBalances = new LinkedHashMap<>();
+    private final Map<WithdrawalListItem, Long> balances = new LinkedHashMap<>();
+    private long availableBalance;
+    private long selectedBalance;
+
+    /**
+     * Replaces the available items and clears the selection.
+     */
+    void setItems(Collection<WithdrawalListItem> items) {
+        balances.clear();
+        availableBalance = 0;
+        for (WithdrawalListItem item : items) {
+            long balance = getBalance(item);
+            balances.put(item, balance);
+            availableBalance += balance;
+        }
+        clearSelection();
+    }
+
+    void setSelected(WithdrawalListItem item, boolean selected) {
+        Long balance = balances.get(item);
+        if (balance == null)
+            return;
+
+        if (selected) {
+            if (selectedBalances.put(item, balance) == null)
+                selectedBalance += balance;
+        } else {
+            if (selectedBalances.remove(item) != null)
+                selectedBalance -= balance;
+        }
+    }
+
+    void setAllSelected(boolean selected) {
+        clearSelection();
+        if (selected) {
+            selectedBalances.putAll(balances);
+            selectedBalance = availableBalance;
+        }
+    }
+
+    void clearSelection() {
+        selectedBalances.clear();
+        selectedBalance = 0;
+    }
+
+    Coin getAvailableBalance() {
+        return Coin.valueOf(availableBalance);
+    }
+
+    Coin getSelectedBalance() {
+        return Coin.valueOf(selectedBalance);
+    }
+
+    int getNumSelected() {
+        return selectedBalances.size();
+    }
+
+    Set<WithdrawalListItem> getSelectedItems() {
+        return Collections.unmodifiableSet(selectedBalances.keySet());
+    }
+
+    Set<String> getSelectedAddresses() {
+        return selectedBalances.keySet().stream()
+                .map(WithdrawalListItem::getAddressString)
+                .collect(Collectors.toSet());
+    }
+
+    private static long getBalance(WithdrawalListItem item) {
+        Coin balance = item.getBalance();
+        return balance != null ? balance.value : 0;
+    }
+}
@@ -34,6 +34,7 @@ import bisq.core.btc.listeners.BalanceListener;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.btc.wallet.WalletsSetup;
 import bisq.core.locale.Res;
+import bisq.core.provider.fee.FeeService;
 import bisq.core.trade.Tradable;
 import bisq.core.trade.Trade;
 import bisq.core.trade.TradeManager;
@@ -46,6 +47,7 @@ import bisq.core.util.validation.BtcAddressValidator;
 
 import bisq.network.p2p.P2PService;
 
+import bisq.common.Timer;
 import bisq.common.UserThread;
 
 import org.bitcoinj.core.AddressFormatException;
@@ -92,19 +94,24 @@ import javafx.util.Callback;
 import org.spongycastle.crypto.params.KeyParameter;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import lombok.Value;
+
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @FxmlView
 public class WithdrawalView extends ActivatableView<VBox, Void> {
+    // The fee estimation creates a tx spending the selected addresses, we only start it after the input has settled
+    private static final long FEE_ESTIMATION_DELAY_MS = 500;
 
     @FXML
     Label inputsLabel, amountLabel, fromLabel, toLabel;
@@ -128,13 +135,12 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
     private final BSFormatter formatter;
     private final Preferences preferences;
     private final BtcAddressValidator btcAddressValidator;
+    private final FeeService feeService;
     private final WalletPasswordWindow walletPasswordWindow;
     private final ObservableList<WithdrawalListItem> observableList = FXCollections.observableArrayList();
     private final SortedList<WithdrawalListItem> sortedList = new SortedList<>(observableList);
-    private Set<WithdrawalListItem> selectedItems = new HashSet<>();
+    private final WithdrawalSources withdrawalSources = new WithdrawalSources();
     private BalanceListener balanceListener;
-    private Set<String> fromAddresses;
-    private Coin totalAvailableAmountOfSelectedItems = Coin.ZERO;
     private Coin amountAsCoin = Coin.ZERO;
     private Coin sendersAmount = Coin.ZERO;
     private ChangeListener<String> amountListener;
@@ -143,6 +149,10 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
     private ToggleGroup feeToggleGroup, inputsToggleGroup;
     private final BooleanProperty useAllInputs = new SimpleBooleanProperty(true);
     private boolean feeExcluded;
+    @Nullable
+    private Timer feeEstimationTimer;
+    @Nullable
+    private FeeEstimation feeEstimation;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -159,6 +169,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
                            BSFormatter formatter,
                            Preferences preferences,
                            BtcAddressValidator btcAddressValidator,
+                           FeeService feeService,
                            WalletPasswordWindow walletPasswordWindow) {
         this.walletService = walletService;
         this.tradeManager = tradeManager;
@@ -169,6 +180,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
         this.formatter = formatter;
         this.preferences = preferences;
         this.btcAddressValidator = btcAddressValidator;
+        this.feeService = feeService;
         this.walletPasswordWindow = walletPasswordWindow;
     }
 
@@ -211,6 +223,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
             if (amountTextField.focusedProperty().get()) {
                 try {
                     amountAsCoin = formatter.parseToCoin(amountTextField.getText());
+                    requestFeeEstimation();
                 } catch (Throwable t) {
                     log.error("Error at amountTextField input. " + t.toString());
                 }
@@ -232,6 +245,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
             amountLabel.setText(feeExcluded ?
                     Res.getWithCol("funds.withdrawal.receiverAmount", Res.getBaseCurrencyCode()) :
                     Res.getWithCol("funds.withdrawal.senderAmount", Res.getBaseCurrencyCode()));
+            requestFeeEstimation();
         };
 
         inputsToggleGroup = new ToggleGroup();
@@ -245,10 +259,10 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
     }
 
     private void updateInputSelection() {
-        observableList.stream().forEach(item -> {
-            item.setSelected(useAllInputs.get());
-            selectForWithdrawal(item);
-        });
+        boolean selected = useAllInputs.get();
+        observableList.forEach(item -> item.setSelected(selected));
+        withdrawalSources.setAllSelected(selected);
+        onSelectionChanged();
         tableView.refresh();
     }
 
@@ -285,6 +299,8 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
         amountTextField.focusedProperty().removeListener(amountFocusListener);
         feeToggleGroup.selectedToggleProperty().removeListener(feeToggleGroupListener);
         inputsToggleGroup.selectedToggleProperty().removeListener(inputsToggleGroupListener);
+        stopFeeEstimationTimer();
+        feeEstimation = null;
     }
 
 
@@ -296,11 +312,13 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
     public void onWithdraw() {
         if (GUIUtil.isReadyForTxBroadcast(p2PService, walletsSetup)) {
             try {
-                // We do not know sendersAmount if senderPaysFee is true. We repeat fee calculation after first attempt if senderPaysFee is true.
-                Transaction feeEstimationTransaction = walletService.getFeeEstimationTransactionForMultipleAddresses(fromAddresses, amountAsCoin);
-                if (feeExcluded && feeEstimationTransaction != null) {
-                    sendersAmount = amountAsCoin.add(feeEstimationTransaction.getFee());
-                    feeEstimationTransaction = walletService.getFeeEstimationTransactionForMultipleAddresses(fromAddresses, sendersAmount);
+                FeeEstimationRequest request = createFeeEstimationRequest();
+                Transaction feeEstimationTransaction;
+                if (feeEstimation != null && feeEstimation.getRequest().equals(request)) {
+                    feeEstimationTransaction = feeEstimation.getTransaction();
+                } else {
+                    stopFeeEstimationTimer();
+                    feeEstimationTransaction = getFeeEstimationTransaction(request);
                 }
                 checkNotNull(feeEstimationTransaction, "feeEstimationTransaction must not be null");
                 Coin fee = feeEstimationTransaction.getFee();
@@ -368,32 +386,29 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
     }
 
     private void selectForWithdrawal(WithdrawalListItem item) {
-        if (item.isSelected())
-            selectedItems.add(item);
-        else
-            selectedItems.remove(item);
-
-        fromAddresses = selectedItems.stream()
-                .map(WithdrawalListItem::getAddressString)
-                .collect(Collectors.toSet());
-
-        if (!selectedItems.isEmpty()) {
-            totalAvailableAmountOfSelectedItems = Coin.valueOf(selectedItems.stream().mapToLong(e -> e.getBalance().getValue()).sum());
-            if (totalAvailableAmountOfSelectedItems.isPositive()) {
-                amountAsCoin = totalAvailableAmountOfSelectedItems;
+        withdrawalSources.setSelected(item, item.isSelected());
+        onSelectionChanged();
+    }
+
+    private void onSelectionChanged() {
+        int numSelected = withdrawalSources.getNumSelected();
+        if (numSelected > 0) {
+            Coin selectedBalance = withdrawalSources.getSelectedBalance();
+            if (selectedBalance.isPositive()) {
+                amountAsCoin = selectedBalance;
                 amountTextField.setText(formatter.formatCoin(amountAsCoin));
             } else {
                 amountAsCoin = Coin.ZERO;
-                totalAvailableAmountOfSelectedItems = Coin.ZERO;
                 amountTextField.setText("");
                 withdrawFromTextField.setText("");
             }
 
-            if (selectedItems.size() == 1) {
-                withdrawFromTextField.setText(selectedItems.stream().findAny().get().getAddressEntry().getAddressString());
+            Set<WithdrawalListItem> selectedItems = withdrawalSources.getSelectedItems();
+            if (numSelected == 1) {
+                withdrawFromTextField.setText(selectedItems.iterator().next().getAddressEntry().getAddressString());
                 withdrawFromTextField.setTooltip(null);
             } else {
-                int abbr = Math.max(10, 66 / selectedItems.size());
+                int abbr = Math.max(10, 66 / numSelected);
                 String addressesShortened = selectedItems.stream()
                         .map(e -> StringUtils.abbreviate(e.getAddressString(), abbr))
                         .collect(Collectors.joining(", "));
@@ -406,6 +421,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
                 String tooltipText = Res.get("funds.withdrawal.withdrawMultipleAddresses.tooltip", addresses);
                 withdrawFromTextField.setTooltip(new Tooltip(tooltipText));
             }
+            requestFeeEstimation();
         } else {
             reset();
         }
@@ -426,10 +442,70 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
         observableList.setAll(tradeManager.getAddressEntriesForAvailableBalanceStream()
                 .map(addressEntry -> new WithdrawalListItem(addressEntry, walletService, formatter))
                 .collect(Collectors.toList()));
+        withdrawalSources.setItems(observableList);
+        // The outputs we can spend have changed
+        feeEstimation = null;
 
         updateInputSelection();
     }
 
+    // We estimate the fee once the user paused editing the withdrawal, so it is usually known when the user clicks the
+    // withdraw button. The wallet is not thread safe, so the estimation runs on the UserThread.
+    private void requestFeeEstimation() {
+        stopFeeEstimationTimer();
+        if (withdrawalSources.getNumSelected() == 0 || !amountAsCoin.isPositive())
+            return;
+
+        feeEstimationTimer = UserThread.runAfter(() -> {
+            feeEstimationTimer = null;
+            FeeEstimationRequest request = createFeeEstimationRequest();
+            if (feeEstimation != null && feeEstimation.getRequest().equals(request))
+                return;
+
+            try {
+                Transaction transaction = getFeeEstimationTransaction(request);
+                if (transaction != null)
+                    feeEstimation = new FeeEstimation(request, transaction);
+            } catch (Throwable t) {
+                // We show the error when the user clicks the withdraw button and we estimate the fee again
+                log.warn("Fee estimation failed. " + t.toString());
+            }
+        }, FEE_ESTIMATION_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopFeeEstimationTimer() {
+        if (feeEstimationTimer != null) {
+            feeEstimationTimer.stop();
+            feeEstimationTimer = null;
+        }
+    }
+
+    private FeeEstimationRequest createFeeEstimationRequest() {
+        return new FeeEstimationRequest(withdrawalSources.getSelectedAddresses(), amountAsCoin, feeExcluded,
+                getTxFeeForWithdrawalPerByte());
+    }
+
+    @Nullable
+    private Transaction getFeeEstimationTransaction(FeeEstimationRequest request)
+            throws AddressFormatException, AddressEntryException, InsufficientFundsException {
+        // We do not know sendersAmount if senderPaysFee is true. We repeat fee calculation after first attempt if senderPaysFee is true.
+        Set<String> fromAddresses = request.getFromAddresses();
+        Coin amount = request.getAmount();
+        Transaction feeEstimationTransaction = walletService.getFeeEstimationTransactionForMultipleAddresses(fromAddresses, amount);
+        if (request.isFeeExcluded() && feeEstimationTransaction != null) {
+            Coin sendersAmount = amount.add(feeEstimationTransaction.getFee());
+            feeEstimationTransaction = walletService.getFeeEstimationTransactionForMultipleAddresses(fromAddresses, sendersAmount);
+        }
+        return feeEstimationTransaction;
+    }
+
+    // Same fee rate as used by the wallet, so an estimation gets outdated if the fee rate changes
+    private Coin getTxFeeForWithdrawalPerByte() {
+        return preferences.isUseCustomWithdrawalTxFee() ?
+                Coin.valueOf(preferences.getWithdrawalTxFeeInBytes()) :
+                feeService.getTxFeePerByte();
+    }
+
     private void doWithdraw(Coin amount, Coin fee, FutureCallback<Transaction> callback) {
         if (walletService.isEncrypted()) {
             UserThread.runAfter(() -> walletPasswordWindow.onAesKey(aesKey ->
@@ -442,7 +518,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
 
     private void sendFunds(Coin amount, Coin fee, KeyParameter aesKey, FutureCallback<Transaction> callback) {
         try {
-            walletService.sendFundsForMultipleAddresses(fromAddresses, withdrawToTextField.getText(), amount, fee, null, aesKey, callback);
+            walletService.sendFundsForMultipleAddresses(withdrawalSources.getSelectedAddresses(), withdrawToTextField.getText(), amount, fee, null, aesKey, callback);
             reset();
             updateList();
         } catch (AddressFormatException e) {
@@ -465,7 +541,6 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
         withdrawFromTextField.setPromptText(Res.get("funds.withdrawal.selectAddress"));
         withdrawFromTextField.setTooltip(null);
 
-        totalAvailableAmountOfSelectedItems = Coin.ZERO;
         amountAsCoin = Coin.ZERO;
         sendersAmount = Coin.ZERO;
         amountTextField.setText("");
@@ -474,8 +549,9 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
         withdrawToTextField.setText("");
         withdrawToTextField.setPromptText(Res.get("funds.withdrawal.fillDestAddress"));
 
-        selectedItems.clear();
+        withdrawalSources.clearSelection();
         tableView.getSelectionModel().clearSelection();
+        stopFeeEstimationTimer();
     }
 
     private Optional<Tradable> getTradable(WithdrawalListItem item) {
@@ -500,12 +576,13 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
             new Popup<>().warning(Res.get("validation.btc.invalidAddress")).show();
             return false;
         }
-        if (!totalAvailableAmountOfSelectedItems.isPositive()) {
+        Coin selectedBalance = withdrawalSources.getSelectedBalance();
+        if (!selectedBalance.isPositive()) {
             new Popup<>().warning(Res.get("funds.withdrawal.warn.noSourceAddressSelected")).show();
             return false;
         }
 
-        if (sendersAmount.compareTo(totalAvailableAmountOfSelectedItems) > 0) {
+        if (sendersAmount.compareTo(selectedBalance) > 0) {
             new Popup<>().warning(Res.get("funds.withdrawal.warn.amountExceeds")).show();
             return false;
         }
@@ -594,7 +671,7 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
                                         selectForWithdrawal(item);
 
                                         // If all are selected we select useAllInputsRadioButton
-                                        if (observableList.size() == selectedItems.size()) {
+                                        if (observableList.size() == withdrawalSources.getNumSelected()) {
                                             inputsToggleGroup.selectToggle(useAllInputsRadioButton);
                                         } else {
                                             // We don't want to get deselected all when we activate the useCustomInputsRadioButton
@@ -616,6 +693,23 @@ public class WithdrawalView extends ActivatableView<VBox, Void> {
                     }
                 });
     }
-}
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Fee estimation
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Value
+    private static class FeeEstimationRequest {
+        private final Set<String> fromAddresses;
+        private final Coin amount;
+        private final boolean feeExcluded;
+        private final Coin txFeePerByte;
+    }
+
+    @Value
+    private static class FeeEstimation {
+        private final FeeEstimationRequest request;
+        private final Transaction transaction;
+    }
+}
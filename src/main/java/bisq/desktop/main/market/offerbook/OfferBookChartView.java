@@ -136,6 +136,9 @@ public class OfferBookChartView extends ActivatableViewAndModel<VBox, OfferBookC
 
     @Override
     public void initialize() {
+        // Only the charts use it, so it is not added to the scene
+        root.getStylesheets().add("/bisq/desktop/CandleStickChart.css");
+
         changeListener = c -> updateChartData();
 
         currencyListItemsListener = c -> {
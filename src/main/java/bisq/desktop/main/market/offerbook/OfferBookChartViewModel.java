@@ -32,6 +32,7 @@ import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.GlobalSettings;
 import bisq.core.locale.TradeCurrency;
 import bisq.core.monetary.Price;
+import bisq.core.monetary.Volume;
 import bisq.core.offer.Offer;
 import bisq.core.offer.OfferPayload;
 import bisq.core.payment.AccountAgeWitnessService;
@@ -57,11 +58,15 @@ import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 class OfferBookChartViewModel extends ActivatableViewModel {
     private static final int TAB_INDEX = 0;
 
@@ -74,6 +79,9 @@ class OfferBookChartViewModel extends ActivatableViewModel {
     final ObjectProperty<TradeCurrency> selectedTradeCurrencyProperty = new SimpleObjectProperty<>();
     private final List<XYChart.Data> buyData = new ArrayList<>();
     private final List<XYChart.Data> sellData = new ArrayList<>();
+    // Buy and sell offers per currency code sorted by price, updated incrementally from the offer book changes
+    private final Map<String, OfferBookDepth> buyOfferBookDepthByCurrency = new HashMap<>();
+    private final Map<String, OfferBookDepth> sellOfferBookDepthByCurrency = new HashMap<>();
     private final ObservableList<OfferBookListItem> offerBookListItems;
     private final ListChangeListener<OfferBookListItem> offerBookListItemsListener;
     final CurrencyList currencyListItems;
@@ -111,17 +119,19 @@ class OfferBookChartViewModel extends ActivatableViewModel {
 
         offerBookListItems = offerBook.getOfferBookListItems();
         offerBookListItemsListener = c -> {
-            c.next();
-            if (c.wasAdded() || c.wasRemoved()) {
-                ArrayList<OfferBookListItem> list = new ArrayList<>(c.getRemoved());
-                list.addAll(c.getAddedSubList());
-                if (list.stream()
-                        .map(OfferBookListItem::getOffer)
-                        .filter(e -> e.getOfferPayload().getCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode()))
-                        .findAny()
-                        .isPresent())
-                    updateChartData();
+            boolean isSelectedCurrencyAffected = false;
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    for (OfferBookListItem item : c.getRemoved())
+                        isSelectedCurrencyAffected |= removeFromOfferBookDepth(item.getOffer());
+                }
+                if (c.wasAdded()) {
+                    for (OfferBookListItem item : c.getAddedSubList())
+                        isSelectedCurrencyAffected |= addToOfferBookDepth(item.getOffer());
+                }
             }
+            if (isSelectedCurrencyAffected)
+                updateChartData();
 
             fillTradeCurrencies();
         };
@@ -160,6 +170,10 @@ class OfferBookChartViewModel extends ActivatableViewModel {
 
     @Override
     protected void activate() {
+        // We missed the changes while being deactivated, so we start with a fresh state of the offer book depths
+        buyOfferBookDepthByCurrency.clear();
+        sellOfferBookDepthByCurrency.clear();
+        offerBookListItems.forEach(item -> addToOfferBookDepth(item.getOffer()));
         offerBookListItems.addListener(offerBookListItemsListener);
 
         offerBook.fillOfferBookListItems();
@@ -279,105 +293,88 @@ class OfferBookChartViewModel extends ActivatableViewModel {
     }
 
     private void updateChartData() {
-        List<Offer> allBuyOffers = offerBookListItems.stream()
-                .map(OfferBookListItem::getOffer)
-                .filter(e -> e.getCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode())
-                        && e.getDirection().equals(OfferPayload.Direction.BUY))
-                .sorted((o1, o2) -> {
-                    long a = o1.getPrice() != null ? o1.getPrice().getValue() : 0;
-                    long b = o2.getPrice() != null ? o2.getPrice().getValue() : 0;
-                    if (a != b) {
-                        if (CurrencyUtil.isCryptoCurrency(o1.getCurrencyCode()))
-                            return a > b ? 1 : -1;
-                        else
-                            return a < b ? 1 : -1;
-                    } else {
-                        return 0;
-                    }
-                })
-                .collect(Collectors.toList());
+        String currencyCode = selectedTradeCurrencyProperty.get().getCode();
+        List<Offer> allBuyOffers = getRelevantOffers(buyOfferBookDepthByCurrency.get(currencyCode));
 
-        allBuyOffers = filterOffersWithRelevantPrices(allBuyOffers);
+        getOfferWithHighestValue(allBuyOffers, OfferBookChartViewModel::getPriceValue)
+                .ifPresent(offer -> maxPlacesForBuyPrice.set(formatPrice(offer, false).length()));
+        getOfferWithHighestValue(allBuyOffers, OfferBookChartViewModel::getVolumeValue)
+                .ifPresent(offer -> maxPlacesForBuyVolume.set(formatVolume(offer, false).length()));
 
-        final Optional<Offer> highestBuyPriceOffer = allBuyOffers.stream()
-                .filter(o -> o.getPrice() != null)
-                .max(Comparator.comparingLong(o -> o.getPrice().getValue()));
-
-        if (highestBuyPriceOffer.isPresent()) {
-            final Offer offer = highestBuyPriceOffer.get();
-            maxPlacesForBuyPrice.set(formatPrice(offer, false).length());
-        }
+        buildChartAndTableEntries(allBuyOffers, OfferPayload.Direction.BUY, buyData, topBuyOfferList);
 
-        final Optional<Offer> highestBuyVolumeOffer = allBuyOffers.stream()
-                .filter(o -> o.getVolume() != null)
-                .max(Comparator.comparingLong(o -> o.getVolume().getValue()));
+        List<Offer> allSellOffers = getRelevantOffers(sellOfferBookDepthByCurrency.get(currencyCode));
 
-        if (highestBuyVolumeOffer.isPresent()) {
-            final Offer offer = highestBuyVolumeOffer.get();
-            maxPlacesForBuyVolume.set(formatVolume(offer, false).length());
-        }
+        getOfferWithHighestValue(allSellOffers, OfferBookChartViewModel::getPriceValue)
+                .ifPresent(offer -> maxPlacesForSellPrice.set(formatPrice(offer, false).length()));
+        getOfferWithHighestValue(allSellOffers, OfferBookChartViewModel::getVolumeValue)
+                .ifPresent(offer -> maxPlacesForSellVolume.set(formatVolume(offer, false).length()));
 
-        buildChartAndTableEntries(allBuyOffers, OfferPayload.Direction.BUY, buyData, topBuyOfferList);
-
-        List<Offer> allSellOffers = offerBookListItems.stream()
-                .map(OfferBookListItem::getOffer)
-                .filter(e -> e.getCurrencyCode().equals(selectedTradeCurrencyProperty.get().getCode())
-                        && e.getDirection().equals(OfferPayload.Direction.SELL))
-                .sorted((o1, o2) -> {
-                    long a = o1.getPrice() != null ? o1.getPrice().getValue() : 0;
-                    long b = o2.getPrice() != null ? o2.getPrice().getValue() : 0;
-                    if (a != b) {
-                        if (CurrencyUtil.isCryptoCurrency(o1.getCurrencyCode()))
-                            return a < b ? 1 : -1;
-                        else
-                            return a > b ? 1 : -1;
-                    } else {
-                        return 0;
-                    }
-                })
-                .collect(Collectors.toList());
+        buildChartAndTableEntries(allSellOffers, OfferPayload.Direction.SELL, sellData, topSellOfferList);
+    }
 
-        allSellOffers = filterOffersWithRelevantPrices(allSellOffers);
+    private List<Offer> getRelevantOffers(@Nullable OfferBookDepth offerBookDepth) {
+        if (offerBookDepth == null)
+            return new ArrayList<>();
 
-        final Optional<Offer> highestSellPriceOffer = allSellOffers.stream()
-                .filter(o -> o.getPrice() != null)
-                .max(Comparator.comparingLong(o -> o.getPrice().getValue()));
+        offerBookDepth.updateMarketBasedPrices();
+        return offerBookDepth.getRelevantOffers();
+    }
 
-        if (highestSellPriceOffer.isPresent()) {
-            final Offer offer = highestSellPriceOffer.get();
-            maxPlacesForSellPrice.set(formatPrice(offer, false).length());
+    private Optional<Offer> getOfferWithHighestValue(List<Offer> offers, Function<Offer, Long> valueFunction) {
+        Offer result = null;
+        long highestValue = 0;
+        for (Offer offer : offers) {
+            Long value = valueFunction.apply(offer);
+            if (value != null && (result == null || value > highestValue)) {
+                result = offer;
+                highestValue = value;
+            }
         }
+        return Optional.ofNullable(result);
+    }
 
-        final Optional<Offer> highestSellVolumeOffer = allSellOffers.stream()
-                .filter(o -> o.getVolume() != null)
-                .max(Comparator.comparingLong(o -> o.getVolume().getValue()));
+    @Nullable
+    private static Long getPriceValue(Offer offer) {
+        Price price = offer.getPrice();
+        return price != null ? price.getValue() : null;
+    }
 
-        if (highestSellVolumeOffer.isPresent()) {
-            final Offer offer = highestSellVolumeOffer.get();
-            maxPlacesForSellVolume.set(formatVolume(offer, false).length());
-        }
+    @Nullable
+    private static Long getVolumeValue(Offer offer) {
+        Volume volume = offer.getVolume();
+        return volume != null ? volume.getValue() : null;
+    }
 
-        buildChartAndTableEntries(allSellOffers, OfferPayload.Direction.SELL, sellData, topSellOfferList);
+    /**
+     * @return True if the offer is in the selected currency
+     */
+    private boolean addToOfferBookDepth(Offer offer) {
+        getOfferBookDepth(offer).add(offer);
+        return offer.getCurrencyCode().equals(getCurrencyCode());
     }
 
-    // If there are more then 3 offers we ignore the offers which are further than 30% from the best price
-    private List<Offer> filterOffersWithRelevantPrices(List<Offer> offers) {
-        if (offers.size() > 3) {
-            Price bestPrice = offers.get(0).getPrice();
-            if (bestPrice != null) {
-                long bestPriceAsLong = bestPrice.getValue();
-                return offers.stream()
-                        .filter(e -> {
-                            if (e.getPrice() == null)
-                                return false;
-
-                            double ratio = (double) e.getPrice().getValue() / (double) bestPriceAsLong;
-                            return Math.abs(1 - ratio) < 0.3;
-                        })
-                        .collect(Collectors.toList());
-            }
+    /**
+     * @return True if the offer is in the selected currency
+     */
+    private boolean removeFromOfferBookDepth(Offer offer) {
+        OfferBookDepth offerBookDepth = getOfferBookDepth(offer);
+        offerBookDepth.remove(offer);
+        if (offerBookDepth.isEmpty()) {
+            if (offer.getDirection() == OfferPayload.Direction.BUY)
+                buyOfferBookDepthByCurrency.remove(offer.getCurrencyCode());
+            else
+                sellOfferBookDepthByCurrency.remove(offer.getCurrencyCode());
         }
-        return offers;
+        return offer.getCurrencyCode().equals(getCurrencyCode());
+    }
+
+    private OfferBookDepth getOfferBookDepth(Offer offer) {
+        boolean isBuyOffer = offer.getDirection() == OfferPayload.Direction.BUY;
+        Map<String, OfferBookDepth> map = isBuyOffer ? buyOfferBookDepthByCurrency : sellOfferBookDepthByCurrency;
+        // For altcoins the price is inverted, so the best price of buy offers is the lowest
+        boolean isHighestPriceBest = isBuyOffer != CurrencyUtil.isCryptoCurrency(offer.getCurrencyCode());
+        return map.computeIfAbsent(offer.getCurrencyCode(), key -> new OfferBookDepth(isHighestPriceBest));
     }
 
     private void buildChartAndTableEntries(List<Offer> sortedList, OfferPayload.Direction direction, List<XYChart.Data> data, ObservableList<OfferListItem> offerTableList) {
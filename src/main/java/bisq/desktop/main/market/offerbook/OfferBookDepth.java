@@ -0,0 +1,160 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.market.offerbook;
+
+import bisq.core.monetary.Price;
+import bisq.core.offer.Offer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Offers of one side (buy or sell) of the offer book of one currency, kept sorted by price from the best to the worst
+ * price. It gets updated incrementally from the added and removed offers, so the depth chart and the spread can be
+ * read without sorting all offers again.
+ * Offers are tracked by identity as the equals method of Offer takes the mutable state into account.
+ */
+public class OfferBookDepth {
+    // If there are more then 3 offers we ignore the offers which are further than 30% from the best price
+    private static final int MIN_OFFERS_FOR_RELEVANCE_FILTER = 4;
+    private static final double MAX_DISTANCE_TO_BEST_PRICE = 0.3;
+
+    private final TreeMap<Long, List<Offer>> offersByPrice;
+    // Price value the offer is sorted with. Null if the offer has no price (market based price not available).
+    private final Map<Offer, Long> priceByOffer = new IdentityHashMap<>();
+    private final List<Offer> offersWithoutPrice = new ArrayList<>();
+    private final Set<Offer> marketBasedPriceOffers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param isHighestPriceBest True if the highest price is the best one (buy offers of fiat and sell offers of
+     *                           altcoins as the price is inverted for altcoins)
+     */
+    public OfferBookDepth(boolean isHighestPriceBest) {
+        offersByPrice = new TreeMap<>(isHighestPriceBest ? Comparator.reverseOrder() : Comparator.naturalOrder());
+    }
+
+    public void add(Offer offer) {
+        if (priceByOffer.containsKey(offer))
+            return;
+
+        if (offer.isUseMarketBasedPrice())
+            marketBasedPriceOffers.add(offer);
+
+        insert(offer);
+    }
+
+    public void remove(Offer offer) {
+        if (!priceByOffer.containsKey(offer))
+            return;
+
+        marketBasedPriceOffers.remove(offer);
+        Long price = priceByOffer.remove(offer);
+        if (price != null)
+            removeFromPriceLevel(offer, price);
+        else
+            offersWithoutPrice.removeIf(e -> e == offer);
+    }
+
+    /**
+     * Market based prices change with the price feed, so we resort those offers if their price has changed.
+     */
+    public void updateMarketBasedPrices() {
+        for (Offer offer : marketBasedPriceOffers) {
+            Long oldPrice = priceByOffer.get(offer);
+            Price price = offer.getPrice();
+            Long newPrice = price != null ? price.getValue() : null;
+            if (oldPrice == null ? newPrice != null : !oldPrice.equals(newPrice)) {
+                if (oldPrice != null)
+                    removeFromPriceLevel(offer, oldPrice);
+                else
+                    offersWithoutPrice.removeIf(e -> e == offer);
+                insert(offer);
+            }
+        }
+    }
+
+    /**
+     * @return The offers sorted from the best price to the worst. If there are more then 3 offers, offers without
+     * price or with a price further than 30% from the best price are not included. Otherwise the offers without price
+     * follow the offers with a price.
+     */
+    public List<Offer> getRelevantOffers() {
+        List<Offer> result = new ArrayList<>();
+        boolean applyRelevanceFilter = priceByOffer.size() >= MIN_OFFERS_FOR_RELEVANCE_FILTER;
+        if (!offersByPrice.isEmpty()) {
+            long bestPrice = offersByPrice.firstKey();
+            for (Map.Entry<Long, List<Offer>> entry : offersByPrice.entrySet()) {
+                // As the offers are sorted by price all following offers are irrelevant as well
+                if (applyRelevanceFilter && Math.abs(1 - (double) entry.getKey() / (double) bestPrice) >= MAX_DISTANCE_TO_BEST_PRICE)
+                    break;
+
+                result.addAll(entry.getValue());
+            }
+        }
+        if (!applyRelevanceFilter)
+            result.addAll(offersWithoutPrice);
+        return result;
+    }
+
+    /**
+     * @return The offer with the best price or null if there is no offer with a price
+     */
+    @Nullable
+    public Offer getBestOffer() {
+        return offersByPrice.isEmpty() ? null : offersByPrice.firstEntry().getValue().get(0);
+    }
+
+    /**
+     * @return The number of offers including the offers without a price
+     */
+    public int size() {
+        return priceByOffer.size();
+    }
+
+    public boolean isEmpty() {
+        return priceByOffer.isEmpty();
+    }
+
+    private void insert(Offer offer) {
+        Price price = offer.getPrice();
+        if (price != null) {
+            priceByOffer.put(offer, price.getValue());
+            offersByPrice.computeIfAbsent(price.getValue(), key -> new ArrayList<>()).add(offer);
+        } else {
+            priceByOffer.put(offer, null);
+            offersWithoutPrice.add(offer);
+        }
+    }
+
+    private void removeFromPriceLevel(Offer offer, long price) {
+        List<Offer> offers = offersByPrice.get(price);
+        if (offers != null) {
+            offers.removeIf(e -> e == offer);
+            if (offers.isEmpty())
+                offersByPrice.remove(price);
+        }
+    }
+}
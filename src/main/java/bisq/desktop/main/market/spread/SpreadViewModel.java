@@ -18,6 +18,7 @@
 package bisq.desktop.main.market.spread;
 
 import bisq.desktop.common.model.ActivatableViewModel;
+import bisq.desktop.main.market.offerbook.OfferBookDepth;
 import bisq.desktop.main.offer.offerbook.OfferBook;
 import bisq.desktop.main.offer.offerbook.OfferBookListItem;
 import bisq.desktop.main.overlays.popups.Popup;
@@ -49,13 +50,11 @@ import java.math.RoundingMode;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 class SpreadViewModel extends ActivatableViewModel {
 
@@ -68,6 +67,11 @@ class SpreadViewModel extends ActivatableViewModel {
     final IntegerProperty maxPlacesForAmount = new SimpleIntegerProperty();
 
 
+    // Offers grouped by currency code, updated incrementally from the offer book changes
+    private final Map<String, OffersOfCurrency> offersByCurrencyMap = new HashMap<>();
+    private final Map<String, SpreadItem> spreadItemByCurrencyMap = new HashMap<>();
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor, lifecycle
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -79,7 +83,32 @@ class SpreadViewModel extends ActivatableViewModel {
         this.formatter = formatter;
 
         offerBookListItems = offerBook.getOfferBookListItems();
-        listChangeListener = c -> update(offerBookListItems);
+        listChangeListener = c -> {
+            Set<String> affectedCurrencyCodes = new HashSet<>();
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    for (OfferBookListItem item : c.getRemoved()) {
+                        Offer offer = item.getOffer();
+                        String currencyCode = offer.getCurrencyCode();
+                        OffersOfCurrency offersOfCurrency = offersByCurrencyMap.get(currencyCode);
+                        if (offersOfCurrency != null) {
+                            offersOfCurrency.remove(offer);
+                            if (offersOfCurrency.isEmpty())
+                                offersByCurrencyMap.remove(currencyCode);
+                            affectedCurrencyCodes.add(currencyCode);
+                        }
+                    }
+                }
+                if (c.wasAdded()) {
+                    for (OfferBookListItem item : c.getAddedSubList()) {
+                        addOffer(item.getOffer());
+                        affectedCurrencyCodes.add(item.getOffer().getCurrencyCode());
+                    }
+                }
+            }
+            affectedCurrencyCodes.forEach(this::updateSpreadItem);
+            updateMaxPlacesForAmount();
+        };
     }
 
     @Override
@@ -94,127 +123,115 @@ class SpreadViewModel extends ActivatableViewModel {
         offerBookListItems.removeListener(listChangeListener);
     }
 
-    private static <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
-        Set<Object> seen = ConcurrentHashMap.newKeySet();
-        return t -> seen.add(keyExtractor.apply(t));
+    private void update(ObservableList<OfferBookListItem> offerBookListItems) {
+        offersByCurrencyMap.clear();
+        offerBookListItems.forEach(item -> addOffer(item.getOffer()));
+
+        spreadItemByCurrencyMap.clear();
+        offersByCurrencyMap.keySet().forEach(currencyCode ->
+                spreadItemByCurrencyMap.put(currencyCode, createSpreadItem(currencyCode, offersByCurrencyMap.get(currencyCode))));
+        spreadItems.setAll(spreadItemByCurrencyMap.values());
+        updateMaxPlacesForAmount();
     }
 
-    private void update(ObservableList<OfferBookListItem> offerBookListItems) {
-        Map<String, List<Offer>> offersByCurrencyMap = new HashMap<>();
-        for (OfferBookListItem offerBookListItem : offerBookListItems) {
-            Offer offer = offerBookListItem.getOffer();
-            String currencyCode = offer.getCurrencyCode();
-            if (!offersByCurrencyMap.containsKey(currencyCode))
-                offersByCurrencyMap.put(currencyCode, new ArrayList<>());
-            offersByCurrencyMap.get(currencyCode).add(offer);
+    private void addOffer(Offer offer) {
+        offersByCurrencyMap.computeIfAbsent(offer.getCurrencyCode(), OffersOfCurrency::new).add(offer);
+    }
+
+    // Only the row of the given currency gets replaced
+    private void updateSpreadItem(String currencyCode) {
+        SpreadItem oldItem = spreadItemByCurrencyMap.remove(currencyCode);
+        OffersOfCurrency offersOfCurrency = offersByCurrencyMap.get(currencyCode);
+        SpreadItem newItem = offersOfCurrency != null ? createSpreadItem(currencyCode, offersOfCurrency) : null;
+        if (newItem != null)
+            spreadItemByCurrencyMap.put(currencyCode, newItem);
+
+        int index = oldItem != null ? spreadItems.indexOf(oldItem) : -1;
+        if (index >= 0) {
+            if (newItem != null)
+                spreadItems.set(index, newItem);
+            else
+                spreadItems.remove(index);
+        } else if (newItem != null) {
+            spreadItems.add(newItem);
         }
-        spreadItems.clear();
-
-        Coin totalAmount = null;
-
-        for (String currencyCode : offersByCurrencyMap.keySet()) {
-            List<Offer> offers = offersByCurrencyMap.get(currencyCode);
-            final boolean isFiatCurrency = CurrencyUtil.isFiatCurrency(currencyCode);
-
-            List<Offer> uniqueOffers = offers.stream().filter(distinctByKey(Offer::getId)).collect(Collectors.toList());
-
-            List<Offer> buyOffers = uniqueOffers
-                    .stream()
-                    .filter(e -> e.getDirection().equals(OfferPayload.Direction.BUY))
-                    .sorted((o1, o2) -> {
-                        long a = o1.getPrice() != null ? o1.getPrice().getValue() : 0;
-                        long b = o2.getPrice() != null ? o2.getPrice().getValue() : 0;
-                        if (a != b) {
-                            if (isFiatCurrency) {
-                                return a < b ? 1 : -1;
-                            } else {
-                                return a < b ? -1 : 1;
-                            }
-                        }
-                        return 0;
-                    })
-                    .collect(Collectors.toList());
-
-            List<Offer> sellOffers = uniqueOffers
-                    .stream()
-                    .filter(e -> e.getDirection().equals(OfferPayload.Direction.SELL))
-                    .sorted((o1, o2) -> {
-                        long a = o1.getPrice() != null ? o1.getPrice().getValue() : 0;
-                        long b = o2.getPrice() != null ? o2.getPrice().getValue() : 0;
-                        if (a != b) {
-                            if (isFiatCurrency) {
-                                return a > b ? 1 : -1;
-                            } else {
-                                return a > b ? -1 : 1;
-                            }
-                        }
-                        return 0;
-                    })
-                    .collect(Collectors.toList());
-
-            Price spread = null;
-            String percentage = "";
-            double percentageValue = 0;
-            Price bestSellOfferPrice = sellOffers.isEmpty() ? null : sellOffers.get(0).getPrice();
-            Price bestBuyOfferPrice = buyOffers.isEmpty() ? null : buyOffers.get(0).getPrice();
-            if (bestBuyOfferPrice != null && bestSellOfferPrice != null) {
-                MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
-
-                // There have been some bug reports that an offer caused an overflow exception.
-                // We never found out which offer it was. So add here a try/catch to get better info if it
-                // happens again
+    }
+
+    private void updateMaxPlacesForAmount() {
+        maxPlacesForAmount.set(spreadItemByCurrencyMap.values().stream()
+                .map(item -> item.totalAmount)
+                .max(Coin::compareTo)
+                .map(totalAmount -> formatAmount(totalAmount, false).length())
+                .orElse(0));
+    }
+
+    private SpreadItem createSpreadItem(String currencyCode, OffersOfCurrency offersOfCurrency) {
+        final boolean isFiatCurrency = CurrencyUtil.isFiatCurrency(currencyCode);
+        offersOfCurrency.buyOffers.updateMarketBasedPrices();
+        offersOfCurrency.sellOffers.updateMarketBasedPrices();
+        Offer bestBuyOffer = offersOfCurrency.buyOffers.getBestOffer();
+        Offer bestSellOffer = offersOfCurrency.sellOffers.getBestOffer();
+
+        Price spread = null;
+        String percentage = "";
+        double percentageValue = 0;
+        Price bestSellOfferPrice = bestSellOffer != null ? bestSellOffer.getPrice() : null;
+        Price bestBuyOfferPrice = bestBuyOffer != null ? bestBuyOffer.getPrice() : null;
+        if (bestBuyOfferPrice != null && bestSellOfferPrice != null) {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
+
+            // There have been some bug reports that an offer caused an overflow exception.
+            // We never found out which offer it was. So add here a try/catch to get better info if it
+            // happens again
+            try {
+                if (isFiatCurrency)
+                    spread = bestSellOfferPrice.subtract(bestBuyOfferPrice);
+                else
+                    spread = bestBuyOfferPrice.subtract(bestSellOfferPrice);
+
+                // TODO maybe show extra colums with spread and use real amount diff
+                // not % based. e.g. diff between best buy and sell offer (of small amounts its a smaller gain)
+
+                if (spread != null && marketPrice != null && marketPrice.isPriceAvailable()) {
+                    double marketPriceAsDouble = marketPrice.getPrice();
+                    final double precision = isFiatCurrency ?
+                            Math.pow(10, Fiat.SMALLEST_UNIT_EXPONENT) :
+                            Math.pow(10, Altcoin.SMALLEST_UNIT_EXPONENT);
+
+                    BigDecimal marketPriceAsBigDecimal = BigDecimal.valueOf(marketPriceAsDouble)
+                            .multiply(BigDecimal.valueOf(precision));
+                    // We multiply with 10000 because we use precision of 2 at % (100.00%)
+                    percentageValue = BigDecimal.valueOf(spread.getValue())
+                            .multiply(BigDecimal.valueOf(10000))
+                            .divide(marketPriceAsBigDecimal, RoundingMode.HALF_UP)
+                            .doubleValue() / 10000;
+                    percentage = formatter.formatPercentagePrice(percentageValue);
+                }
+            } catch (Throwable t) {
                 try {
-                    if (isFiatCurrency)
-                        spread = bestSellOfferPrice.subtract(bestBuyOfferPrice);
-                    else
-                        spread = bestBuyOfferPrice.subtract(bestSellOfferPrice);
-
-                    // TODO maybe show extra colums with spread and use real amount diff
-                    // not % based. e.g. diff between best buy and sell offer (of small amounts its a smaller gain)
-
-                    if (spread != null && marketPrice != null && marketPrice.isPriceAvailable()) {
-                        double marketPriceAsDouble = marketPrice.getPrice();
-                        final double precision = isFiatCurrency ?
-                                Math.pow(10, Fiat.SMALLEST_UNIT_EXPONENT) :
-                                Math.pow(10, Altcoin.SMALLEST_UNIT_EXPONENT);
-
-                        BigDecimal marketPriceAsBigDecimal = BigDecimal.valueOf(marketPriceAsDouble)
-                                .multiply(BigDecimal.valueOf(precision));
-                        // We multiply with 10000 because we use precision of 2 at % (100.00%)
-                        percentageValue = BigDecimal.valueOf(spread.getValue())
-                                .multiply(BigDecimal.valueOf(10000))
-                                .divide(marketPriceAsBigDecimal, RoundingMode.HALF_UP)
-                                .doubleValue() / 10000;
-                        percentage = formatter.formatPercentagePrice(percentageValue);
-                    }
-                } catch (Throwable t) {
-                    try {
-                        // Don't translate msg. It is just for rare error cases and can be removed probably later if
-                        // that error never gets reported again.
-                        String msg = "An error occurred at the spread calculation.\n" +
-                                "Error msg: " + t.toString() + "\n" +
-                                "Details of offer data: \n" +
-                                "bestSellOfferPrice: " + bestSellOfferPrice.getValue() + "\n" +
-                                "bestBuyOfferPrice: " + bestBuyOfferPrice.getValue() + "\n" +
-                                "sellOffer getCurrencyCode: " + sellOffers.get(0).getCurrencyCode() + "\n" +
-                                "buyOffer getCurrencyCode: " + buyOffers.get(0).getCurrencyCode() + "\n\n" +
-                                "Please copy and paste this data and send it to the developers so they can investigate the issue.";
-                        new Popup<>().error(msg).show();
-                        log.error(t.toString());
-                        t.printStackTrace();
-                    } catch (Throwable t2) {
-                        log.error(t2.toString());
-                        t2.printStackTrace();
-                    }
+                    // Don't translate msg. It is just for rare error cases and can be removed probably later if
+                    // that error never gets reported again.
+                    String msg = "An error occurred at the spread calculation.\n" +
+                            "Error msg: " + t.toString() + "\n" +
+                            "Details of offer data: \n" +
+                            "bestSellOfferPrice: " + bestSellOfferPrice.getValue() + "\n" +
+                            "bestBuyOfferPrice: " + bestBuyOfferPrice.getValue() + "\n" +
+                            "sellOffer getCurrencyCode: " + bestSellOffer.getCurrencyCode() + "\n" +
+                            "buyOffer getCurrencyCode: " + bestBuyOffer.getCurrencyCode() + "\n\n" +
+                            "Please copy and paste this data and send it to the developers so they can investigate the issue.";
+                    new Popup<>().error(msg).show();
+                    log.error(t.toString());
+                    t.printStackTrace();
+                } catch (Throwable t2) {
+                    log.error(t2.toString());
+                    t2.printStackTrace();
                 }
             }
-
-            totalAmount = Coin.valueOf(offers.stream().mapToLong(offer -> offer.getAmount().getValue()).sum());
-            spreadItems.add(new SpreadItem(currencyCode, buyOffers.size(), sellOffers.size(),
-                    uniqueOffers.size(), spread, percentage, percentageValue, totalAmount));
         }
 
-        maxPlacesForAmount.set(formatAmount(totalAmount, false).length());
+        return new SpreadItem(currencyCode, offersOfCurrency.buyOffers.size(), offersOfCurrency.sellOffers.size(),
+                offersOfCurrency.offersById.size(), spread, percentage, percentageValue,
+                Coin.valueOf(offersOfCurrency.totalAmount));
     }
 
     public String getAmount(Coin amount) {
@@ -224,4 +241,69 @@ class SpreadViewModel extends ActivatableViewModel {
     private String formatAmount(Coin amount, boolean decimalAligned) {
         return formatter.formatCoin(amount, GUIUtil.AMOUNT_DECIMALS, decimalAligned, maxPlacesForAmount.get());
     }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // OffersOfCurrency
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Offers of one currency. The offer book can contain multiple offers with the same ID, those are all counted in the
+     * total amount but only the first one is used for the spread and the number of offers.
+     */
+    private static class OffersOfCurrency {
+        private final Map<String, List<Offer>> offersById = new LinkedHashMap<>();
+        private final OfferBookDepth buyOffers;
+        private final OfferBookDepth sellOffers;
+        private long totalAmount;
+
+        OffersOfCurrency(String currencyCode) {
+            boolean isFiatCurrency = CurrencyUtil.isFiatCurrency(currencyCode);
+            // The highest buy price is the best for fiat but the price is inverted for altcoins
+            buyOffers = new OfferBookDepth(isFiatCurrency);
+            sellOffers = new OfferBookDepth(!isFiatCurrency);
+        }
+
+        void add(Offer offer) {
+            totalAmount += offer.getAmount().getValue();
+            List<Offer> offers = offersById.computeIfAbsent(offer.getId(), id -> new ArrayList<>());
+            offers.add(offer);
+            if (offers.size() == 1)
+                getOfferBookDepth(offer).add(offer);
+        }
+
+        void remove(Offer offer) {
+            List<Offer> offers = offersById.get(offer.getId());
+            if (offers == null)
+                return;
+
+            int index = -1;
+            for (int i = 0; i < offers.size(); i++) {
+                if (offers.get(i) == offer) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0)
+                return;
+
+            totalAmount -= offer.getAmount().getValue();
+            offers.remove(index);
+            if (index == 0) {
+                getOfferBookDepth(offer).remove(offer);
+                if (!offers.isEmpty())
+                    getOfferBookDepth(offers.get(0)).add(offers.get(0));
+            }
+            if (offers.isEmpty())
+                offersById.remove(offer.getId());
+        }
+
+        boolean isEmpty() {
+            return offersById.isEmpty();
+        }
+
+        private OfferBookDepth getOfferBookDepth(Offer offer) {
+            return offer.getDirection() == OfferPayload.Direction.BUY ? buyOffers : sellOffers;
+        }
+    }
 }
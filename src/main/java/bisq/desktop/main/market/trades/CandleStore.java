@@ -0,0 +1,206 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.market.trades;
+
+import bisq.core.trade.statistics.TradeStatistics2;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongUnaryOperator;
+
+import javax.annotation.Nullable;
+
+/**
+ * Trade statistics of one currency (or of all currencies) pre-aggregated into candles of one tick unit. Trades are
+ * added as they arrive and only update the candle they belong to, so the candles of the displayed interval can be
+ * read without iterating over all trades.
+ * A candle is identified by the start time of its interval. As the chart intervals exclude their start time a trade
+ * exactly at the start of an interval belongs to the previous one.
+ * The candles are stored in columns of primitive arrays sorted by start time. Trades mostly arrive in time order, so
+ * new candles are usually appended.
+ */
+class CandleStore {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int START_TIME = 0;
+    private static final int OPEN_TIME = 1;
+    private static final int OPEN = 2;
+    private static final int CLOSE_TIME = 3;
+    private static final int CLOSE = 4;
+    private static final int MIN_PRICE = 5;
+    private static final int MAX_PRICE = 6;
+    private static final int ACCUMULATED_AMOUNT = 7;
+    private static final int ACCUMULATED_VOLUME = 8;
+    private static final int NUM_TRADES = 9;
+    private static final int NUM_COLUMNS = 10;
+
+    private final LongUnaryOperator roundToTickFunction;
+    private final long[][] columns = new long[NUM_COLUMNS][INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param roundToTickFunction Returns the start time of the interval for a given time
+     */
+    CandleStore(LongUnaryOperator roundToTickFunction) {
+        this.roundToTickFunction = roundToTickFunction;
+    }
+
+    void add(TradeStatistics2 tradeStatistics) {
+        long startTime = roundToTickFunction.applyAsLong(tradeStatistics.getTradeDate().getTime() - 1);
+        int index = indexOf(startTime);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, startTime);
+        }
+
+        Aggregate aggregate = getAggregate(index);
+        aggregate.add(tradeStatistics);
+        setAggregate(index, aggregate);
+    }
+
+    void addAll(Collection<TradeStatistics2> tradeStatistics) {
+        tradeStatistics.forEach(this::add);
+    }
+
+    /**
+     * @return A copy of the candle starting at startTime or null if there are no trades in its interval
+     */
+    @Nullable
+    Aggregate get(long startTime) {
+        int index = indexOf(startTime);
+        return index >= 0 ? getAggregate(index) : null;
+    }
+
+    /**
+     * @return All trades of the interval starting at startTime and of all later intervals merged into one aggregate
+     * or null if there are no such trades
+     */
+    @Nullable
+    Aggregate getFrom(long startTime) {
+        int index = indexOf(startTime);
+        if (index < 0)
+            index = -index - 1;
+        if (index >= size)
+            return null;
+
+        Aggregate result = new Aggregate();
+        for (int i = index; i < size; i++)
+            result.merge(getAggregate(i));
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // As Arrays.binarySearch: the index of the candle or (-(insertion point) - 1) if there is none
+    private int indexOf(long startTime) {
+        return Arrays.binarySearch(columns[START_TIME], 0, size, startTime);
+    }
+
+    private void insert(int index, long startTime) {
+        for (int column = 0; column < NUM_COLUMNS; column++) {
+            long[] values = columns[column];
+            if (size == values.length)
+                columns[column] = values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        size++;
+        columns[START_TIME][index] = startTime;
+        setAggregate(index, new Aggregate());
+    }
+
+    private Aggregate getAggregate(int index) {
+        Aggregate aggregate = new Aggregate();
+        aggregate.openTime = columns[OPEN_TIME][index];
+        aggregate.open = columns[OPEN][index];
+        aggregate.closeTime = columns[CLOSE_TIME][index];
+        aggregate.close = columns[CLOSE][index];
+        aggregate.minPrice = columns[MIN_PRICE][index];
+        aggregate.maxPrice = columns[MAX_PRICE][index];
+        aggregate.accumulatedAmount = columns[ACCUMULATED_AMOUNT][index];
+        aggregate.accumulatedVolume = columns[ACCUMULATED_VOLUME][index];
+        aggregate.numTrades = columns[NUM_TRADES][index];
+        return aggregate;
+    }
+
+    private void setAggregate(int index, Aggregate aggregate) {
+        columns[OPEN_TIME][index] = aggregate.openTime;
+        columns[OPEN][index] = aggregate.open;
+        columns[CLOSE_TIME][index] = aggregate.closeTime;
+        columns[CLOSE][index] = aggregate.close;
+        columns[MIN_PRICE][index] = aggregate.minPrice;
+        columns[MAX_PRICE][index] = aggregate.maxPrice;
+        columns[ACCUMULATED_AMOUNT][index] = aggregate.accumulatedAmount;
+        columns[ACCUMULATED_VOLUME][index] = aggregate.accumulatedVolume;
+        columns[NUM_TRADES][index] = aggregate.numTrades;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Aggregate
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Open, close, high, low and the accumulated values of a set of trades.
+     */
+    static class Aggregate {
+        private long openTime = Long.MAX_VALUE;
+        long open;
+        private long closeTime = Long.MIN_VALUE;
+        long close;
+        long minPrice = Long.MAX_VALUE;
+        long maxPrice = Long.MIN_VALUE;
+        long accumulatedAmount;
+        long accumulatedVolume;
+        long numTrades;
+
+        void add(TradeStatistics2 tradeStatistics) {
+            long time = tradeStatistics.getTradeDate().getTime();
+            long price = tradeStatistics.getTradePrice().getValue();
+            if (time < openTime) {
+                openTime = time;
+                open = price;
+            }
+            if (time >= closeTime) {
+                closeTime = time;
+                close = price;
+            }
+            minPrice = Math.min(minPrice, price);
+            maxPrice = Math.max(maxPrice, price);
+            accumulatedAmount += tradeStatistics.getTradeAmount().getValue();
+            accumulatedVolume += tradeStatistics.getTradeVolume() != null ? tradeStatistics.getTradeVolume().getValue() : 0;
+            numTrades++;
+        }
+
+        void merge(Aggregate aggregate) {
+            if (aggregate.openTime < openTime) {
+                openTime = aggregate.openTime;
+                open = aggregate.open;
+            }
+            if (aggregate.closeTime >= closeTime) {
+                closeTime = aggregate.closeTime;
+                close = aggregate.close;
+            }
+            minPrice = Math.min(minPrice, aggregate.minPrice);
+            maxPrice = Math.max(maxPrice, aggregate.maxPrice);
+            accumulatedAmount += aggregate.accumulatedAmount;
+            accumulatedVolume += aggregate.accumulatedVolume;
+            numTrades += aggregate.numTrades;
+        }
+    }
+}
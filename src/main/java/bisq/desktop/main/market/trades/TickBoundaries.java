@@ -0,0 +1,193 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.market.trades;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start times of the intervals of one tick unit in one time zone as epoch millis. The boundaries are calculated once
+ * with the calendar of the time zone and cached in a sorted long array, so rounding a time to its tick is a binary
+ * search without creating any objects.
+ * The boundaries are a strict partition of the time line. The only difference to the calendar calculation is in the
+ * repeated hour when the clocks are turned back, where the calendar maps a time of the second pass to an interval
+ * of the first pass, e.g. 02:45 to the first 02:40, while we keep the time in the latest interval before it.
+ * At most MAX_SIZE boundaries are cached. A time too far away from the cached range replaces it, so for a range of
+ * trades larger than that the lookups fall back to the cost of the calendar calculation.
+ * Not thread safe, it is only used from the UserThread.
+ */
+class TickBoundaries {
+    static final int MAX_SIZE = 8192;
+
+    private final TradesChartsViewModel.TickUnit tickUnit;
+    private final ZoneId zoneId;
+    // Sorted start times of consecutive intervals from boundaries[0] to boundaries[size - 1]
+    private long[] boundaries = new long[16];
+    private int size;
+
+    TickBoundaries(TradesChartsViewModel.TickUnit tickUnit, ZoneId zoneId) {
+        this.tickUnit = tickUnit;
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * @return The start time of the interval containing the given time
+     */
+    long roundToTick(long time) {
+        ensureRange(time);
+        int index = Arrays.binarySearch(boundaries, 0, size, time);
+        return index >= 0 ? boundaries[index] : boundaries[-index - 2];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Extends the cached boundaries so that boundaries[0] <= time < end of the last interval
+    private void ensureRange(long time) {
+        // We don't know the number of missing intervals without calculating them, but we know its upper bound
+        if (size > 0 && ((time < boundaries[0] && getMaxIntervals(time, boundaries[0]) > MAX_SIZE - size) ||
+                (time > boundaries[size - 1] && getMaxIntervals(boundaries[size - 1], time) > MAX_SIZE - size)))
+            size = 0;
+
+        if (size == 0) {
+            boundaries[0] = calculateRoundToTick(time);
+            size = 1;
+        }
+
+        if (time < boundaries[0]) {
+            // Count the missing intervals first so we need to shift the array only once
+            long first = calculateRoundToTick(time);
+            int count = 0;
+            for (long boundary = boundaries[0]; boundary > first; boundary = calculateRoundToTick(boundary - 1))
+                count++;
+            ensureCapacity(size + count);
+            System.arraycopy(boundaries, 0, boundaries, count, size);
+            long boundary = boundaries[count];
+            for (int i = count - 1; i >= 0; i--) {
+                boundary = calculateRoundToTick(boundary - 1);
+                boundaries[i] = boundary;
+            }
+            size += count;
+        }
+
+        long next = calculateNextBoundary(boundaries[size - 1]);
+        while (time >= next) {
+            ensureCapacity(size + 1);
+            boundaries[size++] = next;
+            next = calculateNextBoundary(next);
+        }
+    }
+
+    // Upper bound of the number of intervals between from and to. An interval gets shorter by at most one hour
+    // when the clocks are turned forward.
+    private long getMaxIntervals(long from, long to) {
+        long minLength;
+        switch (tickUnit) {
+            case YEAR:
+                minLength = TimeUnit.DAYS.toMillis(365);
+                break;
+            case MONTH:
+                minLength = TimeUnit.DAYS.toMillis(28);
+                break;
+            case WEEK:
+                minLength = TimeUnit.DAYS.toMillis(7);
+                break;
+            case DAY:
+                minLength = TimeUnit.HOURS.toMillis(24);
+                break;
+            case HOUR:
+                minLength = TimeUnit.MINUTES.toMillis(60);
+                break;
+            case MINUTE_10:
+            default:
+                minLength = TimeUnit.MINUTES.toMillis(10);
+                break;
+        }
+        minLength = Math.max(minLength - TimeUnit.HOURS.toMillis(1), TimeUnit.MINUTES.toMillis(10));
+        return (to - from) / minLength + 1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > boundaries.length)
+            boundaries = Arrays.copyOf(boundaries, Math.max(capacity, boundaries.length * 2));
+    }
+
+    private long calculateNextBoundary(long boundary) {
+        LocalDateTime local = LocalDateTime.ofInstant(Instant.ofEpochMilli(boundary), zoneId);
+        long next;
+        // At daylight saving time changes one step in local time might not lead to a later interval
+        do {
+            local = plusOneTick(local);
+            next = calculateRoundToTick(toEpochMilli(local));
+        } while (next <= boundary);
+        return next;
+    }
+
+    private LocalDateTime plusOneTick(LocalDateTime local) {
+        switch (tickUnit) {
+            case YEAR:
+                return local.plusYears(1);
+            case MONTH:
+                return local.plusMonths(1);
+            case WEEK:
+                return local.plusWeeks(1);
+            case DAY:
+                return local.plusDays(1);
+            case HOUR:
+                return local.plusHours(1);
+            case MINUTE_10:
+            default:
+                return local.plusMinutes(10);
+        }
+    }
+
+    /**
+     * Calculates the start of the interval with the calendar of the time zone.
+     */
+    long calculateRoundToTick(long time) {
+        LocalDateTime tradeLocal = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), zoneId);
+        switch (tickUnit) {
+            case YEAR:
+                return toEpochMilli(tradeLocal.withMonth(1).withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0));
+            case MONTH:
+                return toEpochMilli(tradeLocal.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0));
+            case WEEK:
+                int dayOfWeek = tradeLocal.getDayOfWeek().getValue();
+                LocalDateTime firstDayOfWeek = ChronoUnit.DAYS.addTo(tradeLocal, 1 - dayOfWeek);
+                return toEpochMilli(firstDayOfWeek.withHour(0).withMinute(0).withSecond(0).withNano(0));
+            case DAY:
+                return toEpochMilli(tradeLocal.withHour(0).withMinute(0).withSecond(0).withNano(0));
+            case HOUR:
+                return toEpochMilli(tradeLocal.withMinute(0).withSecond(0).withNano(0));
+            case MINUTE_10:
+                return toEpochMilli(tradeLocal.withMinute(tradeLocal.getMinute() - tradeLocal.getMinute() % 10).withSecond(0).withNano(0));
+            default:
+                return toEpochMilli(tradeLocal);
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime localDateTime) {
+        return localDateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+}
@@ -140,6 +140,9 @@ public class TradesChartsView extends ActivatableViewAndModel<VBox, TradesCharts
 
     @Override
     public void initialize() {
+        // Only the charts use it, so it is not added to the scene
+        root.getStylesheets().add("/bisq/desktop/CandleStickChart.css");
+
         toolBox = getToolBox();
         createCharts();
         createTable();
@@ -57,17 +57,12 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.SetChangeListener;
 
-import javafx.util.Pair;
-
-import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -105,7 +100,13 @@ class TradesChartsViewModel extends ActivatableViewModel {
     final ObservableList<TradeStatistics2> tradeStatisticsByCurrency = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> priceItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeItems = FXCollections.observableArrayList();
-    private Map<Long, Pair<Date, Set<TradeStatistics2>>> itemsPerInterval;
+    // Start times of the displayed intervals by tick index. The last entry is the current time.
+    private long[] tickTimes;
+    // Candle stores by currency code (or the show all flag) and tick unit, created lazily and updated at new trades
+    private final Map<String, Map<TickUnit, CandleStore>> candleStoresByCurrency = new HashMap<>();
+    // Cached interval boundaries of the time zone tickBoundariesZoneId
+    private final Map<TickUnit, TickBoundaries> tickBoundariesByTickUnit = new EnumMap<>(TickUnit.class);
+    private ZoneId tickBoundariesZoneId;
 
     TickUnit tickUnit = TickUnit.DAY;
     final int maxTicks = 30;
@@ -125,6 +126,10 @@ class TradesChartsViewModel extends ActivatableViewModel {
         this.formatter = formatter;
 
         setChangeListener = change -> {
+            if (change.wasAdded())
+                onTradeStatisticsAdded(change.getElementAdded());
+            if (change.wasRemoved())
+                onTradeStatisticsRemoved(change.getElementRemoved());
             updateChartData();
             fillTradeCurrencies();
         };
@@ -160,7 +165,10 @@ class TradesChartsViewModel extends ActivatableViewModel {
     @Override
     protected void activate() {
         tradeStatisticsManager.getObservableTradeStatisticsSet().addListener(setChangeListener);
+        // The stores have not been updated while we have not been listening
+        candleStoresByCurrency.clear();
         fillTradeCurrencies();
+        updateTradeStatisticsByCurrency();
         updateChartData();
         syncPriceFeedCurrency();
         setMarketPriceFeedCurrency();
@@ -189,6 +197,7 @@ class TradesChartsViewModel extends ActivatableViewModel {
                     preferences.setTradeChartsScreenCurrencyCode(code);
                 }
 
+                updateTradeStatisticsByCurrency();
                 updateChartData();
 
                 if (showAllEntry)
@@ -245,39 +254,70 @@ class TradesChartsViewModel extends ActivatableViewModel {
             priceFeedService.setCurrencyCode(selectedTradeCurrencyProperty.get().getCode());
     }
 
-    private void updateChartData() {
+    private void onTradeStatisticsAdded(TradeStatistics2 tradeStatistics) {
+        if (isSelectedCurrency(tradeStatistics))
+            tradeStatisticsByCurrency.add(tradeStatistics);
+
+        getCandleStores(tradeStatistics.getCurrencyCode()).forEach(candleStore -> candleStore.add(tradeStatistics));
+    }
+
+    private void onTradeStatisticsRemoved(TradeStatistics2 tradeStatistics) {
+        tradeStatisticsByCurrency.remove(tradeStatistics);
+
+        // Candles cannot be reverted, so the affected stores get created again when needed
+        candleStoresByCurrency.remove(tradeStatistics.getCurrencyCode());
+        candleStoresByCurrency.remove(GUIUtil.SHOW_ALL_FLAG);
+    }
+
+    private List<CandleStore> getCandleStores(String currencyCode) {
+        List<CandleStore> candleStores = new ArrayList<>();
+        if (candleStoresByCurrency.containsKey(currencyCode))
+            candleStores.addAll(candleStoresByCurrency.get(currencyCode).values());
+        if (candleStoresByCurrency.containsKey(GUIUtil.SHOW_ALL_FLAG))
+            candleStores.addAll(candleStoresByCurrency.get(GUIUtil.SHOW_ALL_FLAG).values());
+        return candleStores;
+    }
+
+    private CandleStore getSelectedCandleStore() {
+        String key = showAllTradeCurrenciesProperty.get() ? GUIUtil.SHOW_ALL_FLAG : getCurrencyCode();
+        return candleStoresByCurrency.computeIfAbsent(key, k -> new EnumMap<>(TickUnit.class))
+                .computeIfAbsent(tickUnit, k -> {
+                    CandleStore candleStore = new CandleStore(getTickBoundaries(tickUnit)::roundToTick);
+                    candleStore.addAll(tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
+                            .filter(this::isSelectedCurrency)
+                            .collect(Collectors.toList()));
+                    return candleStore;
+                });
+    }
+
+    private boolean isSelectedCurrency(TradeStatistics2 tradeStatistics) {
+        return showAllTradeCurrenciesProperty.get() || tradeStatistics.getCurrencyCode().equals(getCurrencyCode());
+    }
+
+    private void updateTradeStatisticsByCurrency() {
         tradeStatisticsByCurrency.setAll(tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                .filter(e -> showAllTradeCurrenciesProperty.get() || e.getCurrencyCode().equals(getCurrencyCode()))
+                .filter(this::isSelectedCurrency)
                 .collect(Collectors.toList()));
+    }
 
-        // Generate date range and create sets for all ticks
-        itemsPerInterval = new HashMap<>();
-        Date time = new Date();
-        for (long i = maxTicks + 1; i >= 0; --i) {
-            Set<TradeStatistics2> set = new HashSet<>();
-            Pair<Date, Set<TradeStatistics2>> pair = new Pair<>((Date) time.clone(), set);
-            itemsPerInterval.put(i, pair);
-            time.setTime(time.getTime() - 1);
-            time = roundToTick(time, tickUnit);
+    private void updateChartData() {
+        // Generate date range for all ticks
+        TickBoundaries tickBoundaries = getTickBoundaries(tickUnit);
+        tickTimes = new long[maxTicks + 2];
+        tickTimes[maxTicks + 1] = new Date().getTime();
+        for (int i = maxTicks; i >= 0; --i) {
+            tickTimes[i] = tickBoundaries.roundToTick(tickTimes[i + 1] - 1);
         }
 
-        // Get all entries for the defined time interval
-        tradeStatisticsByCurrency.stream().forEach(e -> {
-            for (long i = maxTicks; i > 0; --i) {
-                Pair<Date, Set<TradeStatistics2>> p = itemsPerInterval.get(i);
-                if (e.getTradeDate().after(p.getKey())) {
-                    p.getValue().add(e);
-                    break;
-                }
-            }
-        });
-
-        // create CandleData for defined time interval
-        List<CandleData> candleDataList = itemsPerInterval.entrySet().stream()
-                .filter(entry -> entry.getKey() >= 0 && !entry.getValue().getValue().isEmpty())
-                .map(entry -> getCandleData(entry.getKey(), entry.getValue().getValue()))
-                .collect(Collectors.toList());
-        candleDataList.sort((o1, o2) -> (o1.tick < o2.tick ? -1 : (o1.tick == o2.tick ? 0 : 1)));
+        // Read the candles of the defined time interval from the store. Trades with a date in the future are
+        // added to the latest candle.
+        CandleStore candleStore = getSelectedCandleStore();
+        List<CandleData> candleDataList = new ArrayList<>();
+        for (int i = 1; i <= maxTicks; i++) {
+            CandleStore.Aggregate aggregate = i < maxTicks ? candleStore.get(tickTimes[i]) : candleStore.getFrom(tickTimes[i]);
+            if (aggregate != null)
+                candleDataList.add(getCandleData(i, aggregate));
+        }
 
         //noinspection Convert2Diamond
         priceItems.setAll(candleDataList.stream()
@@ -292,47 +332,36 @@ class TradesChartsViewModel extends ActivatableViewModel {
 
     @VisibleForTesting
     CandleData getCandleData(long tick, Set<TradeStatistics2> set) {
-        long open = 0;
-        long close = 0;
-        long high = 0;
-        long low = 0;
-        long accumulatedVolume = 0;
-        long accumulatedAmount = 0;
-        long numTrades = set.size();
-
-        for (TradeStatistics2 item : set) {
-            long tradePriceAsLong = item.getTradePrice().getValue();
-            if (CurrencyUtil.isCryptoCurrency(getCurrencyCode())) {
-                low = (low != 0) ? Math.max(low, tradePriceAsLong) : tradePriceAsLong;
-                high = (high != 0) ? Math.min(high, tradePriceAsLong) : tradePriceAsLong;
-            } else {
-                low = (low != 0) ? Math.min(low, tradePriceAsLong) : tradePriceAsLong;
-                high = (high != 0) ? Math.max(high, tradePriceAsLong) : tradePriceAsLong;
-            }
-
-            accumulatedVolume += (item.getTradeVolume() != null) ? item.getTradeVolume().getValue() : 0;
-            accumulatedAmount += item.getTradeAmount().getValue();
-        }
+        CandleStore.Aggregate aggregate = new CandleStore.Aggregate();
+        set.forEach(aggregate::add);
+        return getCandleData(tick, aggregate);
+    }
 
-        List<TradeStatistics2> list = new ArrayList<>(set);
-        list.sort((o1, o2) -> (o1.getTradeDate().getTime() < o2.getTradeDate().getTime() ? -1 : (o1.getTradeDate().getTime() == o2.getTradeDate().getTime() ? 0 : 1)));
-        if (list.size() > 0) {
-            open = list.get(0).getTradePrice().getValue();
-            close = list.get(list.size() - 1).getTradePrice().getValue();
-        }
+    private CandleData getCandleData(long tick, CandleStore.Aggregate aggregate) {
+        long open = aggregate.open;
+        long close = aggregate.close;
+        long high;
+        long low;
+        long accumulatedVolume = aggregate.accumulatedVolume;
+        long accumulatedAmount = aggregate.accumulatedAmount;
+        long numTrades = aggregate.numTrades;
 
         long averagePrice;
         boolean isBullish;
         if (CurrencyUtil.isCryptoCurrency(getCurrencyCode())) {
+            // The price is inverted for altcoins
+            low = aggregate.maxPrice;
+            high = aggregate.minPrice;
             isBullish = close < open;
             double accumulatedAmountAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedAmount, Altcoin.SMALLEST_UNIT_EXPONENT);
             averagePrice = MathUtils.roundDoubleToLong(accumulatedAmountAsDouble / (double) accumulatedVolume);
         } else {
+            low = aggregate.minPrice;
+            high = aggregate.maxPrice;
             isBullish = close > open;
             double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
             averagePrice = MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
         }
-
         final Date dateFrom = new Date(getTimeFromTickIndex(tick));
         final Date dateTo = new Date(getTimeFromTickIndex(tick + 1));
         String dateString = tickUnit.ordinal() > TickUnit.DAY.ordinal() ?
@@ -343,32 +372,23 @@ class TradesChartsViewModel extends ActivatableViewModel {
     }
 
     Date roundToTick(Date time, TickUnit tickUnit) {
-        ZonedDateTime zdt = time.toInstant().atZone(ZoneId.systemDefault());
-        LocalDateTime tradeLocal = zdt.toLocalDateTime();
-
-        switch (tickUnit) {
-            case YEAR:
-                return Date.from(tradeLocal.withMonth(1).withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZoneId.systemDefault()).toInstant());
-            case MONTH:
-                return Date.from(tradeLocal.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZoneId.systemDefault()).toInstant());
-            case WEEK:
-                int dayOfWeek = tradeLocal.getDayOfWeek().getValue();
-                LocalDateTime firstDayOfWeek = ChronoUnit.DAYS.addTo(tradeLocal, 1 - dayOfWeek);
-                return Date.from(firstDayOfWeek.withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZoneId.systemDefault()).toInstant());
-            case DAY:
-                return Date.from(tradeLocal.withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZoneId.systemDefault()).toInstant());
-            case HOUR:
-                return Date.from(tradeLocal.withMinute(0).withSecond(0).withNano(0).atZone(ZoneId.systemDefault()).toInstant());
-            case MINUTE_10:
-                return Date.from(tradeLocal.withMinute(tradeLocal.getMinute() - tradeLocal.getMinute() % 10).withSecond(0).withNano(0).atZone(ZoneId.systemDefault()).toInstant());
-            default:
-                return Date.from(tradeLocal.atZone(ZoneId.systemDefault()).toInstant());
+        return new Date(getTickBoundaries(tickUnit).roundToTick(time.getTime()));
+    }
+
+    private TickBoundaries getTickBoundaries(TickUnit tickUnit) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        if (!zoneId.equals(tickBoundariesZoneId)) {
+            // The candle stores have been calculated with the boundaries of the old time zone
+            tickBoundariesByTickUnit.clear();
+            candleStoresByCurrency.clear();
+            tickBoundariesZoneId = zoneId;
         }
+        return tickBoundariesByTickUnit.computeIfAbsent(tickUnit, key -> new TickBoundaries(tickUnit, zoneId));
     }
 
     private long getTimeFromTick(long tick) {
-        if (itemsPerInterval == null || itemsPerInterval.get(tick) == null) return 0;
-        return itemsPerInterval.get(tick).getKey().getTime();
+        if (tickTimes == null || tick < 0 || tick >= tickTimes.length) return 0;
+        return tickTimes[(int) tick];
     }
 
     long getTimeFromTickIndex(long index) {
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds a value which is only recalculated if the key it depends on has changed.
+ * Used for display strings and sort keys of the offer book items which depend on the price feed and the decimal
+ * alignment widths.
+ */
+class CachedValue<T> {
+    private long key;
+    private boolean hasValue;
+    @Nullable
+    private T value;
+
+    @Nullable
+    T get(long key, Supplier<T> supplier) {
+        if (!hasValue || this.key != key) {
+            value = supplier.get();
+            this.key = key;
+            hasValue = true;
+        }
+        return value;
+    }
+}
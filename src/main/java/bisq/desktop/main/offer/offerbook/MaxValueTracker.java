@@ -0,0 +1,88 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps track of the item with the highest key in a multiset of items, so the maximum can be maintained with
+ * O(log n) per added or removed item instead of a full scan at each change.
+ * The key is calculated once when the item gets added, so items with a changing key (e.g. a market based price)
+ * are removed with the key they had been added with.
+ * Items are tracked by identity.
+ */
+class MaxValueTracker<T> {
+    private final ToLongFunction<T> keyFunction;
+    private final Predicate<T> filter;
+    private final TreeMap<Long, Set<T>> itemsByKey = new TreeMap<>();
+    private final Map<T, Long> keyByItem = new IdentityHashMap<>();
+
+    MaxValueTracker(ToLongFunction<T> keyFunction) {
+        this(keyFunction, item -> true);
+    }
+
+    /**
+     * @param keyFunction Function for the key used for the ordering of the items
+     * @param filter      Only items matching the filter are tracked
+     */
+    MaxValueTracker(ToLongFunction<T> keyFunction, Predicate<T> filter) {
+        this.keyFunction = keyFunction;
+        this.filter = filter;
+    }
+
+    void add(T item) {
+        if (keyByItem.containsKey(item) || !filter.test(item))
+            return;
+
+        long key = keyFunction.applyAsLong(item);
+        keyByItem.put(item, key);
+        itemsByKey.computeIfAbsent(key, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(item);
+    }
+
+    void remove(T item) {
+        Long key = keyByItem.remove(item);
+        if (key == null)
+            return;
+
+        Set<T> items = itemsByKey.get(key);
+        items.remove(item);
+        if (items.isEmpty())
+            itemsByKey.remove(key);
+    }
+
+    void clear() {
+        itemsByKey.clear();
+        keyByItem.clear();
+    }
+
+    Optional<T> getMax() {
+        Map.Entry<Long, Set<T>> lastEntry = itemsByKey.lastEntry();
+        return lastEntry != null ? Optional.of(lastEntry.getValue().iterator().next()) : Optional.empty();
+    }
+
+    int size() {
+        return keyByItem.size();
+    }
+}
@@ -19,20 +19,37 @@ package bisq.desktop.main.offer.offerbook;
 
 import bisq.core.offer.Offer;
 import bisq.core.offer.OfferBookService;
+import bisq.core.offer.OfferPayload;
 import bisq.core.trade.TradeManager;
 
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import com.google.common.annotations.VisibleForTesting;
+
 import javax.inject.Inject;
 
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static bisq.core.offer.OfferPayload.Direction.BUY;
 
 /**
@@ -44,10 +61,24 @@ import static bisq.core.offer.OfferPayload.Direction.BUY;
  */
 @Slf4j
 public class OfferBook {
+    // Default interval for applying the buffered offer events to offerBookListItems
+    private static final long DEFAULT_UPDATE_INTERVAL_MS = 200;
+
     private final OfferBookService offerBookService;
     private final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
-    private final Map<String, Integer> buyOfferCountMap = new HashMap<>();
-    private final Map<String, Integer> sellOfferCountMap = new HashMap<>();
+    // Index by offer ID of all offers including the pending ones not applied yet to offerBookListItems
+    private final Map<String, OfferBookListItem> offerBookListItemsById = new HashMap<>();
+    // We buffer the changes and apply them as bulk changes so the listeners on offerBookListItems get called once
+    // per batch and not once per offer.
+    private final Map<String, OfferBookListItem> pendingAddedItemsById = new LinkedHashMap<>();
+    // OfferBookListItem.equals is based on the mutable offer state so we use identity for the items to remove
+    private final Set<OfferBookListItem> pendingRemovedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Offer counts per currency code, maintained incrementally whenever offerBookListItems gets changed
+    private final Map<String, IntegerProperty> buyOfferCountMap = new HashMap<>();
+    private final Map<String, IntegerProperty> sellOfferCountMap = new HashMap<>();
+    private long updateIntervalMs = DEFAULT_UPDATE_INTERVAL_MS;
+    @Nullable
+    private Timer updateTimer;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -63,22 +94,22 @@ public class OfferBook {
                 // We get onAdded called every time a new ProtectedStorageEntry is received.
                 // Mostly it is the same OfferPayload but the ProtectedStorageEntry is different.
                 // We filter here to only add new offers if the same offer (using equals) was not already added.
-                boolean hasSameOffer = offerBookListItems.stream()
-                        .anyMatch(item -> item.getOffer().equals(offer));
-                if (!hasSameOffer) {
+                // Offers with the same ID are the only candidates for equals, so we use the ID index for lookup
+                // instead of scanning the whole list.
+                OfferBookListItem candidateWithSameId = offerBookListItemsById.get(offer.getId());
+                if (candidateWithSameId == null || !candidateWithSameId.getOffer().equals(offer)) {
                     OfferBookListItem offerBookListItem = new OfferBookListItem(offer);
                     // We don't use the contains method as the equals method in Offer takes state and errorMessage into account.
                     // If we have an offer with same ID we remove it and add the new offer as it might have a changed state.
-                    Optional<OfferBookListItem> candidateWithSameId = offerBookListItems.stream()
-                            .filter(item -> item.getOffer().getId().equals(offer.getId()))
-                            .findAny();
-                    if (candidateWithSameId.isPresent()) {
+                    if (candidateWithSameId != null) {
                         log.warn("We had an old offer in the list with the same Offer ID. Might be that the state or errorMessage was different. " +
-                                "old offerBookListItem={}, new offerBookListItem={}", candidateWithSameId.get(), offerBookListItem);
-                        offerBookListItems.remove(candidateWithSameId.get());
+                                "old offerBookListItem={}, new offerBookListItem={}", candidateWithSameId, offerBookListItem);
+                        removeItem(candidateWithSameId);
                     }
 
-                    offerBookListItems.add(offerBookListItem);
+                    offerBookListItemsById.put(offer.getId(), offerBookListItem);
+                    pendingAddedItemsById.put(offer.getId(), offerBookListItem);
+                    scheduleUpdate();
                 } else {
                     log.debug("We have the exact same offer already in our list and ignore the onAdded call. ID={}", offer.getId());
                 }
@@ -92,10 +123,11 @@ public class OfferBook {
                 // clean up possible references in openOfferManager
                 tradeManager.onOfferRemovedFromRemoteOfferBook(offer);
                 // We don't use the contains method as the equals method in Offer takes state and errorMessage into account.
-                Optional<OfferBookListItem> candidateToRemove = offerBookListItems.stream()
-                        .filter(item -> item.getOffer().getId().equals(offer.getId()))
-                        .findAny();
-                candidateToRemove.ifPresent(offerBookListItems::remove);
+                OfferBookListItem candidateToRemove = offerBookListItemsById.get(offer.getId());
+                if (candidateToRemove != null) {
+                    removeItem(candidateToRemove);
+                    scheduleUpdate();
+                }
             }
         });
     }
@@ -106,12 +138,19 @@ public class OfferBook {
 
     public void fillOfferBookListItems() {
         try {
+            stopUpdateTimer();
+            pendingAddedItemsById.clear();
+            pendingRemovedItems.clear();
+
             // setAll causes sometimes an UnsupportedOperationException
             // Investigate why....
             offerBookListItems.clear();
-            offerBookListItems.addAll(offerBookService.getOffers().stream()
+            offerBookListItemsById.clear();
+            List<OfferBookListItem> list = offerBookService.getOffers().stream()
                     .map(OfferBookListItem::new)
-                    .collect(Collectors.toList()));
+                    .collect(Collectors.toList());
+            list.forEach(item -> offerBookListItemsById.put(item.getOffer().getId(), item));
+            offerBookListItems.addAll(list);
 
             log.debug("offerBookListItems.size " + offerBookListItems.size());
             fillOfferCountMaps();
@@ -121,30 +160,90 @@ public class OfferBook {
         }
     }
 
-    public Map<String, Integer> getBuyOfferCountMap() {
-        return buyOfferCountMap;
+    /**
+     * Sets the interval in which buffered offer events get applied to the offerBookListItems.
+     * With 0 each event is applied immediately.
+     */
+    public void setUpdateInterval(long updateIntervalMs) {
+        this.updateIntervalMs = updateIntervalMs;
     }
 
-    public Map<String, Integer> getSellOfferCountMap() {
-        return sellOfferCountMap;
+    /**
+     * Applies the buffered offer events right away instead of waiting for the update timer.
+     */
+    @VisibleForTesting
+    void flushPendingChanges() {
+        stopUpdateTimer();
+        applyPendingChanges();
+    }
+
+    public Map<String, IntegerProperty> getBuyOfferCountMap() {
+        return Collections.unmodifiableMap(buyOfferCountMap);
+    }
+
+    public Map<String, IntegerProperty> getSellOfferCountMap() {
+        return Collections.unmodifiableMap(sellOfferCountMap);
+    }
+
+    /**
+     * @return The observable number of offers with the given direction for the currency code. Returns the same
+     * property instance for the lifetime of the OfferBook, so it can be used for bindings.
+     */
+    public ReadOnlyIntegerProperty getOfferCount(OfferPayload.Direction direction, String currencyCode) {
+        return getOfferCountProperty(direction, currencyCode);
     }
 
     private void fillOfferCountMaps() {
-        buyOfferCountMap.clear();
-        sellOfferCountMap.clear();
-        final String[] ccyCode = new String[1];
-        final int[] offerCount = new int[1];
-        offerBookListItems.forEach(o -> {
-            ccyCode[0] = o.getOffer().getCurrencyCode();
-            if (o.getOffer().getDirection() == BUY) {
-                offerCount[0] = buyOfferCountMap.getOrDefault(ccyCode[0], 0) + 1;
-                buyOfferCountMap.put(ccyCode[0], offerCount[0]);
-            } else {
-                offerCount[0] = sellOfferCountMap.getOrDefault(ccyCode[0], 0) + 1;
-                sellOfferCountMap.put(ccyCode[0], offerCount[0]);
-            }
-        });
+        // We keep the property instances as they might be bound
+        buyOfferCountMap.values().forEach(count -> count.set(0));
+        sellOfferCountMap.values().forEach(count -> count.set(0));
+        offerBookListItems.forEach(item -> updateOfferCount(item.getOffer(), 1));
         log.debug("buyOfferCountMap.size {}   sellOfferCountMap.size {}",
                 buyOfferCountMap.size(), sellOfferCountMap.size());
     }
+
+    private void updateOfferCount(Offer offer, int delta) {
+        IntegerProperty count = getOfferCountProperty(offer.getDirection(), offer.getCurrencyCode());
+        count.set(count.get() + delta);
+    }
+
+    private IntegerProperty getOfferCountProperty(OfferPayload.Direction direction, String currencyCode) {
+        Map<String, IntegerProperty> offerCountMap = direction == BUY ? buyOfferCountMap : sellOfferCountMap;
+        return offerCountMap.computeIfAbsent(currencyCode, key -> new SimpleIntegerProperty(0));
+    }
+
+    private void removeItem(OfferBookListItem item) {
+        offerBookListItemsById.remove(item.getOffer().getId());
+        // If the item was not applied yet we only need to drop it from the pending items
+        if (pendingAddedItemsById.remove(item.getOffer().getId()) == null)
+            pendingRemovedItems.add(item);
+    }
+
+    private void scheduleUpdate() {
+        if (updateIntervalMs <= 0)
+            applyPendingChanges();
+        else if (updateTimer == null)
+            updateTimer = UserThread.runAfter(this::applyPendingChanges, updateIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void applyPendingChanges() {
+        updateTimer = null;
+        if (!pendingRemovedItems.isEmpty()) {
+            offerBookListItems.removeAll(pendingRemovedItems);
+            pendingRemovedItems.forEach(item -> updateOfferCount(item.getOffer(), -1));
+            pendingRemovedItems.clear();
+        }
+        if (!pendingAddedItemsById.isEmpty()) {
+            offerBookListItems.addAll(pendingAddedItemsById.values());
+            pendingAddedItemsById.values().forEach(item -> updateOfferCount(item.getOffer(), 1));
+            pendingAddedItemsById.clear();
+        }
+    }
+
+    private void stopUpdateTimer() {
+        if (updateTimer != null) {
+            updateTimer.stop();
+            updateTimer = null;
+        }
+    }
 }
@@ -17,12 +17,47 @@
 
 package bisq.desktop.main.offer.offerbook;
 
+import bisq.core.monetary.Price;
+import bisq.core.monetary.Volume;
 import bisq.core.offer.Offer;
 
-import lombok.Value;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
-@Value
+import javax.annotation.Nullable;
+
+@EqualsAndHashCode(of = "offer")
+@ToString(of = "offer")
 public class OfferBookListItem {
+    @Getter
     private final Offer offer;
-}
 
+    // Memoized results of the offer checks. Not part of equals as they are only derived from the offer.
+    @Nullable
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private Boolean myOffer;
+    @Nullable
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private OfferEligibility offerEligibility;
+
+    // Memoized display strings and sort keys, see OfferBookViewModel
+    @Getter(AccessLevel.PACKAGE)
+    private final CachedValue<String> amountString = new CachedValue<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final CachedValue<String> priceString = new CachedValue<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final CachedValue<String> volumeString = new CachedValue<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final CachedValue<Price> priceSortKey = new CachedValue<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final CachedValue<Volume> volumeSortKey = new CachedValue<>();
+
+    public OfferBookListItem(Offer offer) {
+        this.offer = offer;
+    }
+}
@@ -57,6 +57,7 @@ import bisq.core.util.BSFormatter;
 
 import bisq.network.p2p.NodeAddress;
 
+import bisq.common.UserThread;
 import bisq.common.util.Tuple3;
 
 import org.bitcoinj.core.Coin;
@@ -73,6 +74,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
@@ -91,6 +93,8 @@ import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 import org.fxmisc.easybind.monadic.MonadicBinding;
 
+import javafx.beans.binding.Bindings;
+
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -105,6 +109,8 @@ import java.util.Optional;
 
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
 import static bisq.desktop.util.FormBuilder.addButton;
 import static bisq.desktop.util.FormBuilder.addTitledGroupBg;
 
@@ -128,6 +134,7 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
     private Label nrOfOffersLabel;
     private ListChangeListener<OfferBookListItem> offerListListener;
     private ChangeListener<Number> priceFeedUpdateCounterListener;
+    private ChangeListener<Number> eligibilityVersionListener;
     private Subscription currencySelectionSubscriber;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -220,14 +227,14 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
             return str1 != null && str2 != null ? str1.compareTo(str2) : 0;
         });
         priceColumn.setComparator((o1, o2) -> {
-            Price price1 = o1.getOffer().getPrice();
-            Price price2 = o2.getOffer().getPrice();
+            Price price1 = model.getPriceSortKey(o1);
+            Price price2 = model.getPriceSortKey(o2);
             return price1 != null && price2 != null ? price1.compareTo(price2) : 0;
         });
         amountColumn.setComparator(Comparator.comparing(o -> o.getOffer().getAmount()));
         volumeColumn.setComparator((o1, o2) -> {
-            Volume offerVolume1 = o1.getOffer().getVolume();
-            Volume offerVolume2 = o2.getOffer().getVolume();
+            Volume offerVolume1 = model.getVolumeSortKey(o1);
+            Volume offerVolume2 = model.getVolumeSortKey(o2);
             return offerVolume1 != null && offerVolume2 != null ? offerVolume1.compareTo(offerVolume2) : 0;
         });
         paymentMethodColumn.setComparator(Comparator.comparing(o -> o.getOffer().getPaymentMethod()));
@@ -256,15 +263,21 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
         // Fixes incorrect ordering of Available offers:
         // https://github.com/bisq-network/bisq-desktop/issues/588
         priceFeedUpdateCounterListener = (observable, oldValue, newValue) -> tableView.sort();
+        // The eligibility might get invalidated while the cells are updated, so we refresh after the current pulse
+        eligibilityVersionListener = (observable, oldValue, newValue) -> UserThread.execute(tableView::refresh);
     }
 
     @Override
     protected void activate() {
         currencyComboBox.setItems(model.getTradeCurrencies());
-        currencyComboBox.setConverter(GUIUtil.getTradeCurrencyConverter(
+        StringConverter<TradeCurrency> currencyConverter = GUIUtil.getTradeCurrencyConverter(
                 Res.get("shared.oneOffer"),
                 Res.get("shared.multipleOffers"),
-                (model.getDirection() == OfferPayload.Direction.BUY ? model.getSellOfferCounts() : model.getBuyOfferCounts())));
+                (model.getDirection() == OfferPayload.Direction.BUY ? model.getSellOfferCounts() : model.getBuyOfferCounts()));
+        currencyComboBox.setConverter(currencyConverter);
+        // The offer counts change while the offer book is shown, so the cells are bound to the counts
+        currencyComboBox.setCellFactory(listView -> new OfferCountListCell(currencyConverter, null));
+        currencyComboBox.setButtonCell(new OfferCountListCell(currencyConverter, currencyComboBox.getPromptText()));
         currencyComboBox.setVisibleRowCount(Math.min(currencyComboBox.getItems().size(), 25));
         currencyComboBox.setOnAction(e -> model.onSetTradeCurrency(currencyComboBox.getSelectionModel().getSelectedItem()));
 
@@ -317,6 +330,7 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
         nrOfOffersLabel.setText(Res.get("offerbook.nrOffers", model.getOfferList().size()));
 
         model.priceFeedService.updateCounterProperty().addListener(priceFeedUpdateCounterListener);
+        model.eligibilityVersionProperty().addListener(eligibilityVersionListener);
     }
 
     @Override
@@ -333,6 +347,7 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
 
         model.getOfferList().removeListener(offerListListener);
         model.priceFeedService.updateCounterProperty().removeListener(priceFeedUpdateCounterListener);
+        model.eligibilityVersionProperty().removeListener(eligibilityVersionListener);
 
         currencySelectionSubscriber.unsubscribe();
     }
@@ -418,39 +433,30 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
         }
     }
 
-    private void onShowInfo(Offer offer,
-                            boolean isPaymentAccountValidForOffer,
-                            boolean hasMatchingArbitrator,
-                            boolean hasSameProtocolVersion,
-                            boolean isIgnored,
-                            boolean isOfferBanned,
-                            boolean isCurrencyBanned,
-                            boolean isPaymentMethodBanned,
-                            boolean isNodeAddressBanned,
-                            boolean isInsufficientTradeLimit) {
-        if (!hasMatchingArbitrator) {
+    private void onShowInfo(Offer offer, OfferEligibility offerEligibility) {
+        if (!offerEligibility.isMatchingArbitrator()) {
             openPopupForMissingAccountSetup(Res.get("popup.warning.noArbitratorSelected.headline"),
                     Res.get("popup.warning.noArbitratorSelected.msg"),
                     ArbitratorSelectionView.class,
                     "navigation.arbitratorSelection");
-        } else if (!isPaymentAccountValidForOffer) {
+        } else if (!offerEligibility.isPaymentAccountValidForOffer()) {
             openPopupForMissingAccountSetup(Res.get("offerbook.warning.noMatchingAccount.headline"),
                     Res.get("offerbook.warning.noMatchingAccount.msg"),
                     FiatAccountsView.class,
                     "navigation.account");
-        } else if (!hasSameProtocolVersion) {
+        } else if (!offerEligibility.isSameProtocolVersion()) {
             new Popup<>().warning(Res.get("offerbook.warning.wrongTradeProtocol")).show();
-        } else if (isIgnored) {
+        } else if (offerEligibility.isIgnored()) {
             new Popup<>().warning(Res.get("offerbook.warning.userIgnored")).show();
-        } else if (isOfferBanned) {
+        } else if (offerEligibility.isOfferBanned()) {
             new Popup<>().warning(Res.get("offerbook.warning.offerBlocked")).show();
-        } else if (isCurrencyBanned) {
+        } else if (offerEligibility.isCurrencyBanned()) {
             new Popup<>().warning(Res.get("offerbook.warning.currencyBanned")).show();
-        } else if (isPaymentMethodBanned) {
+        } else if (offerEligibility.isPaymentMethodBanned()) {
             new Popup<>().warning(Res.get("offerbook.warning.paymentMethodBanned")).show();
-        } else if (isNodeAddressBanned) {
+        } else if (offerEligibility.isNodeAddressBanned()) {
             new Popup<>().warning(Res.get("offerbook.warning.nodeBlocked")).show();
-        } else if (isInsufficientTradeLimit) {
+        } else if (offerEligibility.isInsufficientTradeLimit()) {
             final Optional<PaymentAccount> account = model.getMostMaturePaymentAccountForOffer(offer);
             if (account.isPresent()) {
                 final long tradeLimit = model.accountAgeWitnessService.getMyTradeLimit(account.get(), offer.getCurrencyCode());
@@ -802,9 +808,8 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
                         return new TableCell<OfferBookListItem, OfferBookListItem>() {
                             final ImageView iconView = new ImageView();
                             final Button button = new AutoTooltipButton();
-                            boolean isTradable, isPaymentAccountValidForOffer, hasMatchingArbitrator,
-                                    hasSameProtocolVersion, isIgnored, isOfferBanned, isCurrencyBanned,
-                                    isPaymentMethodBanned, isNodeAddressBanned, isInsufficientTradeLimit;
+                            boolean isTradable;
+                            OfferEligibility offerEligibility;
 
                             {
                                 button.setGraphic(iconView);
@@ -820,27 +825,11 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
                                 TableRow tableRow = getTableRow();
                                 if (newItem != null && !empty) {
                                     final Offer offer = newItem.getOffer();
-                                    boolean myOffer = model.isMyOffer(offer);
+                                    boolean myOffer = model.isMyOffer(newItem);
+                                    // The checks are memoized at the item so scrolling does not repeat them
+                                    offerEligibility = model.getOfferEligibility(newItem);
+                                    isTradable = offerEligibility.isTradable();
                                     if (tableRow != null) {
-                                        isPaymentAccountValidForOffer = model.isAnyPaymentAccountValidForOffer(offer);
-                                        hasMatchingArbitrator = model.hasMatchingArbitrator(offer);
-                                        hasSameProtocolVersion = model.hasSameProtocolVersion(offer);
-                                        isIgnored = model.isIgnored(offer);
-                                        isOfferBanned = model.isOfferBanned(offer);
-                                        isCurrencyBanned = model.isCurrencyBanned(offer);
-                                        isPaymentMethodBanned = model.isPaymentMethodBanned(offer);
-                                        isNodeAddressBanned = model.isNodeAddressBanned(offer);
-                                        isInsufficientTradeLimit = model.isInsufficientTradeLimit(offer);
-                                        isTradable = isPaymentAccountValidForOffer &&
-                                                hasMatchingArbitrator &&
-                                                hasSameProtocolVersion &&
-                                                !isIgnored &&
-                                                !isOfferBanned &&
-                                                !isCurrencyBanned &&
-                                                !isPaymentMethodBanned &&
-                                                !isNodeAddressBanned &&
-                                                !isInsufficientTradeLimit;
-
                                         tableRow.setOpacity(isTradable || myOffer ? 1 : 0.4);
 
                                         if (isTradable) {
@@ -852,16 +841,7 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
                                             tableRow.setOnMousePressed(e -> {
                                                 // ugly hack to get the icon clickable when deactivated
                                                 if (!(e.getTarget() instanceof ImageView || e.getTarget() instanceof Canvas))
-                                                    onShowInfo(offer,
-                                                            isPaymentAccountValidForOffer,
-                                                            hasMatchingArbitrator,
-                                                            hasSameProtocolVersion,
-                                                            isIgnored,
-                                                            isOfferBanned,
-                                                            isCurrencyBanned,
-                                                            isPaymentMethodBanned,
-                                                            isNodeAddressBanned,
-                                                            isInsufficientTradeLimit);
+                                                    onShowInfo(offer, offerEligibility);
                                             });
                                         }
                                     }
@@ -884,16 +864,7 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
                                     }
 
                                     if (!myOffer && !isTradable)
-                                        button.setOnAction(e -> onShowInfo(offer,
-                                                isPaymentAccountValidForOffer,
-                                                hasMatchingArbitrator,
-                                                hasSameProtocolVersion,
-                                                isIgnored,
-                                                isOfferBanned,
-                                                isCurrencyBanned,
-                                                isPaymentMethodBanned,
-                                                isNodeAddressBanned,
-                                                isInsufficientTradeLimit));
+                                        button.setOnAction(e -> onShowInfo(offer, offerEligibility));
 
                                     button.setText(title);
                                     setGraphic(button);
@@ -936,10 +907,9 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
                                     final Offer offer = newItem.getOffer();
                                     final NodeAddress makersNodeAddress = offer.getOwnerNodeAddress();
                                     String role = Res.get("peerInfoIcon.tooltip.maker");
-                                    int numTrades = model.getNumTrades(offer);
                                     PeerInfoIcon peerInfoIcon = new PeerInfoIcon(makersNodeAddress,
                                             role,
-                                            numTrades,
+                                            model.getPeerStatistics(offer),
                                             privateNotificationManager,
                                             offer,
                                             model.preferences,
@@ -956,5 +926,28 @@ public class OfferBookView extends ActivatableViewAndModel<GridPane, OfferBookVi
                 });
         return column;
     }
-}
 
+    private class OfferCountListCell extends ListCell<TradeCurrency> {
+        private final StringConverter<TradeCurrency> converter;
+        @Nullable
+        private final String emptyText;
+
+        OfferCountListCell(StringConverter<TradeCurrency> converter, @Nullable String emptyText) {
+            this.converter = converter;
+            this.emptyText = emptyText;
+        }
+
+        @Override
+        protected void updateItem(TradeCurrency item, boolean empty) {
+            super.updateItem(item, empty);
+            textProperty().unbind();
+            if (item != null && !empty) {
+                // The converter reads the count, we only need to get notified when it changes
+                textProperty().bind(Bindings.createStringBinding(() -> converter.toString(item),
+                        model.getOfferCount(item.getCode())));
+            } else {
+                setText(emptyText);
+            }
+        }
+    }
+}
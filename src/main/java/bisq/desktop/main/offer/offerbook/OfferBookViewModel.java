@@ -23,7 +23,11 @@ import bisq.desktop.main.MainView;
 import bisq.desktop.main.settings.SettingsView;
 import bisq.desktop.main.settings.preferences.PreferencesView;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.PeerTradeHistory;
 
+import bisq.core.arbitration.Arbitrator;
+import bisq.core.arbitration.ArbitratorManager;
+import bisq.core.filter.Filter;
 import bisq.core.filter.FilterManager;
 import bisq.core.locale.BankUtil;
 import bisq.core.locale.CountryUtil;
@@ -42,8 +46,6 @@ import bisq.core.payment.PaymentAccount;
 import bisq.core.payment.PaymentAccountUtil;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.provider.price.PriceFeedService;
-import bisq.core.trade.Trade;
-import bisq.core.trade.closed.ClosedTradableManager;
 import bisq.core.user.Preferences;
 import bisq.core.user.User;
 import bisq.core.util.BSFormatter;
@@ -51,6 +53,8 @@ import bisq.core.util.BSFormatter;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.P2PService;
 
+import bisq.common.Timer;
+import bisq.common.UserThread;
 import bisq.common.app.Version;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
@@ -63,9 +67,12 @@ import com.google.common.base.Joiner;
 
 import javafx.scene.control.TableColumn;
 
+import javafx.beans.value.ChangeListener;
+
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -74,30 +81,43 @@ import javafx.beans.property.StringProperty;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.SetChangeListener;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 
 import java.text.DecimalFormat;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 class OfferBookViewModel extends ActivatableViewModel {
+    // The account age witnesses and the trade limits derived from the account age don't notify about changes
+    private static final long ELIGIBILITY_REFRESH_INTERVAL_MIN = 1;
+
     private final OpenOfferManager openOfferManager;
     private final User user;
     private final OfferBook offerBook;
     final Preferences preferences;
     private final P2PService p2PService;
     final PriceFeedService priceFeedService;
-    private final ClosedTradableManager closedTradableManager;
+    private final PeerTradeHistory peerTradeHistory;
     private final FilterManager filterManager;
+    private final ArbitratorManager arbitratorManager;
     final AccountAgeWitnessService accountAgeWitnessService;
     private final Navigation navigation;
     final BSFormatter formatter;
@@ -108,7 +128,33 @@ class OfferBookViewModel extends ActivatableViewModel {
     private final SortedList<OfferBookListItem> sortedItems;
     private final ListChangeListener<TradeCurrency> tradeCurrencyListChangeListener;
     private final ListChangeListener<OfferBookListItem> filterItemsListener;
+    private final ChangeListener<Number> priceFeedUpdateCounterListener;
+    private final ChangeListener<Filter> filterChangeListener;
+    private final SetChangeListener<PaymentAccount> paymentAccountsChangeListener;
+    private final MapChangeListener<NodeAddress, Arbitrator> arbitratorMapChangeListener;
     private TradeCurrency selectedTradeCurrency;
+    private final DecimalFormat marketPriceMarginFormat = new DecimalFormat("#0.00");
+    // Used for the decimal alignment widths. They are updated incrementally from the changes of filteredItems.
+    private final MaxValueTracker<OfferBookListItem> highestAmountTracker = new MaxValueTracker<>(
+            item -> item.getOffer().getAmount().getValue());
+    private final MaxValueTracker<OfferBookListItem> rangeAmountTracker = new MaxValueTracker<>(
+            item -> 0, item -> item.getOffer().isRange());
+    // The price of market based offers changes with each price feed update, so the tracker only contains the offers
+    // with a fixed price. The market based offer with the highest price is searched at each price feed update and
+    // only the added offers are compared with it at list changes.
+    private final MaxValueTracker<OfferBookListItem> highestPriceTracker = new MaxValueTracker<>(
+            item -> item.getOffer().getPrice().getValue(),
+            item -> !item.getOffer().isUseMarketBasedPrice() && item.getOffer().getPrice() != null);
+    private final Set<OfferBookListItem> marketBasedPriceItems = Collections.newSetFromMap(new IdentityHashMap<>());
+    @Nullable
+    private OfferBookListItem highestMarketBasedPriceItem;
+    private long highestMarketBasedPrice;
+    private boolean highestMarketBasedPriceItemRemoved;
+    private final MaxValueTracker<OfferBookListItem> highestMarketPriceMarginTracker = new MaxValueTracker<>(
+            item -> marketPriceMarginFormat.format(item.getOffer().getMarketPriceMargin() * 100).length(),
+            item -> item.getOffer().isUseMarketBasedPrice());
+    private final List<MaxValueTracker<OfferBookListItem>> maxValueTrackers = Arrays.asList(highestAmountTracker,
+            rangeAmountTracker, highestPriceTracker, highestMarketPriceMarginTracker);
     private final ObservableList<TradeCurrency> allTradeCurrencies = FXCollections.observableArrayList();
 
     private OfferPayload.Direction direction;
@@ -127,6 +173,16 @@ class OfferBookViewModel extends ActivatableViewModel {
     final IntegerProperty maxPlacesForMarketPriceMargin = new SimpleIntegerProperty();
     boolean showAllPaymentMethods = true;
 
+    // The buy and the sell view models share the items of the OfferBook, but each item is only listed by the view
+    // model of the opposite direction, so a version per instance is enough for the memoized OfferEligibility.
+    private final IntegerProperty eligibilityVersion = new SimpleIntegerProperty();
+    private boolean isEligibilityInputsSnapshotValid;
+    @Nullable
+    private Timer eligibilityRefreshTimer;
+    private final List<String> ignoreTradersList = new ArrayList<>();
+    private final Set<String> ignoredTraders = new HashSet<>();
+    private final Set<NodeAddress> acceptedArbitratorAddresses = new HashSet<>();
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor, lifecycle
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -139,8 +195,9 @@ class OfferBookViewModel extends ActivatableViewModel {
                               Preferences preferences,
                               P2PService p2PService,
                               PriceFeedService priceFeedService,
-                              ClosedTradableManager closedTradableManager,
+                              PeerTradeHistory peerTradeHistory,
                               FilterManager filterManager,
+                              ArbitratorManager arbitratorManager,
                               AccountAgeWitnessService accountAgeWitnessService,
                               Navigation navigation,
                               BSFormatter formatter) {
@@ -152,8 +209,9 @@ class OfferBookViewModel extends ActivatableViewModel {
         this.preferences = preferences;
         this.p2PService = p2PService;
         this.priceFeedService = priceFeedService;
-        this.closedTradableManager = closedTradableManager;
+        this.peerTradeHistory = peerTradeHistory;
         this.filterManager = filterManager;
+        this.arbitratorManager = arbitratorManager;
         this.accountAgeWitnessService = accountAgeWitnessService;
         this.navigation = navigation;
         this.formatter = formatter;
@@ -166,43 +224,45 @@ class OfferBookViewModel extends ActivatableViewModel {
         };
 
         filterItemsListener = c -> {
-            final Optional<OfferBookListItem> highestAmountOffer = filteredItems.stream()
-                    .max(Comparator.comparingLong(o -> o.getOffer().getAmount().getValue()));
-
-            final boolean containsRangeAmount = filteredItems.stream().anyMatch(o -> o.getOffer().isRange());
-
-            if (highestAmountOffer.isPresent()) {
-                final OfferBookListItem item = highestAmountOffer.get();
-                if (!item.getOffer().isRange() && containsRangeAmount) {
-                    maxPlacesForAmount.set(formatAmount(item.getOffer(), false)
-                            .length() * 2 + BSFormatter.RANGE_SEPARATOR.length());
-                    maxPlacesForVolume.set(formatVolume(item.getOffer(), false)
-                            .length() * 2 + BSFormatter.RANGE_SEPARATOR.length());
-                } else {
-                    maxPlacesForAmount.set(formatAmount(item.getOffer(), false).length());
-                    maxPlacesForVolume.set(formatVolume(item.getOffer(), false).length());
-                }
-
+            while (c.next()) {
+                if (c.wasRemoved())
+                    c.getRemoved().forEach(this::removeFromMaxValueTrackers);
+                if (c.wasAdded())
+                    c.getAddedSubList().forEach(this::addToMaxValueTrackers);
             }
-
-            final Optional<OfferBookListItem> highestPriceOffer = filteredItems.stream()
-                    .filter(o -> o.getOffer().getPrice() != null)
-                    .max(Comparator.comparingLong(o -> o.getOffer().getPrice() != null ? o.getOffer().getPrice().getValue() : 0));
-
-            highestPriceOffer.ifPresent(offerBookListItem -> maxPlacesForPrice.set(formatPrice(offerBookListItem.getOffer(), false).length()));
-
-            final Optional<OfferBookListItem> highestMarketPriceMarginOffer = filteredItems.stream()
-                    .filter(o -> o.getOffer().isUseMarketBasedPrice())
-                    .max(Comparator.comparing(o -> new DecimalFormat("#0.00").format(o.getOffer().getMarketPriceMargin() * 100).length()));
-
-            highestMarketPriceMarginOffer.ifPresent(offerBookListItem -> maxPlacesForMarketPriceMargin.set(formatMarketPriceMargin(offerBookListItem.getOffer(), false).length()));
+            if (highestMarketBasedPriceItemRemoved)
+                findHighestMarketBasedPriceItem();
+            updateMaxPlaces();
         };
+        priceFeedUpdateCounterListener = (observable, oldValue, newValue) -> {
+            findHighestMarketBasedPriceItem();
+            updateMaxPlacesForPrice();
+        };
+
+        // The accepted arbitrators of the user get updated by the ArbitratorManager when the arbitrators change
+        filterChangeListener = (observable, oldValue, newValue) -> invalidateOfferEligibility();
+        paymentAccountsChangeListener = change -> invalidateOfferEligibility();
+        arbitratorMapChangeListener = change -> invalidateOfferEligibility();
     }
 
     @Override
     protected void activate() {
-
+        // We missed the changes while being deactivated, e.g. a manual selection of arbitrators
+        invalidateOfferEligibility();
+        filterManager.filterProperty().addListener(filterChangeListener);
+        user.getPaymentAccountsAsObservable().addListener(paymentAccountsChangeListener);
+        arbitratorManager.getArbitratorsObservableMap().addListener(arbitratorMapChangeListener);
+        eligibilityRefreshTimer = UserThread.runPeriodically(this::invalidateOfferEligibility,
+                ELIGIBILITY_REFRESH_INTERVAL_MIN, TimeUnit.MINUTES);
+
+        // We missed the changes while being deactivated, so we start with a fresh state of the trackers
+        maxValueTrackers.forEach(MaxValueTracker::clear);
+        marketBasedPriceItems.clear();
+        highestMarketBasedPriceItem = null;
+        filteredItems.forEach(this::addToMaxValueTrackers);
+        updateMaxPlaces();
         filteredItems.addListener(filterItemsListener);
+        priceFeedService.updateCounterProperty().addListener(priceFeedUpdateCounterListener);
 
         String code = direction == OfferPayload.Direction.BUY ? preferences.getBuyScreenCurrencyCode() : preferences.getSellScreenCurrencyCode();
         if (code != null && !code.equals(GUIUtil.SHOW_ALL_FLAG) && !code.isEmpty() &&
@@ -227,6 +287,14 @@ class OfferBookViewModel extends ActivatableViewModel {
     @Override
     protected void deactivate() {
         filteredItems.removeListener(filterItemsListener);
+        priceFeedService.updateCounterProperty().removeListener(priceFeedUpdateCounterListener);
+        filterManager.filterProperty().removeListener(filterChangeListener);
+        user.getPaymentAccountsAsObservable().removeListener(paymentAccountsChangeListener);
+        arbitratorManager.getArbitratorsObservableMap().removeListener(arbitratorMapChangeListener);
+        if (eligibilityRefreshTimer != null) {
+            eligibilityRefreshTimer.stop();
+            eligibilityRefreshTimer = null;
+        }
         preferences.getTradeCurrenciesAsObservable().removeListener(tradeCurrencyListChangeListener);
     }
 
@@ -299,18 +367,74 @@ class OfferBookViewModel extends ActivatableViewModel {
         return sortedItems;
     }
 
-    Map<String, Integer> getBuyOfferCounts() {
+    Map<String, IntegerProperty> getBuyOfferCounts() {
         return offerBook.getBuyOfferCountMap();
     }
 
-    Map<String, Integer> getSellOfferCounts() {
+    Map<String, IntegerProperty> getSellOfferCounts() {
         return offerBook.getSellOfferCountMap();
     }
 
+    // Changes when the memoized OfferEligibility of the items got invalid
+    ReadOnlyIntegerProperty eligibilityVersionProperty() {
+        return eligibilityVersion;
+    }
+
+    // The offers shown in the buy screen are sell offers and vice versa
+    ReadOnlyIntegerProperty getOfferCount(String currencyCode) {
+        OfferPayload.Direction offerDirection = direction == OfferPayload.Direction.BUY ?
+                OfferPayload.Direction.SELL : OfferPayload.Direction.BUY;
+        return offerBook.getOfferCount(offerDirection, currencyCode);
+    }
+
     boolean isMyOffer(Offer offer) {
         return openOfferManager.isMyOffer(offer);
     }
 
+    boolean isMyOffer(OfferBookListItem item) {
+        // The owner of an offer never changes so we don't need to invalidate it
+        if (item.getMyOffer() == null)
+            item.setMyOffer(isMyOffer(item.getOffer()));
+        return item.getMyOffer();
+    }
+
+    OfferEligibility getOfferEligibility(OfferBookListItem item) {
+        // The preferences don't notify about changes of the ignore list, it is short so we compare it at each call
+        if (!ignoreTradersList.equals(preferences.getIgnoreTradersList()))
+            invalidateOfferEligibility();
+
+        if (!isEligibilityInputsSnapshotValid) {
+            ignoreTradersList.clear();
+            ignoreTradersList.addAll(preferences.getIgnoreTradersList());
+            ignoredTraders.clear();
+            ignoredTraders.addAll(ignoreTradersList);
+            acceptedArbitratorAddresses.clear();
+            List<NodeAddress> addresses = user.getAcceptedArbitratorAddresses();
+            if (addresses != null)
+                acceptedArbitratorAddresses.addAll(addresses);
+            isEligibilityInputsSnapshotValid = true;
+        }
+
+        OfferEligibility offerEligibility = item.getOfferEligibility();
+        if (offerEligibility == null || offerEligibility.getVersion() != eligibilityVersion.get()) {
+            Offer offer = item.getOffer();
+            offerEligibility = OfferEligibility.builder()
+                    .version(eligibilityVersion.get())
+                    .paymentAccountValidForOffer(isAnyPaymentAccountValidForOffer(offer))
+                    .matchingArbitrator(hasMatchingArbitrator(offer))
+                    .sameProtocolVersion(hasSameProtocolVersion(offer))
+                    .ignored(isIgnored(offer))
+                    .offerBanned(isOfferBanned(offer))
+                    .currencyBanned(isCurrencyBanned(offer))
+                    .paymentMethodBanned(isPaymentMethodBanned(offer))
+                    .nodeAddressBanned(isNodeAddressBanned(offer))
+                    .insufficientTradeLimit(isInsufficientTradeLimit(offer))
+                    .build();
+            item.setOfferEligibility(offerEligibility);
+        }
+        return offerEligibility;
+    }
+
     OfferPayload.Direction getDirection() {
         return direction;
     }
@@ -334,7 +458,7 @@ class OfferBookViewModel extends ActivatableViewModel {
     }
 
     String getAmount(OfferBookListItem item) {
-        return formatAmount(item.getOffer(), true);
+        return item.getAmountString().get(maxPlacesForAmount.get(), () -> formatAmount(item.getOffer(), true));
     }
 
     private String formatAmount(Offer offer, boolean decimalAligned) {
@@ -347,12 +471,25 @@ class OfferBookViewModel extends ActivatableViewModel {
             return "";
 
         final Offer offer = item.getOffer();
-        final Price price = offer.getPrice();
-        if (price != null) {
-            return formatPrice(offer, true) + formatMarketPriceMargin(offer, true);
-        } else {
-            return Res.get("shared.na");
-        }
+        long key = getPriceFeedDependentKey(maxPlacesForPrice.get(), maxPlacesForMarketPriceMargin.get());
+        return item.getPriceString().get(key, () -> {
+            final Price price = offer.getPrice();
+            if (price != null) {
+                return formatPrice(offer, true) + formatMarketPriceMargin(offer, true);
+            } else {
+                return Res.get("shared.na");
+            }
+        });
+    }
+
+    @Nullable
+    Price getPriceSortKey(OfferBookListItem item) {
+        return item.getPriceSortKey().get(getPriceFeedDependentKey(0, 0), () -> item.getOffer().getPrice());
+    }
+
+    @Nullable
+    Volume getVolumeSortKey(OfferBookListItem item) {
+        return item.getVolumeSortKey().get(getPriceFeedDependentKey(0, 0), () -> item.getOffer().getVolume());
     }
 
     String getAbsolutePriceMargin(Offer offer) {
@@ -378,7 +515,13 @@ class OfferBookViewModel extends ActivatableViewModel {
     }
 
     String getVolume(OfferBookListItem item) {
-        return formatVolume(item.getOffer(), true);
+        long key = getPriceFeedDependentKey(maxPlacesForVolume.get(), showAllTradeCurrenciesProperty.get() ? 1 : 0);
+        return item.getVolumeString().get(key, () -> formatVolume(item.getOffer(), true));
+    }
+
+    // Combines the price feed update counter with the values (decimal alignment widths) a cached value depends on.
+    private long getPriceFeedDependentKey(int value1, int value2) {
+        return ((long) priceFeedService.updateCounterProperty().get() << 32) | ((value1 & 0xFFFFL) << 16) | (value2 & 0xFFFFL);
     }
 
     private String formatVolume(Offer offer, boolean decimalAligned) {
@@ -488,6 +631,68 @@ class OfferBookViewModel extends ActivatableViewModel {
         }
     }
 
+    private void addToMaxValueTrackers(OfferBookListItem item) {
+        maxValueTrackers.forEach(tracker -> tracker.add(item));
+        if (item.getOffer().isUseMarketBasedPrice()) {
+            marketBasedPriceItems.add(item);
+            updateHighestMarketBasedPriceItem(item);
+        }
+    }
+
+    private void removeFromMaxValueTrackers(OfferBookListItem item) {
+        maxValueTrackers.forEach(tracker -> tracker.remove(item));
+        marketBasedPriceItems.remove(item);
+        if (item == highestMarketBasedPriceItem) {
+            highestMarketBasedPriceItem = null;
+            highestMarketBasedPriceItemRemoved = true;
+        }
+    }
+
+    // Compares the price values, the price is only formatted for the item with the highest price
+    private void findHighestMarketBasedPriceItem() {
+        highestMarketBasedPriceItem = null;
+        highestMarketBasedPriceItemRemoved = false;
+        marketBasedPriceItems.forEach(this::updateHighestMarketBasedPriceItem);
+    }
+
+    private void updateHighestMarketBasedPriceItem(OfferBookListItem item) {
+        Price price = item.getOffer().getPrice();
+        if (price != null && (highestMarketBasedPriceItem == null || price.getValue() > highestMarketBasedPrice)) {
+            highestMarketBasedPriceItem = item;
+            highestMarketBasedPrice = price.getValue();
+        }
+    }
+
+    private void updateMaxPlaces() {
+        final boolean containsRangeAmount = rangeAmountTracker.size() > 0;
+        highestAmountTracker.getMax().ifPresent(item -> {
+            if (!item.getOffer().isRange() && containsRangeAmount) {
+                maxPlacesForAmount.set(formatAmount(item.getOffer(), false)
+                        .length() * 2 + BSFormatter.RANGE_SEPARATOR.length());
+                maxPlacesForVolume.set(formatVolume(item.getOffer(), false)
+                        .length() * 2 + BSFormatter.RANGE_SEPARATOR.length());
+            } else {
+                maxPlacesForAmount.set(formatAmount(item.getOffer(), false).length());
+                maxPlacesForVolume.set(formatVolume(item.getOffer(), false).length());
+            }
+        });
+
+        updateMaxPlacesForPrice();
+
+        highestMarketPriceMarginTracker.getMax().ifPresent(item ->
+                maxPlacesForMarketPriceMargin.set(formatMarketPriceMargin(item.getOffer(), false).length()));
+    }
+
+    private void updateMaxPlacesForPrice() {
+        int maxPlaces = highestPriceTracker.getMax()
+                .map(item -> formatPrice(item.getOffer(), false).length())
+                .orElse(0);
+        if (highestMarketBasedPriceItem != null && highestMarketBasedPriceItem.getOffer().getPrice() != null)
+            maxPlaces = Math.max(maxPlaces, formatPrice(highestMarketBasedPriceItem.getOffer(), false).length());
+        if (maxPlaces > 0)
+            maxPlacesForPrice.set(maxPlaces);
+    }
+
     private void fillAllTradeCurrencies() {
         allTradeCurrencies.clear();
         // Used for ignoring filter (show all)
@@ -524,34 +729,35 @@ class OfferBookViewModel extends ActivatableViewModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private void applyFilterPredicate() {
+        // We resolve all settings once so the predicate does not need to look them up again for each offer
+        final OfferPayload.Direction direction = this.direction;
+        final String selectedCurrencyCode = showAllTradeCurrenciesProperty.get() ? null : selectedTradeCurrency.getCode();
+        final PaymentMethod paymentMethod = showAllPaymentMethods ? null : selectedPaymentMethod;
+        final boolean showOwnOffers = preferences.isShowOwnOffersInOfferBook();
         filteredItems.setPredicate(offerBookListItem -> {
             Offer offer = offerBookListItem.getOffer();
-            boolean directionResult = offer.getDirection() != direction;
-            boolean currencyResult = (showAllTradeCurrenciesProperty.get()) ||
-                    offer.getCurrencyCode().equals(selectedTradeCurrency.getCode());
-            boolean paymentMethodResult = showAllPaymentMethods ||
-                    offer.getPaymentMethod().equals(selectedPaymentMethod);
-            boolean notMyOfferOrShowMyOffersActivated = !isMyOffer(offerBookListItem.getOffer()) || preferences.isShowOwnOffersInOfferBook();
-            return directionResult && currencyResult && paymentMethodResult && notMyOfferOrShowMyOffersActivated;
+            return offer.getDirection() != direction &&
+                    (selectedCurrencyCode == null || offer.getCurrencyCode().equals(selectedCurrencyCode)) &&
+                    (paymentMethod == null || offer.getPaymentMethod().equals(paymentMethod)) &&
+                    (showOwnOffers || !isMyOffer(offerBookListItem));
         });
     }
 
-    boolean hasMatchingArbitrator(Offer offer) {
-        final List<NodeAddress> acceptedArbitratorAddresses = user.getAcceptedArbitratorAddresses();
-        if (acceptedArbitratorAddresses != null) {
-            for (NodeAddress offerArbitratorNodeAddress : offer.getArbitratorNodeAddresses()) {
-                for (NodeAddress acceptedArbitratorNodeAddress : acceptedArbitratorAddresses) {
-                    if (offerArbitratorNodeAddress.equals(acceptedArbitratorNodeAddress))
-                        return true;
-                }
-            }
+    private void invalidateOfferEligibility() {
+        eligibilityVersion.set(eligibilityVersion.get() + 1);
+        isEligibilityInputsSnapshotValid = false;
+    }
+
+    private boolean hasMatchingArbitrator(Offer offer) {
+        for (NodeAddress offerArbitratorNodeAddress : offer.getArbitratorNodeAddresses()) {
+            if (acceptedArbitratorAddresses.contains(offerArbitratorNodeAddress))
+                return true;
         }
         return false;
     }
 
-    boolean isIgnored(Offer offer) {
-        return preferences.getIgnoreTradersList().stream()
-                .anyMatch(i -> i.equals(offer.getMakerNodeAddress().getHostNameWithoutPostFix()));
+    private boolean isIgnored(Offer offer) {
+        return ignoredTraders.contains(offer.getMakerNodeAddress().getHostNameWithoutPostFix());
     }
 
     boolean isOfferBanned(Offer offer) {
@@ -597,14 +803,7 @@ class OfferBookViewModel extends ActivatableViewModel {
         return id.equals(GUIUtil.EDIT_FLAG);
     }
 
-    int getNumTrades(Offer offer) {
-        return closedTradableManager.getClosedTradables().stream()
-                .filter(e -> {
-                    final NodeAddress tradingPeerNodeAddress = e instanceof Trade ? ((Trade) e).getTradingPeerNodeAddress() : null;
-                    return tradingPeerNodeAddress != null &&
-                            tradingPeerNodeAddress.getFullAddress().equals(offer.getMakerNodeAddress().getFullAddress());
-                })
-                .collect(Collectors.toSet())
-                .size();
+    PeerTradeHistory.PeerStatistics getPeerStatistics(Offer offer) {
+        return peerTradeHistory.getPeerStatistics(offer.getMakerNodeAddress());
     }
 }
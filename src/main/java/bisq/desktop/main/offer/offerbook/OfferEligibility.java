@@ -0,0 +1,52 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of all the checks whether the user can take an offer. It is memoized at the OfferBookListItem and
+ * only valid as long the version matches the current version of the OfferBookViewModel.
+ */
+@Value
+@Builder
+class OfferEligibility {
+    private final int version;
+    private final boolean paymentAccountValidForOffer;
+    private final boolean matchingArbitrator;
+    private final boolean sameProtocolVersion;
+    private final boolean ignored;
+    private final boolean offerBanned;
+    private final boolean currencyBanned;
+    private final boolean paymentMethodBanned;
+    private final boolean nodeAddressBanned;
+    private final boolean insufficientTradeLimit;
+
+    boolean isTradable() {
+        return paymentAccountValidForOffer &&
+                matchingArbitrator &&
+                sameProtocolVersion &&
+                !ignored &&
+                !offerBanned &&
+                !currencyBanned &&
+                !paymentMethodBanned &&
+                !nodeAddressBanned &&
+                !insufficientTradeLimit;
+    }
+}
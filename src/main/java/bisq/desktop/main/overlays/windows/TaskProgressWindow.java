@@ -0,0 +1,87 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.overlays.windows;
+
+import bisq.desktop.main.overlays.Overlay;
+
+import bisq.core.locale.Res;
+
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.GridPane;
+
+import javafx.geometry.Insets;
+
+
+
+import javafx.concurrent.Task;
+
+/**
+ * Shows the progress of a background task. Closing the window cancels the task, the caller sets the headline and
+ * hides the window when the task is done.
+ */
+public class TaskProgressWindow extends Overlay<TaskProgressWindow> {
+    private final Task<?> task;
+    private ProgressBar progressBar;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Public API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public TaskProgressWindow(Task<?> task) {
+        this.task = task;
+        type = Type.Information;
+        width = 500;
+        closeButtonText(Res.get("shared.cancel"));
+        onClose(task::cancel);
+    }
+
+    @Override
+    public void show() {
+        createGridPane();
+        addHeadLine();
+        addSeparator();
+        addProgressBar();
+        addCloseButton();
+        applyStyles();
+        display();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Protected
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void cleanup() {
+        if (progressBar != null)
+            progressBar.progressProperty().unbind();
+
+        super.cleanup();
+    }
+
+    private void addProgressBar() {
+        progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        progressBar.progressProperty().bind(task.progressProperty());
+        GridPane.setRowIndex(progressBar, ++rowIndex);
+        GridPane.setColumnSpan(progressBar, 2);
+        GridPane.setMargin(progressBar, new Insets(10, 0, 0, 0));
+        gridPane.getChildren().add(progressBar);
+    }
+}
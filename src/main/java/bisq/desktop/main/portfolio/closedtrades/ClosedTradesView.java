@@ -24,6 +24,7 @@ import bisq.desktop.components.HyperlinkWithIcon;
 import bisq.desktop.components.PeerInfoIcon;
 import bisq.desktop.main.overlays.windows.OfferDetailsWindow;
 import bisq.desktop.main.overlays.windows.TradeDetailsWindow;
+import bisq.desktop.util.CsvExportTask;
 import bisq.desktop.util.GUIUtil;
 
 import bisq.core.alert.PrivateNotificationManager;
@@ -42,8 +43,6 @@ import bisq.network.p2p.NodeAddress;
 
 import org.bitcoinj.core.Coin;
 
-import com.googlecode.jcsv.writer.CSVEntryConverter;
-
 import com.google.inject.name.Named;
 
 import javax.inject.Inject;
@@ -69,7 +68,9 @@ import javafx.collections.transformation.SortedList;
 
 import javafx.util.Callback;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 
 @FxmlView
 public class ClosedTradesView extends ActivatableViewAndModel<VBox, ClosedTradesViewModel> {
@@ -188,27 +189,16 @@ public class ClosedTradesView extends ActivatableViewAndModel<VBox, ClosedTrades
 
         exportButton.setOnAction(event -> {
             final ObservableList<TableColumn<ClosedTradableListItem, ?>> tableColumns = tableView.getColumns();
-            CSVEntryConverter<ClosedTradableListItem> headerConverter = transactionsListItem -> {
-                String[] columns = new String[7];
-                for (int i = 0; i < columns.length; i++)
-                    columns[i] = tableColumns.get(i).getText();
-
-                return columns;
-            };
-            CSVEntryConverter<ClosedTradableListItem> contentConverter = item -> {
-                String[] columns = new String[7];
-                columns[0] = model.getTradeId(item);
-                columns[1] = model.getDate(item);
-                columns[2] = model.getAmount(item);
-                columns[3] = model.getPrice(item);
-                columns[4] = model.getVolume(item);
-                columns[5] = model.getDirectionLabel(item);
-                columns[6] = model.getState(item);
-                return columns;
-            };
-
-            GUIUtil.exportCSV("tradeHistory.csv", headerConverter, contentConverter,
-                    new ClosedTradableListItem(null), sortedList, (Stage) root.getScene().getWindow());
+            List<CsvExportTask.Column<ClosedTradableListItem>> columns = new ArrayList<>();
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(0).getText(), model::getTradeId));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(1).getText(), model::getDate));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(2).getText(), model::getAmount));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(3).getText(), model::getPrice));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(4).getText(), model::getVolume));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(5).getText(), model::getDirectionLabel));
+            columns.add(new CsvExportTask.Column<>(tableColumns.get(6).getText(), model::getState));
+
+            GUIUtil.exportCSV("tradeHistory.csv", columns, sortedList, (Stage) root.getScene().getWindow());
         });
     }
 
@@ -335,13 +325,12 @@ public class ClosedTradesView extends ActivatableViewAndModel<VBox, ClosedTrades
 
                                 if (newItem != null && !empty && newItem.getTradable() instanceof Trade) {
                                     Trade trade = (Trade) newItem.getTradable();
-                                    int numPastTrades = model.getNumPastTrades(trade);
                                     final NodeAddress tradingPeerNodeAddress = trade.getTradingPeerNodeAddress();
                                     final Offer offer = trade.getOffer();
                                     String role = Res.get("peerInfoIcon.tooltip.tradePeer");
                                     Node peerInfoIcon = new PeerInfoIcon(tradingPeerNodeAddress,
                                             role,
-                                            numPastTrades,
+                                            model.getPeerStatistics(trade),
                                             privateNotificationManager,
                                             offer,
                                             preferences,
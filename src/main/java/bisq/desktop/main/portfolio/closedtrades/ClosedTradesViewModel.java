@@ -19,6 +19,7 @@ package bisq.desktop.main.portfolio.closedtrades;
 
 import bisq.desktop.common.model.ActivatableWithDataModel;
 import bisq.desktop.common.model.ViewModel;
+import bisq.desktop.util.PeerTradeHistory;
 
 import bisq.core.locale.Res;
 import bisq.core.offer.OpenOffer;
@@ -31,18 +32,20 @@ import com.google.inject.Inject;
 
 import javafx.collections.ObservableList;
 
-import java.util.stream.Collectors;
 
 class ClosedTradesViewModel extends ActivatableWithDataModel<ClosedTradesDataModel> implements ViewModel {
     private final BSFormatter formatter;
     final AccountAgeWitnessService accountAgeWitnessService;
+    private final PeerTradeHistory peerTradeHistory;
 
     @Inject
     public ClosedTradesViewModel(ClosedTradesDataModel dataModel,
                                  AccountAgeWitnessService accountAgeWitnessService,
+                                 PeerTradeHistory peerTradeHistory,
                                  BSFormatter formatter) {
         super(dataModel);
         this.accountAgeWitnessService = accountAgeWitnessService;
+        this.peerTradeHistory = peerTradeHistory;
         this.formatter = formatter;
     }
 
@@ -133,17 +136,7 @@ class ClosedTradesViewModel extends ActivatableWithDataModel<ClosedTradesDataMod
         return "";
     }
 
-    int getNumPastTrades(Tradable tradable) {
-        //noinspection ConstantConditions
-        return dataModel.closedTradableManager.getClosedTradables().stream()
-                .filter(e -> e instanceof Trade &&
-                        tradable instanceof Trade &&
-                        ((Trade) e).getTradingPeerNodeAddress() != null &&
-                        ((Trade) tradable).getTradingPeerNodeAddress() != null &&
-                        ((Trade) e).getTradingPeerNodeAddress() != null &&
-                        ((Trade) tradable).getTradingPeerNodeAddress() != null &&
-                        ((Trade) e).getTradingPeerNodeAddress().getFullAddress().equals(((Trade) tradable).getTradingPeerNodeAddress().getFullAddress()))
-                .collect(Collectors.toSet())
-                .size();
+    PeerTradeHistory.PeerStatistics getPeerStatistics(Trade trade) {
+        return peerTradeHistory.getPeerStatistics(trade.getTradingPeerNodeAddress());
     }
 }
@@ -488,12 +488,11 @@ public class PendingTradesView extends ActivatableViewAndModel<VBox, PendingTrad
                                 if (!empty && newItem != null) {
                                     final Trade trade = newItem.getTrade();
                                     final NodeAddress tradingPeerNodeAddress = trade.getTradingPeerNodeAddress();
-                                    int numPastTrades = model.getNumPastTrades(trade);
                                     final Offer offer = trade.getOffer();
                                     String role = Res.get("peerInfoIcon.tooltip.tradePeer");
                                     Node peerInfoIcon = new PeerInfoIcon(tradingPeerNodeAddress,
                                             role,
-                                            numPastTrades,
+                                            model.getPeerStatistics(trade),
                                             privateNotificationManager,
                                             offer,
                                             preferences,
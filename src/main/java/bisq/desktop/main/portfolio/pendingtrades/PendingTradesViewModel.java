@@ -20,6 +20,7 @@ package bisq.desktop.main.portfolio.pendingtrades;
 import bisq.desktop.common.model.ActivatableWithDataModel;
 import bisq.desktop.common.model.ViewModel;
 import bisq.desktop.util.GUIUtil;
+import bisq.desktop.util.PeerTradeHistory;
 
 import bisq.core.locale.Res;
 import bisq.core.network.MessageState;
@@ -28,7 +29,6 @@ import bisq.core.payment.AccountAgeWitnessService;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.trade.Contract;
 import bisq.core.trade.Trade;
-import bisq.core.trade.closed.ClosedTradableManager;
 import bisq.core.util.BSFormatter;
 import bisq.core.util.BsqFormatter;
 import bisq.core.util.validation.BtcAddressValidator;
@@ -51,7 +51,6 @@ import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
 import java.util.Date;
-import java.util.stream.Collectors;
 
 import lombok.Getter;
 
@@ -89,7 +88,7 @@ public class PendingTradesViewModel extends ActivatableWithDataModel<PendingTrad
     public final BtcAddressValidator btcAddressValidator;
     final AccountAgeWitnessService accountAgeWitnessService;
     public final P2PService p2PService;
-    private final ClosedTradableManager closedTradableManager;
+    private final PeerTradeHistory peerTradeHistory;
     public final Clock clock;
 
     private final ObjectProperty<BuyerState> buyerState = new SimpleObjectProperty<>();
@@ -110,7 +109,7 @@ public class PendingTradesViewModel extends ActivatableWithDataModel<PendingTrad
                                   BsqFormatter bsqFormatter,
                                   BtcAddressValidator btcAddressValidator,
                                   P2PService p2PService,
-                                  ClosedTradableManager closedTradableManager,
+                                  PeerTradeHistory peerTradeHistory,
                                   AccountAgeWitnessService accountAgeWitnessService,
                                   Clock clock) {
         super(dataModel);
@@ -119,7 +118,7 @@ public class PendingTradesViewModel extends ActivatableWithDataModel<PendingTrad
         this.bsqFormatter = bsqFormatter;
         this.btcAddressValidator = btcAddressValidator;
         this.p2PService = p2PService;
-        this.closedTradableManager = closedTradableManager;
+        this.peerTradeHistory = peerTradeHistory;
         this.accountAgeWitnessService = accountAgeWitnessService;
         this.clock = clock;
     }
@@ -320,20 +319,8 @@ public class PendingTradesViewModel extends ActivatableWithDataModel<PendingTrad
         return dataModel.getOffer() != null && dataModel.getOffer().getPaymentMethod().equals(PaymentMethod.BLOCK_CHAINS);
     }
 
-    public int getNumPastTrades(Trade trade) {
-        return closedTradableManager.getClosedTradables().stream()
-                .filter(e -> {
-                    if (e instanceof Trade) {
-                        Trade t = (Trade) e;
-                        return t.getTradingPeerNodeAddress() != null &&
-                                trade.getTradingPeerNodeAddress() != null &&
-                                t.getTradingPeerNodeAddress().getFullAddress().equals(trade.getTradingPeerNodeAddress().getFullAddress());
-                    } else
-                        return false;
-
-                })
-                .collect(Collectors.toSet())
-                .size();
+    public PeerTradeHistory.PeerStatistics getPeerStatistics(Trade trade) {
+        return peerTradeHistory.getPeerStatistics(trade.getTradingPeerNodeAddress());
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import com.googlecode.jcsv.CSVStrategy;
+import com.googlecode.jcsv.writer.CSVWriter;
+import com.googlecode.jcsv.writer.internal.CSVWriterBuilder;
+
+import com.google.common.base.Charsets;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+import javafx.concurrent.Task;
+
+/**
+ * Writes table items to a CSV file outside of the UserThread. The rows are formatted one at a time and streamed
+ * through a buffered writer, so the formatted content is never held in memory as a whole. Items not matching the
+ * filter are skipped before they get formatted and only the given columns are formatted.
+ * The column functions are called from the export thread, so they must only read data of the items.
+ * The result is the number of written rows. If the task gets cancelled the partially written file is deleted.
+ */
+@Slf4j
+public class CsvExportTask<T> extends Task<Integer> {
+    // Number of items after which we report the progress
+    private static final int CHUNK_SIZE = 500;
+
+    @Value
+    public static class Column<T> {
+        private final String header;
+        private final Function<T, String> valueFunction;
+    }
+
+    private final File file;
+    private final List<Column<T>> columns;
+    private final List<T> items;
+    private final Predicate<T> filter;
+
+    /**
+     * @param file    The file to write to, an existing file gets overwritten
+     * @param columns The columns to export
+     * @param items   The items to export, must not be changed while the task is running
+     * @param filter  Only items matching the filter are exported
+     */
+    public CsvExportTask(File file, List<Column<T>> columns, List<T> items, Predicate<T> filter) {
+        this.file = file;
+        this.columns = new ArrayList<>(columns);
+        this.items = items;
+        this.filter = filter;
+    }
+
+    @Override
+    protected Integer call() throws Exception {
+        int numRows = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, false), Charsets.UTF_8))) {
+            CSVWriter<String[]> csvWriter = new CSVWriterBuilder<String[]>(writer)
+                    .strategy(CSVStrategy.UK_DEFAULT)
+                    .entryConverter(row -> row)
+                    .build();
+
+            String[] headers = new String[columns.size()];
+            for (int i = 0; i < headers.length; i++)
+                headers[i] = columns.get(i).getHeader();
+            csvWriter.write(headers);
+
+            int numItems = items.size();
+            for (int i = 0; i < numItems && !isCancelled(); i++) {
+                T item = items.get(i);
+                if (filter.test(item)) {
+                    csvWriter.write(toRow(item));
+                    numRows++;
+                }
+
+                if ((i + 1) % CHUNK_SIZE == 0)
+                    updateProgress(i + 1, numItems);
+            }
+        }
+
+        if (isCancelled()) {
+            log.info("CSV export to {} got cancelled", file);
+            if (!file.delete())
+                log.warn("Could not delete partially written file {}", file);
+        } else {
+            log.info("Exported {} rows to {}", numRows, file);
+        }
+        return numRows;
+    }
+
+    private String[] toRow(T item) {
+        String[] row = new String[columns.size()];
+        for (int i = 0; i < row.length; i++)
+            row[i] = columns.get(i).getValueFunction().apply(item);
+        return row;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last recorded durations in a ring buffer, so the statistics always cover a recent time window.
+ * Durations are in ms. Not thread safe.
+ */
+public class DurationHistogram {
+    // Upper bounds (exclusive) of the buckets in ms, the last bucket has no upper bound. 17 ms is one frame at 60 fps.
+    private static final long[] BUCKET_BOUNDS = {17, 33, 50, 100, 250, 500, 1000};
+
+    private final long[] durations;
+    private int size;
+    private int next;
+
+    /**
+     * @param capacity The max. number of durations which are kept
+     */
+    public DurationHistogram(int capacity) {
+        durations = new long[capacity];
+    }
+
+    public void add(long duration) {
+        durations[next] = duration;
+        next = (next + 1) % durations.length;
+        size = Math.min(size + 1, durations.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+        next = 0;
+    }
+
+    public int countAbove(long duration) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (durations[i] > duration)
+                count++;
+        }
+        return count;
+    }
+
+    public double getMean() {
+        if (size == 0)
+            return 0;
+
+        long sum = 0;
+        for (int i = 0; i < size; i++)
+            sum += durations[i];
+        return (double) sum / size;
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return The smallest recorded duration which is not exceeded by the given percentage of the durations
+     */
+    public long getPercentile(double percentile) {
+        if (size == 0)
+            return 0;
+
+        long[] sorted = Arrays.copyOf(durations, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        return sorted[Math.max(0, Math.min(size, rank) - 1)];
+    }
+
+    public long getMax() {
+        long max = 0;
+        for (int i = 0; i < size; i++)
+            max = Math.max(max, durations[i]);
+        return max;
+    }
+
+    public int[] getBucketCounts() {
+        int[] counts = new int[BUCKET_BOUNDS.length + 1];
+        for (int i = 0; i < size; i++) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && durations[i] >= BUCKET_BOUNDS[bucket])
+                bucket++;
+            counts[bucket]++;
+        }
+        return counts;
+    }
+
+    /**
+     * @return The non empty buckets, e.g. "<17 ms: 590, 17-33 ms: 8, >=1000 ms: 2"
+     */
+    public String formatBuckets() {
+        int[] counts = getBucketCounts();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0)
+                continue;
+
+            if (sb.length() > 0)
+                sb.append(", ");
+            if (i == 0)
+                sb.append("<").append(BUCKET_BOUNDS[0]);
+            else if (i == BUCKET_BOUNDS.length)
+                sb.append(">=").append(BUCKET_BOUNDS[i - 1]);
+            else
+                sb.append(BUCKET_BOUNDS[i - 1]).append("-").append(BUCKET_BOUNDS[i]);
+            sb.append(" ms: ").append(counts[i]);
+        }
+        return sb.toString();
+    }
+}
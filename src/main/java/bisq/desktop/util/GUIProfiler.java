@@ -17,22 +17,88 @@
 
 package bisq.desktop.util;
 
+import bisq.desktop.common.StartupTrace;
+
+import bisq.common.UserThread;
+
 import com.google.common.base.Stopwatch;
 
+import javafx.application.Platform;
+
 import javafx.animation.AnimationTimer;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 public class GUIProfiler {
     private static final Logger log = LoggerFactory.getLogger(GUIProfiler.class);
 
+    public static final String STARTUP_TRACE_KEY = "traceStartup";
+    public static final String STARTUP_TRACE_FILE_NAME = "startup_trace.json";
+    private static final int NUM_LOGGED_SLOWEST_SPANS = 10;
+    private static final StartupTrace startupTrace = StartupTrace.getInstance();
+
+    public static final String PROFILE_GUI_KEY = "profileGui";
+    // Frames taking longer are noticed as jank
+    private static final long SLOW_FRAME_MS = 50;
+    private static final long SLOW_TASK_MS = 50;
+    // If no frame got rendered for that time the FX thread is blocked and we sample what it is doing
+    private static final long STALL_THRESHOLD_MS = 100;
+    // About one minute at 60 fps
+    private static final int NUM_RECORDED_FRAMES = 3600;
+    private static final long LOG_SUMMARY_INTERVAL_MIN = 1;
+    private static final int NUM_LISTED_ORIGINS = 5;
+
+    private static class TaskStatistics {
+        private int count;
+        private long totalDuration;
+        private long maxDuration;
+
+        private void add(long duration) {
+            count++;
+            totalDuration += duration;
+            maxDuration = Math.max(maxDuration, duration);
+        }
+    }
+
     private static final Stopwatch globalStopwatch = Stopwatch.createStarted();
     private static final ThreadLocal<Stopwatch> threadStopwatch = ThreadLocal.withInitial(Stopwatch::createStarted);
     private static final ThreadLocal<Long> last = ThreadLocal.withInitial(() -> 0L);
-    private static long lastFPSTime = System.currentTimeMillis();
+
+    // Only accessed from the FX thread, except for the stall samples
+    private static final DurationHistogram frameDurations = new DurationHistogram(NUM_RECORDED_FRAMES);
+    private static final DurationHistogram pulseDurations = new DurationHistogram(NUM_RECORDED_FRAMES);
+    private static final Map<String, TaskStatistics> slowTasks = new HashMap<>();
+    private static final Map<String, Long> stallSamples = new ConcurrentHashMap<>();
+    private static int numMonitorRequests;
+    private static long numFrames;
+    private static long numSlowFrames;
+    @Nullable
+    private static AnimationTimer frameTimer;
+    @Nullable
+    private static Thread stallSampler;
+    @Nullable
+    private static volatile Thread fxThread;
+    private static volatile boolean monitoring;
+    private static volatile long lastFrameNanos;
 
     public static void printMsgWithTime(String msg) {
         final long elapsed = threadStopwatch.get().elapsed(TimeUnit.MILLISECONDS);
@@ -40,19 +106,229 @@ public class GUIProfiler {
                 msg, elapsed - last.get(), globalStopwatch.elapsed(TimeUnit.MILLISECONDS));
 
         last.set(elapsed);
+        mark(msg);
     }
 
+    /**
+     * Starts the frame and pulse monitor and logs a summary periodically. Must be called from the UserThread.
+     */
     public static void init() {
-        AnimationTimer fpsTimer = new AnimationTimer() {
+        startMonitor();
+        UserThread.runPeriodically(() -> log.info("GUI performance summary:\n{}", getSummary()),
+                LOG_SUMMARY_INTERVAL_MIN, TimeUnit.MINUTES);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Frame and pulse monitor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts recording the frame and pulse durations and the tasks which block the FX thread. As the monitor
+     * requests a pulse for every frame it should only run while profiling. Each call must be balanced by a call of
+     * {@link #stopMonitor()}. Must be called from the UserThread.
+     */
+    public static void startMonitor() {
+        if (numMonitorRequests++ > 0)
+            return;
+
+        fxThread = Thread.currentThread();
+        lastFrameNanos = System.nanoTime();
+        frameTimer = new AnimationTimer() {
+            private long lastNow;
+
             @Override
-            public void handle(long l) {
-                long elapsed = (System.currentTimeMillis() - lastFPSTime);
-                if (elapsed > 50)
-                    log.trace("Profiler: last frame used {}ms", elapsed);
+            public void handle(long now) {
+                onFrame(now, lastNow);
+                lastNow = now;
+            }
+        };
+        monitoring = true;
+        frameTimer.start();
+
+        if (stallSampler == null || !stallSampler.isAlive()) {
+            stallSampler = new Thread(GUIProfiler::sampleStalls, "GUIProfiler.sampleStalls");
+            stallSampler.setDaemon(true);
+            stallSampler.start();
+        }
+    }
+
+    public static void stopMonitor() {
+        if (numMonitorRequests == 0 || --numMonitorRequests > 0)
+            return;
+
+        monitoring = false;
+        if (frameTimer != null) {
+            frameTimer.stop();
+            frameTimer = null;
+        }
+    }
+
+    /**
+     * @return An executor which runs the tasks with the given executor and records the tasks blocking the FX thread
+     * for long while the monitor runs. Used for the UserThread so we see which part of the code caused the jank.
+     */
+    public static Executor profiledExecutor(Executor executor) {
+        return runnable -> executor.execute(monitoring ? () -> runProfiled(runnable) : runnable);
+    }
+
+    public static String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        double meanFrameDuration = frameDurations.getMean();
+        sb.append(String.format("Frames: %.1f fps, p50 %d ms, p95 %d ms, max %d ms, %d slow frames (> %d ms) of %d",
+                meanFrameDuration > 0 ? 1000 / meanFrameDuration : 0,
+                frameDurations.getPercentile(50), frameDurations.getPercentile(95), frameDurations.getMax(),
+                numSlowFrames, SLOW_FRAME_MS, numFrames))
+                .append("\nFrame durations: ").append(frameDurations.formatBuckets())
+                .append(String.format("\nPulses: p50 %d ms, p95 %d ms, max %d ms",
+                        pulseDurations.getPercentile(50), pulseDurations.getPercentile(95), pulseDurations.getMax()))
+                .append("\nPulse durations: ").append(pulseDurations.formatBuckets());
 
-                lastFPSTime = System.currentTimeMillis();
+        sb.append("\nSlow UserThread tasks:");
+        slowTasks.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, TaskStatistics> e) -> e.getValue().totalDuration)
+                        .reversed())
+                .limit(NUM_LISTED_ORIGINS)
+                .forEach(e -> sb.append(String.format("\n    %s: %d x, total %d ms, max %d ms", e.getKey(),
+                        e.getValue().count, e.getValue().totalDuration, e.getValue().maxDuration)));
+
+        sb.append("\nFX thread stalls (samples every ").append(STALL_THRESHOLD_MS).append(" ms):");
+        stallSamples.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(NUM_LISTED_ORIGINS)
+                .forEach(e -> sb.append(String.format("\n    %s: %d", e.getKey(), e.getValue())));
+        return sb.toString();
+    }
+
+    private static void onFrame(long now, long lastNow) {
+        long frameStartNanos = System.nanoTime();
+        lastFrameNanos = frameStartNanos;
+        if (lastNow > 0) {
+            long duration = TimeUnit.NANOSECONDS.toMillis(now - lastNow);
+            frameDurations.add(duration);
+            numFrames++;
+            if (duration > SLOW_FRAME_MS) {
+                numSlowFrames++;
+                log.trace("Profiler: last frame used {}ms", duration);
+            }
+        }
+
+        // Runnables posted while the pulse is running get executed after the pulse
+        Platform.runLater(() -> pulseDurations.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - frameStartNanos)));
+    }
+
+    private static void runProfiled(Runnable runnable) {
+        long ts = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ts);
+            if (duration >= SLOW_TASK_MS)
+                slowTasks.computeIfAbsent(getOrigin(runnable), k -> new TaskStatistics()).add(duration);
+        }
+    }
+
+    // Listeners and timers don't go through the UserThread executor, so we take the stack of the blocked FX thread
+    // to see what it is doing
+    private static void sampleStalls() {
+        while (monitoring) {
+            try {
+                Thread.sleep(STALL_THRESHOLD_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Thread thread = fxThread;
+            long stallDuration = System.nanoTime() - lastFrameNanos;
+            if (monitoring && thread != null && stallDuration > TimeUnit.MILLISECONDS.toNanos(STALL_THRESHOLD_MS))
+                stallSamples.merge(getOrigin(thread.getStackTrace()), 1L, Long::sum);
+        }
+    }
+
+    // The class names of lambdas look like bisq.desktop.main.MainView$$Lambda$123/456
+    private static String getOrigin(Runnable runnable) {
+        String className = runnable.getClass().getName();
+        int index = className.indexOf("$$Lambda$");
+        return index < 0 ? className : className.substring(0, index) + " (lambda)";
+    }
+
+    // The first frame of our code which is not part of the profiler
+    private static String getOrigin(StackTraceElement[] stackTrace) {
+        for (StackTraceElement element : stackTrace) {
+            String className = element.getClassName();
+            if (className.startsWith("bisq.") && !className.startsWith(GUIProfiler.class.getName()))
+                return className + "." + element.getMethodName() + ":" + element.getLineNumber();
+        }
+        return stackTrace.length > 0 ? stackTrace[0].toString() : "unknown";
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Startup trace
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts a span of the startup trace. Use it with try-with-resources. After the startup trace got finished the
+     * span is not recorded anymore.
+     */
+    public static StartupTrace.Span startSpan(String name) {
+        return startupTrace.startSpan(name);
+    }
+
+    public static void mark(String name) {
+        startupTrace.mark(name);
+    }
+
+    public static Runnable traced(String name, Runnable runnable) {
+        return () -> {
+            try (StartupTrace.Span ignored = startSpan(name)) {
+                runnable.run();
+            }
+        };
+    }
+
+    public static <T> Consumer<T> traced(String name, Consumer<T> consumer) {
+        return value -> {
+            try (StartupTrace.Span ignored = startSpan(name)) {
+                consumer.accept(value);
             }
         };
-        fpsTimer.start();
+    }
+
+    public static <T, U> BiConsumer<T, U> traced(String name, BiConsumer<T, U> consumer) {
+        return (value1, value2) -> {
+            try (StartupTrace.Span ignored = startSpan(name)) {
+                consumer.accept(value1, value2);
+            }
+        };
+    }
+
+    /**
+     * Stops recording the startup trace and logs the slowest spans.
+     *
+     * @param traceFile The file the trace gets written to in a background thread, null to not write the trace
+     */
+    public static void finishStartupTrace(@Nullable File traceFile) {
+        if (!startupTrace.isRecording())
+            return;
+
+        mark("startupTraceFinished");
+        startupTrace.finish();
+        startupTrace.getSlowestSpans(NUM_LOGGED_SLOWEST_SPANS).forEach(span ->
+                log.info("Startup span {} took {} ms", span.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(span.getDurationNanos())));
+
+        if (traceFile != null) {
+            Thread thread = new Thread(() -> {
+                try (Writer writer = Files.newBufferedWriter(traceFile.toPath(), StandardCharsets.UTF_8)) {
+                    startupTrace.write(writer);
+                    log.info("Wrote startup trace to {}", traceFile);
+                } catch (IOException e) {
+                    log.warn("Could not write startup trace to {}: {}", traceFile, e.toString());
+                }
+            }, "GUIProfiler.writeStartupTrace");
+            thread.setDaemon(true);
+            thread.start();
+        }
     }
 }
@@ -19,7 +19,9 @@ package bisq.desktop.util;
 
 import bisq.desktop.app.BisqApp;
 import bisq.desktop.components.indicator.TxConfidenceIndicator;
+import bisq.desktop.components.indicator.TxConfidenceInfo;
 import bisq.desktop.main.overlays.popups.Popup;
+import bisq.desktop.main.overlays.windows.TaskProgressWindow;
 
 import bisq.core.app.BisqEnvironment;
 import bisq.core.btc.wallet.WalletsManager;
@@ -57,13 +59,6 @@ import org.bitcoinj.core.TransactionConfidence;
 import org.bitcoinj.uri.BitcoinURI;
 import org.bitcoinj.wallet.DeterministicSeed;
 
-import com.googlecode.jcsv.CSVStrategy;
-import com.googlecode.jcsv.writer.CSVEntryConverter;
-import com.googlecode.jcsv.writer.CSVWriter;
-import com.googlecode.jcsv.writer.internal.CSVWriterBuilder;
-
-import com.google.common.base.Charsets;
-
 import org.apache.commons.lang3.StringUtils;
 
 import javafx.stage.DirectoryChooser;
@@ -87,6 +82,7 @@ import javafx.scene.layout.Region;
 import javafx.geometry.Orientation;
 
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 
 import javafx.collections.FXCollections;
 
@@ -99,21 +95,23 @@ import java.net.URLEncoder;
 import java.nio.file.Paths;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import lombok.extern.slf4j.Slf4j;
 
+
+
+import javafx.concurrent.Task;
+
 @Slf4j
 public class GUIUtil {
     public final static String SHOW_ALL_FLAG = "SHOW_ALL_FLAG";
@@ -219,34 +217,47 @@ public class GUIUtil {
     }
 
 
-    public static <T> void exportCSV(String fileName, CSVEntryConverter<T> headerConverter,
-                                     CSVEntryConverter<T> contentConverter, T emptyItem,
-                                     List<T> list, Stage stage) {
+    public static <T> void exportCSV(String fileName, List<CsvExportTask.Column<T>> columns, List<T> list, Stage stage) {
+        exportCSV(fileName, columns, list, item -> true, stage);
+    }
 
+    /**
+     * Lets the user choose a file and exports the items matching the filter in the background. The rows are only
+     * formatted while they get written, so the list is just copied as it is.
+     */
+    public static <T> void exportCSV(String fileName, List<CsvExportTask.Column<T>> columns, List<T> list,
+                                     Predicate<T> filter, Stage stage) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setInitialFileName(fileName);
         File file = fileChooser.showSaveDialog(stage);
         if (file != null) {
-            try (OutputStreamWriter outputStreamWriter = new OutputStreamWriter(new FileOutputStream(file, false), Charsets.UTF_8)) {
-                CSVWriter<T> headerWriter = new CSVWriterBuilder<T>(outputStreamWriter)
-                        .strategy(CSVStrategy.UK_DEFAULT)
-                        .entryConverter(headerConverter)
-                        .build();
-                headerWriter.write(emptyItem);
-
-                CSVWriter<T> contentWriter = new CSVWriterBuilder<T>(outputStreamWriter)
-                        .strategy(CSVStrategy.UK_DEFAULT)
-                        .entryConverter(contentConverter)
-                        .build();
-                contentWriter.writeAll(list);
-            } catch (RuntimeException | IOException e) {
-                e.printStackTrace();
-                log.error(e.getMessage());
-                new Popup<>().error(Res.get("guiUtil.accountExport.exportFailed", e.getMessage()));
-            }
+            CsvExportTask<T> csvExportTask = new CsvExportTask<>(file, columns, new ArrayList<>(list), filter);
+            TaskProgressWindow progressWindow = new TaskProgressWindow(csvExportTask)
+                    .headLine(Res.get("shared.exportCSV"));
+            csvExportTask.setOnSucceeded(event -> progressWindow.hide());
+            csvExportTask.setOnFailed(event -> {
+                progressWindow.hide();
+                Throwable throwable = csvExportTask.getException();
+                log.error("Exporting CSV failed", throwable);
+                UserThread.runAfter(() -> new Popup<>()
+                        .error(Res.get("guiUtil.accountExport.exportFailed", throwable.getMessage()))
+                        .show(), Transitions.DEFAULT_DURATION, TimeUnit.MILLISECONDS);
+            });
+            progressWindow.show();
+
+            runInBackground(csvExportTask, "CsvExportTask");
         }
     }
 
+    /**
+     * Runs the task in a new daemon thread, so a running task doesn't prevent the application from shutting down.
+     */
+    public static void runInBackground(Task<?> task, String threadName) {
+        Thread thread = new Thread(task, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     public static String getDirectoryFromChooser(Preferences preferences, Stage stage) {
         DirectoryChooser directoryChooser = new DirectoryChooser();
         File initDir = new File(preferences.getDirectoryChooserPath());
@@ -295,16 +306,17 @@ public class GUIUtil {
     public static StringConverter<TradeCurrency> getTradeCurrencyConverter(
             String postFixSingle,
             String postFixMulti,
-            Map<String, Integer> offerCounts) {
+            Map<String, ? extends ReadOnlyIntegerProperty> offerCounts) {
         return new StringConverter<TradeCurrency>() {
             @Override
             public String toString(TradeCurrency tradeCurrency) {
                 String code = tradeCurrency.getCode();
-                Optional<Integer> offerCountOptional = Optional.ofNullable(offerCounts.get(code));
+                ReadOnlyIntegerProperty offerCountProperty = offerCounts.get(code);
+                int offerCount = offerCountProperty != null ? offerCountProperty.get() : 0;
                 final String displayString;
-                if (offerCountOptional.isPresent()) {
+                if (offerCount > 0) {
                     displayString = CurrencyUtil.getNameAndCode(code)
-                            + " - " + offerCountOptional.get() + " " + (offerCountOptional.get() == 1 ? postFixSingle : postFixMulti);
+                            + " - " + offerCount + " " + (offerCount == 1 ? postFixSingle : postFixMulti);
                 } else {
                     displayString = CurrencyUtil.getNameAndCode(code);
                 }
@@ -324,28 +336,14 @@ public class GUIUtil {
     }
 
     public static void updateConfidence(TransactionConfidence confidence, Tooltip tooltip, TxConfidenceIndicator txConfidenceIndicator) {
-        if (confidence != null) {
-            switch (confidence.getConfidenceType()) {
-                case UNKNOWN:
-                    tooltip.setText(Res.get("confidence.unknown"));
-                    txConfidenceIndicator.setProgress(0);
-                    break;
-                case PENDING:
-                    tooltip.setText(Res.get("confidence.seen", confidence.numBroadcastPeers()));
-                    txConfidenceIndicator.setProgress(-1.0);
-                    break;
-                case BUILDING:
-                    tooltip.setText(Res.get("confidence.confirmed", confidence.getDepthInBlocks()));
-                    txConfidenceIndicator.setProgress(Math.min(1, (double) confidence.getDepthInBlocks() / 6.0));
-                    break;
-                case DEAD:
-                    tooltip.setText(Res.get("confidence.invalid"));
-                    txConfidenceIndicator.setProgress(0);
-                    break;
-            }
+        if (confidence != null)
+            updateConfidence(TxConfidenceInfo.from(confidence), tooltip, txConfidenceIndicator);
+    }
 
-            txConfidenceIndicator.setPrefSize(24, 24);
-        }
+    public static void updateConfidence(TxConfidenceInfo confidenceInfo, Tooltip tooltip, TxConfidenceIndicator txConfidenceIndicator) {
+        tooltip.setText(confidenceInfo.getTooltipText());
+        txConfidenceIndicator.setProgress(confidenceInfo.getProgress());
+        txConfidenceIndicator.setPrefSize(24, 24);
     }
 
 
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import bisq.core.trade.Tradable;
+import bisq.core.trade.Trade;
+import bisq.core.trade.closed.ClosedTradableManager;
+
+import bisq.network.p2p.NodeAddress;
+
+import org.bitcoinj.core.Coin;
+
+import javax.inject.Inject;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Statistics of our closed trades per trading peer. The closed trades are grouped by the node address of the peer
+ * when the statistics are requested the first time, afterwards only the peers of added or removed trades get
+ * updated. Must only be used from the UserThread.
+ */
+public class PeerTradeHistory {
+
+    @Value
+    public static class PeerStatistics {
+        public static final PeerStatistics EMPTY = new PeerStatistics(0, null, null, Coin.ZERO);
+
+        private final int numTrades;
+        @Nullable
+        private final Date firstTradeDate;
+        @Nullable
+        private final Date lastTradeDate;
+        private final Coin tradeVolume;
+    }
+
+    private final ObservableList<Tradable> closedTradables;
+    private final Map<NodeAddress, List<Trade>> tradesByNodeAddress = new HashMap<>();
+    private final Map<NodeAddress, PeerStatistics> statisticsByNodeAddress = new HashMap<>();
+    private boolean initialized;
+
+    @Inject
+    public PeerTradeHistory(ClosedTradableManager closedTradableManager) {
+        closedTradables = closedTradableManager.getClosedTradables();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public PeerStatistics getPeerStatistics(@Nullable NodeAddress nodeAddress) {
+        if (nodeAddress == null)
+            return PeerStatistics.EMPTY;
+
+        maybeInitialize();
+        return statisticsByNodeAddress.getOrDefault(nodeAddress, PeerStatistics.EMPTY);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void maybeInitialize() {
+        if (initialized)
+            return;
+
+        initialized = true;
+        Set<NodeAddress> changedNodeAddresses = new HashSet<>();
+        closedTradables.forEach(tradable -> add(tradable, changedNodeAddresses));
+        changedNodeAddresses.forEach(this::updateStatistics);
+        closedTradables.addListener((ListChangeListener<Tradable>) this::onClosedTradablesChanged);
+    }
+
+    private void onClosedTradablesChanged(ListChangeListener.Change<? extends Tradable> change) {
+        Set<NodeAddress> changedNodeAddresses = new HashSet<>();
+        while (change.next()) {
+            if (change.wasRemoved())
+                change.getRemoved().forEach(tradable -> remove(tradable, changedNodeAddresses));
+            if (change.wasAdded())
+                change.getAddedSubList().forEach(tradable -> add(tradable, changedNodeAddresses));
+        }
+        changedNodeAddresses.forEach(this::updateStatistics);
+    }
+
+    private void add(Tradable tradable, Set<NodeAddress> changedNodeAddresses) {
+        NodeAddress nodeAddress = getTradingPeerNodeAddress(tradable);
+        if (nodeAddress != null) {
+            tradesByNodeAddress.computeIfAbsent(nodeAddress, k -> new ArrayList<>()).add((Trade) tradable);
+            changedNodeAddresses.add(nodeAddress);
+        }
+    }
+
+    private void remove(Tradable tradable, Set<NodeAddress> changedNodeAddresses) {
+        NodeAddress nodeAddress = getTradingPeerNodeAddress(tradable);
+        if (nodeAddress != null) {
+            List<Trade> trades = tradesByNodeAddress.get(nodeAddress);
+            if (trades != null && trades.removeIf(trade -> trade == tradable)) {
+                if (trades.isEmpty())
+                    tradesByNodeAddress.remove(nodeAddress);
+                changedNodeAddresses.add(nodeAddress);
+            }
+        }
+    }
+
+    // Only the trades with that peer are iterated
+    private void updateStatistics(NodeAddress nodeAddress) {
+        List<Trade> trades = tradesByNodeAddress.get(nodeAddress);
+        if (trades == null) {
+            statisticsByNodeAddress.remove(nodeAddress);
+            return;
+        }
+
+        Date firstTradeDate = null;
+        Date lastTradeDate = null;
+        long tradeVolume = 0;
+        for (Trade trade : trades) {
+            Date date = trade.getDate();
+            if (date != null) {
+                if (firstTradeDate == null || date.before(firstTradeDate))
+                    firstTradeDate = date;
+                if (lastTradeDate == null || date.after(lastTradeDate))
+                    lastTradeDate = date;
+            }
+            Coin tradeAmount = trade.getTradeAmount();
+            if (tradeAmount != null)
+                tradeVolume += tradeAmount.value;
+        }
+        statisticsByNodeAddress.put(nodeAddress,
+                new PeerStatistics(trades.size(), firstTradeDate, lastTradeDate, Coin.valueOf(tradeVolume)));
+    }
+
+    @Nullable
+    private static NodeAddress getTradingPeerNodeAddress(Tradable tradable) {
+        return tradable instanceof Trade ? ((Trade) tradable).getTradingPeerNodeAddress() : null;
+    }
+}
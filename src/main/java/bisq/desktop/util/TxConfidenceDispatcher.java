@@ -0,0 +1,213 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import bisq.core.btc.listeners.TxConfidenceListener;
+import bisq.core.btc.wallet.WalletService;
+
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.wallet.Wallet;
+import org.bitcoinj.wallet.listeners.WalletEventListener;
+
+import com.google.inject.Inject;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Dispatches the confidence changes of the transactions of the wallet services to the TxConfidenceListeners of the UI.
+ * Instead of each table cell registering its own listener at the wallet service, which iterates over all listeners
+ * at each confidence change, there is one listener per wallet service and the UI listeners are looked up by tx ID.
+ * Changes are collected and dispatched at most once per frame, so a tx which changes its confidence multiple times
+ * in a burst (e.g. at a new block) triggers only one UI update.
+ * Bound as singleton, only used from the UserThread.
+ */
+public class TxConfidenceDispatcher {
+    private static final long DISPATCH_INTERVAL_MS = 16;
+
+    private final long dispatchIntervalMs;
+    // Only contains the wallet services we have listeners for
+    private final Map<WalletService, WalletServiceDispatcher> dispatchersByWalletService = new IdentityHashMap<>();
+
+    @Inject
+    public TxConfidenceDispatcher() {
+        this(DISPATCH_INTERVAL_MS);
+    }
+
+    @VisibleForTesting
+    TxConfidenceDispatcher(long dispatchIntervalMs) {
+        this.dispatchIntervalMs = dispatchIntervalMs;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public void addTxConfidenceListener(WalletService walletService, TxConfidenceListener listener) {
+        dispatchersByWalletService.computeIfAbsent(walletService, WalletServiceDispatcher::new)
+                .addTxConfidenceListener(listener);
+    }
+
+    public void removeTxConfidenceListener(WalletService walletService, @Nullable TxConfidenceListener listener) {
+        if (listener == null)
+            return;
+
+        WalletServiceDispatcher dispatcher = dispatchersByWalletService.get(walletService);
+        if (dispatcher != null && dispatcher.removeTxConfidenceListener(listener))
+            dispatchersByWalletService.remove(walletService);
+    }
+
+    @VisibleForTesting
+    int getNumListeners(WalletService walletService) {
+        WalletServiceDispatcher dispatcher = dispatchersByWalletService.get(walletService);
+        return dispatcher != null ? dispatcher.getNumListeners() : 0;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // WalletServiceDispatcher
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private class WalletServiceDispatcher {
+        private final WalletService walletService;
+        private final Map<String, Set<TxConfidenceListener>> listenersByTxId = new HashMap<>();
+        // Latest changed transaction by tx ID which has not been dispatched yet
+        private final Map<String, Transaction> pendingTransactions = new LinkedHashMap<>();
+        private final WalletEventListener walletEventListener;
+        @Nullable
+        private Timer dispatchTimer;
+
+        WalletServiceDispatcher(WalletService walletService) {
+            this.walletService = walletService;
+
+            //noinspection deprecation
+            walletEventListener = new WalletEventListener() {
+                @Override
+                public void onTransactionConfidenceChanged(Wallet wallet, Transaction tx) {
+                    onConfidenceChanged(tx);
+                }
+
+                @Override
+                public void onCoinsReceived(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
+                }
+
+                @Override
+                public void onCoinsSent(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
+                }
+
+                @Override
+                public void onReorganize(Wallet wallet) {
+                }
+
+                @Override
+                public void onWalletChanged(Wallet wallet) {
+                }
+
+                @Override
+                public void onScriptsChanged(Wallet wallet, List<Script> scripts, boolean isAddingScripts) {
+                }
+
+                @Override
+                public void onKeysAdded(List<ECKey> keys) {
+                }
+            };
+            walletService.addEventListener(walletEventListener);
+        }
+
+        void addTxConfidenceListener(TxConfidenceListener listener) {
+            listenersByTxId.computeIfAbsent(listener.getTxID(), key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                    .add(listener);
+        }
+
+        /**
+         * @return True if the last listener got removed and we have stopped listening to the wallet service
+         */
+        boolean removeTxConfidenceListener(TxConfidenceListener listener) {
+            Set<TxConfidenceListener> listeners = listenersByTxId.get(listener.getTxID());
+            if (listeners != null) {
+                listeners.remove(listener);
+                if (listeners.isEmpty())
+                    listenersByTxId.remove(listener.getTxID());
+            }
+
+            if (!listenersByTxId.isEmpty())
+                return false;
+
+            walletService.removeEventListener(walletEventListener);
+            stopDispatchTimer();
+            pendingTransactions.clear();
+            return true;
+        }
+
+        int getNumListeners() {
+            return listenersByTxId.values().stream().mapToInt(Set::size).sum();
+        }
+
+        private void onConfidenceChanged(Transaction tx) {
+            String txId = tx.getHashAsString();
+            if (!listenersByTxId.containsKey(txId))
+                return;
+
+            pendingTransactions.put(txId, tx);
+            if (dispatchIntervalMs == 0)
+                dispatch();
+            else if (dispatchTimer == null)
+                dispatchTimer = UserThread.runAfter(this::dispatch, dispatchIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void dispatch() {
+            dispatchTimer = null;
+            List<Transaction> transactions = new ArrayList<>(pendingTransactions.values());
+            pendingTransactions.clear();
+            for (Transaction tx : transactions) {
+                Set<TxConfidenceListener> listeners = listenersByTxId.get(tx.getHashAsString());
+                if (listeners != null) {
+                    TransactionConfidence confidence = tx.getConfidence();
+                    // Listeners might get removed while we notify them
+                    new ArrayList<>(listeners).forEach(listener -> listener.onTransactionConfidenceChanged(confidence));
+                }
+            }
+        }
+
+        private void stopDispatchTimer() {
+            if (dispatchTimer != null) {
+                dispatchTimer.stop();
+                dispatchTimer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.common;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StartupTraceTest {
+
+    @Test
+    public void testSpansAndMarks() throws InterruptedException {
+        StartupTrace startupTrace = new StartupTrace();
+        try (StartupTrace.Span ignored = startupTrace.startSpan("outer")) {
+            Thread.sleep(1);
+            try (StartupTrace.Span ignored2 = startupTrace.startSpan("inner")) {
+                Thread.sleep(1);
+                startupTrace.mark("mark");
+            }
+        }
+
+        List<StartupTrace.Event> events = startupTrace.getEvents();
+        assertEquals(3, events.size());
+        // Ordered by their start, not by their end
+        assertEquals("outer", events.get(0).getName());
+        assertEquals("inner", events.get(1).getName());
+        assertEquals("mark", events.get(2).getName());
+        assertTrue(events.get(2).isMark());
+        assertFalse(events.get(0).isMark());
+        assertTrue(events.get(0).getDurationNanos() >= events.get(1).getDurationNanos());
+        assertEquals(Thread.currentThread().getName(), events.get(0).getThreadName());
+
+        assertEquals(2, startupTrace.getSlowestSpans(5).size());
+        assertEquals("outer", startupTrace.getSlowestSpans(1).get(0).getName());
+    }
+
+    @Test
+    public void testNoRecordingAfterFinish() {
+        StartupTrace startupTrace = new StartupTrace();
+        StartupTrace.Span span = startupTrace.startSpan("span");
+        assertEquals(0, startupTrace.finish().size());
+        assertFalse(startupTrace.isRecording());
+
+        span.close();
+        startupTrace.mark("mark");
+        assertTrue(startupTrace.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        StartupTrace startupTrace = new StartupTrace(0);
+        startupTrace.startSpan("load \"View\"").close();
+        startupTrace.mark("firstPulse");
+
+        StringWriter writer = new StringWriter();
+        startupTrace.write(writer);
+        String json = writer.toString();
+        assertTrue(json.startsWith("{\"traceEvents\":[\n"));
+        assertTrue(json.endsWith("]}\n"));
+        assertTrue(json.contains("{\"name\":\"load \\\"View\\\"\",\"ph\":\"X\",\"ts\":"));
+        assertTrue(json.contains("{\"name\":\"firstPulse\",\"ph\":\"i\",\"ts\":"));
+        assertEquals(2, json.split("\"pid\":1").length - 1);
+    }
+}
@@ -19,10 +19,14 @@ package bisq.desktop.common.support;
 
 import bisq.desktop.common.view.AbstractView;
 import bisq.desktop.common.view.CachingViewLoader;
+import bisq.desktop.common.view.View;
 import bisq.desktop.common.view.ViewLoader;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -44,6 +48,71 @@ public class CachingViewLoaderTests {
         then(delegateViewLoader).should(times(0)).load(TestView3.class);
     }
 
+    @Test
+    public void testLeastRecentlyUsedViewGetsEvicted() {
+        ViewLoader delegateViewLoader = mock(ViewLoader.class);
+        View view1 = mock(View.class);
+        View view2 = mock(View.class);
+        View view3 = mock(View.class);
+        given(delegateViewLoader.load(TestView1.class)).willReturn(view1);
+        given(delegateViewLoader.load(TestView2.class)).willReturn(view2);
+        given(delegateViewLoader.load(TestView3.class)).willReturn(view3);
+
+        CachingViewLoader cachingViewLoader = new CachingViewLoader(delegateViewLoader, 2);
+
+        cachingViewLoader.load(TestView1.class);
+        cachingViewLoader.load(TestView2.class);
+        cachingViewLoader.load(TestView1.class);
+        cachingViewLoader.load(TestView3.class);
+
+        then(view2).should(times(1)).onEvicted();
+        then(view1).should(times(0)).onEvicted();
+        assertEquals(2, cachingViewLoader.getNumCachedViews());
+        assertEquals(1, cachingViewLoader.getNumEvictions());
+
+        cachingViewLoader.load(TestView2.class);
+        then(delegateViewLoader).should(times(2)).load(TestView2.class);
+        then(view1).should(times(1)).onEvicted();
+
+        assertEquals(1, cachingViewLoader.getNumHits());
+        assertEquals(4, cachingViewLoader.getNumMisses());
+        assertTrue(cachingViewLoader.getLoadDurations().containsKey(TestView3.class));
+    }
+
+    @Test
+    public void testViewsLoadedByParentAreNotEvictedDuringItsLoad() {
+        ViewLoader delegateViewLoader = mock(ViewLoader.class);
+        CachingViewLoader cachingViewLoader = new CachingViewLoader(delegateViewLoader, 1);
+        View view1 = mock(View.class);
+        View view2 = mock(View.class);
+        View view3 = mock(View.class);
+        View view4 = mock(View.class);
+        // The parent loads its child views in its initialize method, before it is part of a scene
+        given(delegateViewLoader.load(TestView1.class)).willAnswer(invocation -> {
+            cachingViewLoader.load(TestView2.class);
+            cachingViewLoader.load(TestView3.class);
+            return view1;
+        });
+        given(delegateViewLoader.load(TestView2.class)).willReturn(view2);
+        given(delegateViewLoader.load(TestView3.class)).willReturn(view3);
+        given(delegateViewLoader.load(TestView4.class)).willReturn(view4);
+
+        cachingViewLoader.load(TestView1.class);
+
+        then(view1).should(times(0)).onEvicted();
+        then(view2).should(times(0)).onEvicted();
+        then(view3).should(times(0)).onEvicted();
+        assertEquals(3, cachingViewLoader.getNumCachedViews());
+
+        // None of them is shown, so they get evicted at the next load
+        cachingViewLoader.load(TestView4.class);
+
+        then(view1).should(times(1)).onEvicted();
+        then(view2).should(times(1)).onEvicted();
+        then(view3).should(times(1)).onEvicted();
+        assertEquals(1, cachingViewLoader.getNumCachedViews());
+    }
+
 
     static class TestView1 extends AbstractView {
     }
@@ -53,4 +122,7 @@ public class CachingViewLoaderTests {
 
     static class TestView3 extends AbstractView {
     }
+
+    static class TestView4 extends AbstractView {
+    }
 }
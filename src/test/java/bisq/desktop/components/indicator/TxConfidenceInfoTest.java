@@ -0,0 +1,49 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.components.indicator;
+
+import org.bitcoinj.core.TransactionConfidence.ConfidenceType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TxConfidenceInfoTest {
+
+    @Test
+    public void testGetProgress() {
+        assertEquals(0, TxConfidenceInfo.NOT_USED.getProgress(), 0);
+        assertEquals(-1, new TxConfidenceInfo(ConfidenceType.PENDING, 0, 3).getProgress(), 0);
+        assertEquals(0.5, new TxConfidenceInfo(ConfidenceType.BUILDING, 3, 0).getProgress(), 0);
+        assertEquals(1, new TxConfidenceInfo(ConfidenceType.BUILDING, 10, 0).getProgress(), 0);
+        assertEquals(0, new TxConfidenceInfo(ConfidenceType.DEAD, 0, 0).getProgress(), 0);
+    }
+
+    @Test
+    public void testFromNullIsNotUsed() {
+        assertEquals(TxConfidenceInfo.NOT_USED, TxConfidenceInfo.from(null));
+    }
+
+    @Test
+    public void testEquality() {
+        // Equal snapshots don't trigger an update of the indicator
+        assertEquals(new TxConfidenceInfo(ConfidenceType.BUILDING, 2, 0), new TxConfidenceInfo(ConfidenceType.BUILDING, 2, 0));
+        assertNotEquals(new TxConfidenceInfo(ConfidenceType.BUILDING, 2, 0), new TxConfidenceInfo(ConfidenceType.BUILDING, 3, 0));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import bisq.core.arbitration.Attachment;
+
+import javax.imageio.ImageIO;
+
+import java.nio.file.Files;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import java.awt.image.BufferedImage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AttachmentLoadTaskTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void testReadInChunks() throws Exception {
+        byte[] bytes = new byte[AttachmentLoadTask.BUFFER_SIZE * 3 + 100];
+        random.nextBytes(bytes);
+        File file = temporaryFolder.newFile("log.txt");
+        Files.write(file.toPath(), bytes);
+
+        TestAttachmentLoadTask task = new TestAttachmentLoadTask(file, bytes.length);
+        Attachment attachment = task.call();
+
+        assertEquals("log.txt", attachment.getFileName());
+        assertArrayEquals(bytes, attachment.getBytes());
+        assertEquals(4, task.progress.size());
+        assertEquals(AttachmentLoadTask.BUFFER_SIZE, task.progress.get(0), 0);
+        assertEquals(bytes.length, task.progress.get(3), 0);
+    }
+
+    @Test
+    public void testTooLargeFileIsNotRead() throws Exception {
+        File file = temporaryFolder.newFile("log.txt");
+        Files.write(file.toPath(), new byte[1000]);
+
+        TestAttachmentLoadTask task = new TestAttachmentLoadTask(file, 999);
+        try {
+            task.call();
+            fail("Expected AttachmentTooLargeException");
+        } catch (AttachmentLoadTask.AttachmentTooLargeException e) {
+            assertEquals(1000, e.getSize());
+        }
+        assertTrue(task.progress.isEmpty());
+    }
+
+    @Test
+    public void testTooLargeImageGetsDownscaled() throws Exception {
+        File file = writeImage("screenshot.png", 400, 300);
+        int maxSize = (int) (file.length() / 2);
+
+        Attachment attachment = new TestAttachmentLoadTask(file, maxSize).call();
+
+        assertEquals("screenshot.png", attachment.getFileName());
+        assertTrue(attachment.getBytes().length <= maxSize);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(attachment.getBytes()));
+        assertNotNull(image);
+        assertEquals(200, image.getWidth());
+        assertEquals(150, image.getHeight());
+    }
+
+    @Test
+    public void testImageWhichCannotBeDownscaledEnough() throws Exception {
+        File file = writeImage("screenshot.png", 400, 300);
+
+        try {
+            new TestAttachmentLoadTask(file, 10).call();
+            fail("Expected AttachmentTooLargeException");
+        } catch (AttachmentLoadTask.AttachmentTooLargeException e) {
+            assertEquals(file.length(), e.getSize());
+        }
+    }
+
+    @Test
+    public void testFileWithImageExtensionWhichIsNoImage() throws Exception {
+        File file = temporaryFolder.newFile("screenshot.jpg");
+        Files.write(file.toPath(), new byte[1000]);
+
+        try {
+            new TestAttachmentLoadTask(file, 999).call();
+            fail("Expected AttachmentTooLargeException");
+        } catch (AttachmentLoadTask.AttachmentTooLargeException e) {
+            assertEquals(1000, e.getSize());
+        }
+    }
+
+    @Test
+    public void testImageWithTooManyPixelsIsNotDecoded() throws Exception {
+        // An image of one color compresses to a few KB, but would need 100 MB when decoded for downscaling
+        BufferedImage image = new BufferedImage(5000, 5000, BufferedImage.TYPE_BYTE_BINARY);
+        assertTrue(image.getWidth() * image.getHeight() > AttachmentLoadTask.MAX_IMAGE_PIXELS);
+        File file = temporaryFolder.newFile("screenshot.png");
+        ImageIO.write(image, "png", file);
+
+        try {
+            new TestAttachmentLoadTask(file, (int) file.length() - 1).call();
+            fail("Expected AttachmentTooLargeException");
+        } catch (AttachmentLoadTask.AttachmentTooLargeException e) {
+            assertEquals(file.length(), e.getSize());
+        }
+    }
+
+    // Noise does not compress, so halving the dimensions reduces the size to about a quarter
+    private File writeImage(String fileName, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++)
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+        }
+        File file = temporaryFolder.newFile(fileName);
+        ImageIO.write(image, "png", file);
+        return file;
+    }
+
+    // The progress updates of a Task need the FX application thread, so we record them instead
+    private static class TestAttachmentLoadTask extends AttachmentLoadTask {
+        private final List<Double> progress = new ArrayList<>();
+
+        TestAttachmentLoadTask(File file, int maxSize) {
+            super(file, maxSize);
+        }
+
+        @Override
+        protected void updateProgress(double workDone, double max) {
+            if (workDone >= 0)
+                progress.add(workDone);
+        }
+    }
+}
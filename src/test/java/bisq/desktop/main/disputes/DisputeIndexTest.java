@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import bisq.core.arbitration.Dispute;
+
+import com.google.common.collect.Sets;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(Dispute.class)
+public class DisputeIndexTest {
+    private Dispute openDispute;
+    private Dispute closedDispute;
+    private Set<Dispute> matchingDisputes;
+
+    @Before
+    public void setUp() {
+        openDispute = mock(Dispute.class);
+        when(openDispute.isClosed()).thenReturn(false);
+        closedDispute = mock(Dispute.class);
+        when(closedDispute.isClosed()).thenReturn(true);
+    }
+
+    @Test
+    public void testEmptyFilterMatchesAllDisputes() {
+        Predicate<Dispute> predicate = DisputeIndex.getFilterPredicate("", this::findNone);
+
+        assertTrue(predicate.test(openDispute));
+        assertTrue(predicate.test(closedDispute));
+    }
+
+    @Test
+    public void testFilterMatchesFoundDisputes() {
+        matchingDisputes = Sets.newHashSet(closedDispute);
+        Predicate<Dispute> predicate = DisputeIndex.getFilterPredicate("abc", searchText -> matchingDisputes);
+
+        assertTrue(predicate.test(closedDispute));
+        assertFalse(predicate.test(openDispute));
+    }
+
+    @Test
+    public void testOpenFilterIgnoresChatMessagesContainingOpen() {
+        // E.g. the "You opened a request for a dispute" system message of a closed dispute
+        matchingDisputes = Sets.newHashSet(openDispute, closedDispute);
+        Predicate<Dispute> predicate = DisputeIndex.getFilterPredicate("Open", searchText -> matchingDisputes);
+
+        assertTrue(predicate.test(openDispute));
+        assertFalse(predicate.test(closedDispute));
+    }
+
+    private Set<Dispute> findNone(String searchText) {
+        return Sets.newHashSet();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.disputes;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TextSearchIndexTest {
+    private final String item1 = "item1";
+    private final String item2 = "item2";
+    private TextSearchIndex<String> index;
+
+    @Before
+    public void setUp() {
+        index = new TextSearchIndex<>();
+        index.put(item1, "Dispute ABC123\nPlease send the payout");
+        index.put(item2, "Dispute XYZ789\nI did not receive the payment");
+    }
+
+    @Test
+    public void testFindIgnoresCase() {
+        Set<String> result = index.find("abc1");
+        assertEquals(1, result.size());
+        assertTrue(result.contains(item1));
+
+        assertEquals(2, index.find("DISPUTE").size());
+    }
+
+    @Test
+    public void testFindShortQuery() {
+        assertEquals(2, index.find("").size());
+        assertEquals(2, index.find("pa").size());
+        assertTrue(index.find("q").isEmpty());
+    }
+
+    @Test
+    public void testFindRequiresWholeQuery() {
+        // All trigrams of the query are contained in the text but not the query itself
+        index.put(item1, "abcd bcde");
+        assertTrue(index.find("abcde").isEmpty());
+        assertEquals(1, index.find("bcde").size());
+        assertTrue(index.find("unknown").isEmpty());
+    }
+
+    @Test
+    public void testPutReplacesText() {
+        index.put(item1, "closed");
+        assertTrue(index.find("abc").isEmpty());
+        assertEquals(1, index.find("close").size());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(item2);
+        assertTrue(index.find("xyz").isEmpty());
+        assertEquals(1, index.find("dispute").size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.find("").isEmpty());
+    }
+}
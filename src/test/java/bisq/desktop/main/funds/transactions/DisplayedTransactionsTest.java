@@ -77,4 +77,42 @@ public class DisplayedTransactionsTest {
         assertEquals(1, testedEntity.size());
         verify(transactionListItemFactory).create(any(), nullable(TransactionAwareTradable.class));
     }
+
+    @Test
+    public void testUpdateOnlyCreatesItemsOfNewTransactions() {
+        Transaction first = mock(Transaction.class);
+        when(first.getHashAsString()).thenReturn("1");
+        Transaction second = mock(Transaction.class);
+        when(second.getHashAsString()).thenReturn("2");
+
+        BtcWalletService walletService = mock(BtcWalletService.class);
+        when(walletService.getTransactions(false)).thenReturn(Sets.newHashSet(first));
+
+        TransactionsListItem firstItem = mock(TransactionsListItem.class);
+        when(firstItem.isUpToDate(any(), any())).thenReturn(true);
+        TransactionsListItem secondItem = mock(TransactionsListItem.class);
+        when(secondItem.isUpToDate(any(), any())).thenReturn(true);
+        TransactionListItemFactory transactionListItemFactory = mock(TransactionListItemFactory.class);
+        when(transactionListItemFactory.create(eq(first), any())).thenReturn(firstItem);
+        when(transactionListItemFactory.create(eq(second), any())).thenReturn(secondItem);
+
+        @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
+        DisplayedTransactions testedEntity = new DisplayedTransactions(
+                walletService,
+                mock(TradableRepository.class),
+                transactionListItemFactory,
+                mock(TransactionAwareTradableFactory.class));
+
+        testedEntity.update();
+        when(walletService.getTransactions(false)).thenReturn(Sets.newHashSet(first, second));
+        testedEntity.update();
+
+        assertEquals(2, testedEntity.size());
+        verify(transactionListItemFactory, times(1)).create(eq(first), any());
+
+        when(walletService.getTransactions(false)).thenReturn(Sets.newHashSet(second));
+        testedEntity.update();
+
+        assertEquals(Collections.singletonList(secondItem), testedEntity);
+    }
 }
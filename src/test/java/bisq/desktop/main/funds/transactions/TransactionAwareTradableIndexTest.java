@@ -0,0 +1,90 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.funds.transactions;
+
+import bisq.core.arbitration.Dispute;
+import bisq.core.arbitration.DisputeManager;
+import bisq.core.offer.OpenOffer;
+import bisq.core.trade.Trade;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(Dispute.class)
+@SuppressWarnings("ConstantConditions")
+public class TransactionAwareTradableIndexTest {
+    @Test
+    public void testGet() {
+        Trade trade = mock(Trade.class, RETURNS_DEEP_STUBS);
+        when(trade.getId()).thenReturn("7");
+        when(trade.getTakerFeeTxId()).thenReturn("takerFeeTx");
+        when(trade.getOffer().getOfferFeePaymentTxId()).thenReturn("offerFeeTx");
+        when(trade.getDepositTx().getHashAsString()).thenReturn("depositTx");
+        when(trade.getPayoutTx().getHashAsString()).thenReturn("payoutTx");
+        TransactionAwareTradable transactionAwareTrade = new TransactionAwareTrade(trade, mock(DisputeManager.class));
+
+        OpenOffer openOffer = mock(OpenOffer.class, RETURNS_DEEP_STUBS);
+        when(openOffer.getOffer().getOfferFeePaymentTxId()).thenReturn("openOfferFeeTx");
+        TransactionAwareTradable transactionAwareOpenOffer = new TransactionAwareOpenOffer(openOffer);
+
+        Dispute dispute = mock(Dispute.class);
+        when(dispute.getTradeId()).thenReturn("7");
+        when(dispute.getDisputePayoutTxId()).thenReturn("disputePayoutTx");
+        Dispute otherDispute = mock(Dispute.class);
+        when(otherDispute.getTradeId()).thenReturn("8");
+        when(otherDispute.getDisputePayoutTxId()).thenReturn("otherDisputePayoutTx");
+
+        TransactionAwareTradableIndex index = new TransactionAwareTradableIndex(
+                Arrays.asList(transactionAwareOpenOffer, transactionAwareTrade), Arrays.asList(dispute, otherDispute));
+
+        assertSame(transactionAwareOpenOffer, index.get("openOfferFeeTx"));
+        assertSame(transactionAwareTrade, index.get("takerFeeTx"));
+        assertSame(transactionAwareTrade, index.get("offerFeeTx"));
+        assertSame(transactionAwareTrade, index.get("depositTx"));
+        assertSame(transactionAwareTrade, index.get("payoutTx"));
+        assertSame(transactionAwareTrade, index.get("disputePayoutTx"));
+        assertNull(index.get("otherDisputePayoutTx"));
+        assertNull(index.get("unknownTx"));
+    }
+
+    @Test
+    public void testFirstTradableWins() {
+        OpenOffer openOffer = mock(OpenOffer.class, RETURNS_DEEP_STUBS);
+        when(openOffer.getOffer().getOfferFeePaymentTxId()).thenReturn("offerFeeTx");
+        TransactionAwareTradable first = new TransactionAwareOpenOffer(openOffer);
+        TransactionAwareTradable second = new TransactionAwareOpenOffer(openOffer);
+
+        TransactionAwareTradableIndex index = new TransactionAwareTradableIndex(Arrays.asList(first, second),
+                Collections.emptyList());
+
+        assertSame(first, index.get("offerFeeTx"));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.funds.transactions;
+
+import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.btc.wallet.BtcWalletService;
+import bisq.core.dao.DaoFacade;
+import bisq.core.trade.Trade;
+import bisq.core.util.BSFormatter;
+
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.Transaction;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionsListItemTest {
+    private Transaction transaction;
+    private BtcWalletService btcWalletService;
+    private Trade trade;
+
+    @Before
+    public void setUp() {
+        transaction = mock(Transaction.class);
+        when(transaction.getHashAsString()).thenReturn("txId");
+        when(transaction.getUpdateTime()).thenReturn(new Date(1000));
+
+        btcWalletService = mock(BtcWalletService.class);
+        when(btcWalletService.getValueSentToMeForTransaction(transaction)).thenReturn(Coin.COIN);
+        when(btcWalletService.getValueSentFromMeForTransaction(transaction)).thenReturn(Coin.ZERO);
+
+        trade = mock(Trade.class);
+        when(trade.getShortId()).thenReturn("tradeId");
+        when(trade.getOffer()).thenReturn(make(btcUsdOffer));
+        when(trade.getDisputeState()).thenReturn(Trade.DisputeState.NO_DISPUTE);
+    }
+
+    @Test
+    public void testIsUpToDate() {
+        TransactionsListItem item = createItem();
+
+        assertTrue(item.isUpToDate(transaction, trade));
+        assertFalse(item.isUpToDate(transaction, null));
+
+        when(btcWalletService.getValueSentToMeForTransaction(transaction)).thenReturn(Coin.CENT);
+        assertFalse(item.isUpToDate(transaction, trade));
+    }
+
+    @Test
+    public void testIsNotUpToDateIfTradeStateChanged() {
+        TransactionsListItem item = createItem();
+
+        Transaction depositTx = mock(Transaction.class);
+        when(depositTx.getHashAsString()).thenReturn("txId");
+        when(trade.getDepositTx()).thenReturn(depositTx);
+        assertFalse(item.isUpToDate(transaction, trade));
+
+        item = createItem();
+        assertTrue(item.isUpToDate(transaction, trade));
+
+        when(trade.getDisputeState()).thenReturn(Trade.DisputeState.DISPUTE_CLOSED);
+        assertFalse(item.isUpToDate(transaction, trade));
+    }
+
+    private TransactionsListItem createItem() {
+        return new TransactionsListItem(transaction, btcWalletService, mock(BsqWalletService.class),
+                Optional.of(trade), mock(DaoFacade.class), new BSFormatter());
+    }
+}
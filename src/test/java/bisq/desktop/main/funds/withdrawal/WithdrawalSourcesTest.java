@@ -0,0 +1,96 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.funds.withdrawal;
+
+import org.bitcoinj.core.Coin;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WithdrawalSourcesTest {
+    private WithdrawalListItem item1;
+    private WithdrawalListItem item2;
+    private WithdrawalSources sources;
+
+    @Before
+    public void setUp() {
+        item1 = createItem("address1", 1000);
+        item2 = createItem("address2", 500);
+        sources = new WithdrawalSources();
+        sources.setItems(Arrays.asList(item1, item2));
+    }
+
+    @Test
+    public void testSetSelected() {
+        assertEquals(Coin.valueOf(1500), sources.getAvailableBalance());
+        assertEquals(Coin.ZERO, sources.getSelectedBalance());
+
+        sources.setSelected(item1, true);
+        // Selecting twice must not count the balance twice
+        sources.setSelected(item1, true);
+        assertEquals(Coin.valueOf(1000), sources.getSelectedBalance());
+        assertEquals(1, sources.getNumSelected());
+
+        sources.setSelected(item2, true);
+        assertEquals(Coin.valueOf(1500), sources.getSelectedBalance());
+
+        sources.setSelected(item1, false);
+        sources.setSelected(item1, false);
+        assertEquals(Coin.valueOf(500), sources.getSelectedBalance());
+        assertEquals(1, sources.getNumSelected());
+        assertEquals("address2", sources.getSelectedAddresses().iterator().next());
+    }
+
+    @Test
+    public void testSetAllSelected() {
+        sources.setAllSelected(true);
+        assertEquals(Coin.valueOf(1500), sources.getSelectedBalance());
+        assertEquals(2, sources.getNumSelected());
+
+        sources.setAllSelected(false);
+        assertEquals(Coin.ZERO, sources.getSelectedBalance());
+        assertEquals(0, sources.getNumSelected());
+    }
+
+    @Test
+    public void testSetItemsClearsSelection() {
+        sources.setAllSelected(true);
+        WithdrawalListItem item3 = createItem("address3", 200);
+        sources.setItems(Arrays.asList(item2, item3));
+
+        assertEquals(Coin.valueOf(700), sources.getAvailableBalance());
+        assertEquals(Coin.ZERO, sources.getSelectedBalance());
+
+        // Items which are not available anymore can't be selected
+        sources.setSelected(item1, true);
+        assertEquals(0, sources.getNumSelected());
+    }
+
+    private static WithdrawalListItem createItem(String address, long balance) {
+        WithdrawalListItem item = mock(WithdrawalListItem.class);
+        when(item.getAddressString()).thenReturn(address);
+        when(item.getBalance()).thenReturn(Coin.valueOf(balance));
+        return item;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.market.offerbook;
+
+import bisq.core.offer.Offer;
+import bisq.core.offer.OfferMaker;
+import bisq.core.provider.price.PriceFeedService;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OfferBookDepthTest {
+
+    @Test
+    public void testOffersAreSortedFromBestPrice() {
+        Offer low = make(btcUsdOffer.but(with(OfferMaker.price, 100000L)));
+        Offer high = make(btcUsdOffer.but(with(OfferMaker.price, 110000L)));
+        Offer middle = make(btcUsdOffer.but(with(OfferMaker.price, 105000L)));
+
+        OfferBookDepth highestPriceFirst = new OfferBookDepth(true);
+        OfferBookDepth lowestPriceFirst = new OfferBookDepth(false);
+        for (Offer offer : Arrays.asList(low, high, middle)) {
+            highestPriceFirst.add(offer);
+            lowestPriceFirst.add(offer);
+        }
+
+        assertEquals(Arrays.asList(high, middle, low), highestPriceFirst.getRelevantOffers());
+        assertEquals(Arrays.asList(low, middle, high), lowestPriceFirst.getRelevantOffers());
+
+        highestPriceFirst.remove(middle);
+        assertEquals(Arrays.asList(high, low), highestPriceFirst.getRelevantOffers());
+    }
+
+    @Test
+    public void testOffersFarFromBestPriceAreIgnored() {
+        OfferBookDepth offerBookDepth = new OfferBookDepth(true);
+        Offer best = make(btcUsdOffer.but(with(OfferMaker.price, 100000L)));
+        Offer close = make(btcUsdOffer.but(with(OfferMaker.price, 90000L)));
+        Offer otherClose = make(btcUsdOffer.but(with(OfferMaker.price, 80000L)));
+        Offer far = make(btcUsdOffer.but(with(OfferMaker.price, 50000L)));
+        offerBookDepth.add(far);
+        offerBookDepth.add(close);
+        offerBookDepth.add(best);
+
+        // With up to 3 offers we don't filter
+        assertEquals(Arrays.asList(best, close, far), offerBookDepth.getRelevantOffers());
+
+        offerBookDepth.add(otherClose);
+        assertEquals(Arrays.asList(best, close, otherClose), offerBookDepth.getRelevantOffers());
+
+        offerBookDepth.remove(best);
+        offerBookDepth.remove(close);
+        offerBookDepth.remove(otherClose);
+        offerBookDepth.remove(far);
+        assertTrue(offerBookDepth.isEmpty());
+        assertTrue(offerBookDepth.getRelevantOffers().isEmpty());
+    }
+
+    @Test
+    public void testOffersWithoutPriceAreOnlyIgnoredWithMoreThan3Offers() {
+        // Without market price the market based offer has no price
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(null);
+        Offer withoutPrice = make(btcUsdOffer.but(with(OfferMaker.useMarketBasedPrice, true)));
+        withoutPrice.setPriceFeedService(priceFeedService);
+        Offer best = make(btcUsdOffer.but(with(OfferMaker.price, 100000L)));
+        Offer close = make(btcUsdOffer.but(with(OfferMaker.price, 90000L)));
+        Offer otherClose = make(btcUsdOffer.but(with(OfferMaker.price, 80000L)));
+
+        OfferBookDepth offerBookDepth = new OfferBookDepth(true);
+        offerBookDepth.add(withoutPrice);
+        assertEquals(Arrays.asList(withoutPrice), offerBookDepth.getRelevantOffers());
+
+        offerBookDepth.add(close);
+        offerBookDepth.add(best);
+        assertEquals(Arrays.asList(best, close, withoutPrice), offerBookDepth.getRelevantOffers());
+
+        offerBookDepth.add(otherClose);
+        assertEquals(Arrays.asList(best, close, otherClose), offerBookDepth.getRelevantOffers());
+
+        offerBookDepth.remove(otherClose);
+        assertEquals(Arrays.asList(best, close, withoutPrice), offerBookDepth.getRelevantOffers());
+
+        offerBookDepth.remove(withoutPrice);
+        assertEquals(Arrays.asList(best, close), offerBookDepth.getRelevantOffers());
+    }
+}
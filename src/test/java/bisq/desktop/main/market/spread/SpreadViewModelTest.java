@@ -96,4 +96,36 @@ public class SpreadViewModelTest {
         assertEquals(1, model.spreadItems.get(0).numberOfSellOffers);
         assertEquals(3, model.spreadItems.get(0).numberOfOffers);
     }
+
+    @Test
+    public void testSpreadItemIsUpdatedAtRemovedOffers() {
+        OfferBook offerBook = mock(OfferBook.class);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+        OfferBookListItem sellItem = make(btcSellItem.but(with(id, "3456")));
+        OfferBookListItem duplicateSellItem = make(btcSellItem.but(with(id, "3456")));
+        offerBookListItems.addAll(make(btcBuyItem), sellItem, duplicateSellItem);
+
+        when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
+
+        SpreadViewModel model = new SpreadViewModel(offerBook, priceFeedService, new BSFormatter());
+        model.activate();
+        assertEquals(1, model.spreadItems.size());
+        assertEquals(1, model.spreadItems.get(0).numberOfSellOffers);
+
+        // The remaining offer with the same ID takes over
+        offerBookListItems.remove(sellItem);
+        assertEquals(1, model.spreadItems.size());
+        assertEquals(1, model.spreadItems.get(0).numberOfSellOffers);
+        assertEquals(2, model.spreadItems.get(0).numberOfOffers);
+
+        offerBookListItems.remove(duplicateSellItem);
+        assertEquals(1, model.spreadItems.size());
+        assertEquals(0, model.spreadItems.get(0).numberOfSellOffers);
+        assertEquals(1, model.spreadItems.get(0).numberOfOffers);
+
+        offerBookListItems.clear();
+        assertEquals(0, model.spreadItems.size());
+        assertEquals(0, model.maxPlacesForAmount.intValue());
+    }
 }
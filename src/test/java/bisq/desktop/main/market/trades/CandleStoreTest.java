@@ -0,0 +1,203 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.market.trades;
+
+import bisq.core.monetary.Price;
+import bisq.core.offer.OfferPayload;
+import bisq.core.trade.statistics.TradeStatistics2;
+
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.utils.Fiat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CandleStoreTest {
+    private static final long TICK = 1000;
+
+    private final OfferPayload offer = new OfferPayload(null,
+            0,
+            null,
+            null,
+            null,
+            0,
+            0,
+            false,
+            0,
+            0,
+            "BTC",
+            "EUR",
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            0,
+            0,
+            0,
+            false,
+            0,
+            0,
+            0,
+            0,
+            false,
+            false,
+            0,
+            0,
+            false,
+            null,
+            null,
+            1
+    );
+
+    // Intervals of one second
+    private final CandleStore candleStore = new CandleStore(time -> Math.floorDiv(time, TICK) * TICK);
+
+    @Test
+    public void testTradeAtIntervalStartBelongsToPreviousInterval() {
+        candleStore.add(trade(2000, "500", "1"));
+        candleStore.add(trade(1001, "510", "1"));
+        candleStore.add(trade(2001, "520", "1"));
+
+        assertEquals(2, candleStore.size());
+        assertEquals(2, candleStore.get(1000).numTrades);
+        assertEquals(1, candleStore.get(2000).numTrades);
+        assertEquals(Fiat.parseFiat("EUR", "500").value, candleStore.get(1000).close);
+        assertNull(candleStore.get(0));
+    }
+
+    @Test
+    public void testTradeAtIntervalStartWithTickBoundaries() {
+        ZoneId zoneId = ZoneId.of("UTC");
+        TickBoundaries tickBoundaries = new TickBoundaries(TradesChartsViewModel.TickUnit.DAY, zoneId);
+        CandleStore dayCandleStore = new CandleStore(tickBoundaries::roundToTick);
+        long midnight = LocalDateTime.of(2018, 1, 2, 0, 0).atZone(zoneId).toInstant().toEpochMilli();
+        long previousMidnight = midnight - 24 * 60 * 60 * 1000;
+
+        dayCandleStore.add(trade(midnight, "500", "1"));
+        dayCandleStore.add(trade(midnight + 1, "510", "1"));
+
+        assertEquals(1, dayCandleStore.get(previousMidnight).numTrades);
+        assertEquals(1, dayCandleStore.get(midnight).numTrades);
+    }
+
+    @Test
+    public void testAggregateOfUnorderedTrades() {
+        candleStore.addAll(Arrays.asList(
+                trade(1500, "520", "1"),
+                trade(1100, "510", "1"),
+                trade(1900, "580", "2"),
+                trade(1300, "500", "1"),
+                trade(1700, "600", "1")));
+
+        CandleStore.Aggregate aggregate = candleStore.get(1000);
+        assertNotNull(aggregate);
+        assertEquals(Fiat.parseFiat("EUR", "510").value, aggregate.open);
+        assertEquals(Fiat.parseFiat("EUR", "580").value, aggregate.close);
+        assertEquals(Fiat.parseFiat("EUR", "500").value, aggregate.minPrice);
+        assertEquals(Fiat.parseFiat("EUR", "600").value, aggregate.maxPrice);
+        assertEquals(Coin.parseCoin("6").value, aggregate.accumulatedAmount);
+        assertEquals(Fiat.parseFiat("EUR", "3290").value, aggregate.accumulatedVolume);
+        assertEquals(5, aggregate.numTrades);
+    }
+
+    @Test
+    public void testAggregateOfTradesWithSameTime() {
+        candleStore.add(trade(1500, "510", "1"));
+        candleStore.add(trade(1500, "520", "1"));
+
+        // The first added trade opens and the last added one closes
+        CandleStore.Aggregate aggregate = candleStore.get(1000);
+        assertEquals(Fiat.parseFiat("EUR", "510").value, aggregate.open);
+        assertEquals(Fiat.parseFiat("EUR", "520").value, aggregate.close);
+    }
+
+    @Test
+    public void testGetFromMergesLaterIntervals() {
+        candleStore.add(trade(1500, "500", "1"));
+        candleStore.add(trade(3500, "520", "1"));
+        // Trades with a date in the future, e.g. from peers with a wrong clock
+        candleStore.add(trade(90500, "600", "2"));
+        candleStore.add(trade(50500, "480", "1"));
+
+        CandleStore.Aggregate aggregate = candleStore.getFrom(3000);
+        assertNotNull(aggregate);
+        assertEquals(3, aggregate.numTrades);
+        assertEquals(Fiat.parseFiat("EUR", "520").value, aggregate.open);
+        assertEquals(Fiat.parseFiat("EUR", "600").value, aggregate.close);
+        assertEquals(Fiat.parseFiat("EUR", "480").value, aggregate.minPrice);
+        assertEquals(Fiat.parseFiat("EUR", "600").value, aggregate.maxPrice);
+        assertEquals(Coin.parseCoin("4").value, aggregate.accumulatedAmount);
+        assertEquals(Fiat.parseFiat("EUR", "2200").value, aggregate.accumulatedVolume);
+
+        // Starting between two intervals only merges the later ones
+        assertEquals(2, candleStore.getFrom(4000).numTrades);
+        assertNull(candleStore.getFrom(91000));
+
+        // The merge does not change the stored aggregates
+        assertEquals(1, candleStore.get(3000).numTrades);
+        assertEquals(1, candleStore.get(90000).numTrades);
+    }
+
+    @Test
+    public void testManyCandlesInDescendingOrder() {
+        // Each candle gets inserted in front of the existing ones
+        for (int i = 200; i > 0; i--)
+            candleStore.add(trade(i * TICK + 500, "500", "1"));
+
+        assertEquals(200, candleStore.size());
+        assertEquals(1, candleStore.get(TICK).numTrades);
+        assertEquals(1, candleStore.get(200 * TICK).numTrades);
+        assertNull(candleStore.get(201 * TICK));
+        assertEquals(100, candleStore.getFrom(101 * TICK).numTrades);
+    }
+
+    @Test
+    public void testMergeIsIndependentOfOrder() {
+        CandleStore.Aggregate earlier = new CandleStore.Aggregate();
+        earlier.add(trade(1100, "500", "1"));
+        CandleStore.Aggregate later = new CandleStore.Aggregate();
+        later.add(trade(5100, "600", "1"));
+
+        CandleStore.Aggregate merged = new CandleStore.Aggregate();
+        merged.merge(later);
+        merged.merge(earlier);
+
+        assertEquals(Fiat.parseFiat("EUR", "500").value, merged.open);
+        assertEquals(Fiat.parseFiat("EUR", "600").value, merged.close);
+        assertEquals(2, merged.numTrades);
+    }
+
+    private TradeStatistics2 trade(long time, String price, String amount) {
+        return new TradeStatistics2(offer, Price.parse("EUR", price), Coin.parseCoin(amount), new Date(time), null, null);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.market.trades;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TickBoundariesTest {
+    // Zones with daylight saving time changes and a zone with a half hour offset
+    private static final String[] ZONE_IDS = {"UTC", "Europe/Berlin", "America/New_York", "Asia/Kolkata"};
+
+    @Test
+    public void testRoundToTickMatchesCalendarCalculationInUtc() {
+        ZoneId zoneId = ZoneId.of("UTC");
+        long from = toEpochMilli(LocalDateTime.of(2016, 1, 1, 0, 0), zoneId);
+        long to = toEpochMilli(LocalDateTime.of(2018, 12, 31, 0, 0), zoneId);
+        Random random = new Random(1);
+
+        for (TradesChartsViewModel.TickUnit tickUnit : TradesChartsViewModel.TickUnit.values()) {
+            TickBoundaries tickBoundaries = new TickBoundaries(tickUnit, zoneId);
+            // Random order so the cached range gets extended in both directions
+            for (int i = 0; i < 1000; i++) {
+                long time = from + (long) (random.nextDouble() * (to - from));
+                assertEquals(tickBoundaries.calculateRoundToTick(time), tickBoundaries.roundToTick(time));
+            }
+        }
+    }
+
+    @Test
+    public void testRoundToTickReturnsIntervalStart() {
+        long from = toEpochMilli(LocalDateTime.of(2016, 1, 1, 0, 0), ZoneId.of("UTC"));
+        long to = toEpochMilli(LocalDateTime.of(2018, 12, 31, 0, 0), ZoneId.of("UTC"));
+        Random random = new Random(2);
+
+        for (String zoneIdString : ZONE_IDS) {
+            ZoneId zoneId = ZoneId.of(zoneIdString);
+            for (TradesChartsViewModel.TickUnit tickUnit : TradesChartsViewModel.TickUnit.values()) {
+                TickBoundaries tickBoundaries = new TickBoundaries(tickUnit, zoneId);
+                for (int i = 0; i < 1000; i++) {
+                    long time = from + (long) (random.nextDouble() * (to - from));
+                    long intervalStart = tickBoundaries.roundToTick(time);
+                    String message = tickUnit + " " + zoneId + " " + time;
+                    assertTrue(message, intervalStart <= time);
+                    // Only differs from the calendar in the repeated hour at daylight saving time changes
+                    assertTrue(message, intervalStart >= tickBoundaries.calculateRoundToTick(time));
+                    assertEquals(message, intervalStart, tickBoundaries.calculateRoundToTick(intervalStart));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundToTickAtDaylightSavingTimeChange() {
+        ZoneId zoneId = ZoneId.of("Europe/Berlin");
+        TickBoundaries tickBoundaries = new TickBoundaries(TradesChartsViewModel.TickUnit.HOUR, zoneId);
+        // Clocks are turned back from 03:00 to 02:00 at 2017-10-29
+        long start = toEpochMilli(LocalDateTime.of(2017, 10, 28, 22, 0), zoneId);
+        long end = toEpochMilli(LocalDateTime.of(2017, 10, 29, 6, 0), zoneId);
+        for (long time = start; time < end; time += 60 * 1000 + 1) {
+            assertEquals(tickBoundaries.calculateRoundToTick(time), tickBoundaries.roundToTick(time));
+        }
+    }
+
+    @Test
+    public void testRoundToTickAtBoundary() {
+        ZoneId zoneId = ZoneId.of("UTC");
+        TickBoundaries tickBoundaries = new TickBoundaries(TradesChartsViewModel.TickUnit.DAY, zoneId);
+        long midnight = toEpochMilli(LocalDateTime.of(2018, 1, 1, 0, 0), zoneId);
+
+        assertEquals(midnight, tickBoundaries.roundToTick(midnight));
+        assertEquals(midnight - 24 * 60 * 60 * 1000, tickBoundaries.roundToTick(midnight - 1));
+        assertEquals(midnight, tickBoundaries.roundToTick(midnight + 24 * 60 * 60 * 1000 - 1));
+    }
+
+    @Test
+    public void testCachedBoundariesAreBounded() {
+        ZoneId zoneId = ZoneId.of("Europe/Berlin");
+        long from = toEpochMilli(LocalDateTime.of(2016, 1, 1, 0, 0), zoneId);
+        long to = toEpochMilli(LocalDateTime.of(2018, 12, 31, 0, 0), zoneId);
+        Random random = new Random(3);
+
+        for (TradesChartsViewModel.TickUnit tickUnit : TradesChartsViewModel.TickUnit.values()) {
+            TickBoundaries tickBoundaries = new TickBoundaries(tickUnit, zoneId);
+            for (int i = 0; i < 1000; i++) {
+                long time = from + (long) (random.nextDouble() * (to - from));
+                assertTrue(tickBoundaries.roundToTick(time) >= tickBoundaries.calculateRoundToTick(time));
+                assertTrue(tickUnit + " " + tickBoundaries.size(), tickBoundaries.size() <= TickBoundaries.MAX_SIZE);
+            }
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime localDateTime, ZoneId zoneId) {
+        return localDateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MaxValueTrackerTest {
+
+    @Test
+    public void testMaxIsUpdatedOnAddAndRemove() {
+        MaxValueTracker<long[]> tracker = new MaxValueTracker<>(item -> item[0]);
+        long[] low = {1};
+        long[] high = {5};
+        long[] otherHigh = {5};
+
+        assertFalse(tracker.getMax().isPresent());
+
+        tracker.add(low);
+        tracker.add(high);
+        tracker.add(otherHigh);
+        assertEquals(5, tracker.getMax().get()[0]);
+        assertEquals(3, tracker.size());
+
+        tracker.remove(high);
+        assertEquals(5, tracker.getMax().get()[0]);
+        tracker.remove(otherHigh);
+        assertEquals(1, tracker.getMax().get()[0]);
+        tracker.remove(low);
+        assertFalse(tracker.getMax().isPresent());
+    }
+
+    @Test
+    public void testItemIsRemovedWithKeyFromAdd() {
+        MaxValueTracker<long[]> tracker = new MaxValueTracker<>(item -> item[0]);
+        long[] item = {3};
+        tracker.add(item);
+
+        // Simulates a changing value like a market based price
+        item[0] = 7;
+        tracker.remove(item);
+
+        assertFalse(tracker.getMax().isPresent());
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    public void testFilter() {
+        MaxValueTracker<long[]> tracker = new MaxValueTracker<>(item -> item[0], item -> item[0] < 10);
+        tracker.add(new long[]{3});
+        tracker.add(new long[]{12});
+
+        assertEquals(3, tracker.getMax().get()[0]);
+        assertEquals(1, tracker.size());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.offer.offerbook;
+
+import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
+import bisq.core.offer.OfferMaker;
+import bisq.core.offer.OfferPayload;
+import bisq.core.trade.TradeManager;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import org.mockito.ArgumentCaptor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({OfferBookService.class, TradeManager.class})
+public class OfferBookTest {
+    private static final Logger log = LoggerFactory.getLogger(OfferBookTest.class);
+
+    private OfferBook offerBook;
+    private OfferBookService.OfferBookChangedListener listener;
+
+    @Before
+    public void setUp() {
+        OfferBookService offerBookService = mock(OfferBookService.class);
+        offerBook = new OfferBook(offerBookService, mock(TradeManager.class));
+        // Apply offer events immediately instead of batching them on the UserThread
+        offerBook.setUpdateInterval(0);
+
+        ArgumentCaptor<OfferBookService.OfferBookChangedListener> captor =
+                ArgumentCaptor.forClass(OfferBookService.OfferBookChangedListener.class);
+        verify(offerBookService).addOfferBookChangedListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @Test
+    public void testIgnoresSameOffer() {
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+    }
+
+    @Test
+    public void testReplacesOfferWithSameId() {
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+        OfferBookListItem oldItem = offerBook.getOfferBookListItems().get(0);
+
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"), with(OfferMaker.price, 200000L))));
+
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        OfferBookListItem newItem = offerBook.getOfferBookListItems().get(0);
+        assertNotSame(oldItem, newItem);
+        assertEquals(200000L, newItem.getOffer().getOfferPayload().getPrice());
+    }
+
+    @Test
+    public void testRemovesOfferById() {
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "2"))));
+
+        // A different instance with the same ID must remove the item
+        listener.onRemoved(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertEquals("2", offerBook.getOfferBookListItems().get(0).getOffer().getId());
+
+        // Re-adding after removal must work as the index has been updated as well
+        Offer offer = make(btcUsdOffer.but(with(OfferMaker.id, "1")));
+        listener.onAdded(offer);
+        assertEquals(2, offerBook.getOfferBookListItems().size());
+        assertSame(offer, offerBook.getOfferBookListItems().get(1).getOffer());
+    }
+
+    @Test
+    public void testOfferCountsAreUpdatedIncrementally() {
+        ReadOnlyIntegerProperty buyCount = offerBook.getOfferCount(OfferPayload.Direction.BUY, "USD");
+        ReadOnlyIntegerProperty sellCount = offerBook.getOfferCount(OfferPayload.Direction.SELL, "USD");
+
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "2"))));
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "3"),
+                with(OfferMaker.direction, OfferPayload.Direction.SELL))));
+        assertEquals(2, buyCount.get());
+        assertEquals(1, sellCount.get());
+        assertEquals(2, offerBook.getBuyOfferCountMap().get("USD").get());
+
+        // Replacing an offer with the same ID must not change the count
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"), with(OfferMaker.price, 200000L))));
+        assertEquals(2, buyCount.get());
+
+        listener.onRemoved(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+        listener.onRemoved(make(btcUsdOffer.but(with(OfferMaker.id, "3"))));
+        assertEquals(1, buyCount.get());
+        assertEquals(0, sellCount.get());
+    }
+
+    @Test
+    public void testBatchedEventsAreCoalesced() {
+        // The timer never fires during the test, we flush the batch explicitly
+        offerBook.setUpdateInterval(TimeUnit.HOURS.toMillis(1));
+        List<ListChangeListener.Change<? extends OfferBookListItem>> changes = new ArrayList<>();
+        offerBook.getOfferBookListItems().addListener((ListChangeListener<OfferBookListItem>) changes::add);
+        ReadOnlyIntegerProperty buyCount = offerBook.getOfferCount(OfferPayload.Direction.BUY, "USD");
+
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"))));
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "2"))));
+        // Added and removed within the same batch
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "3"))));
+        listener.onRemoved(make(btcUsdOffer.but(with(OfferMaker.id, "3"))));
+        // Replaced within the same batch
+        Offer replacement = make(btcUsdOffer.but(with(OfferMaker.id, "2"), with(OfferMaker.price, 200000L)));
+        listener.onAdded(replacement);
+
+        assertTrue(offerBook.getOfferBookListItems().isEmpty());
+        assertTrue(changes.isEmpty());
+        assertEquals(0, buyCount.get());
+
+        offerBook.flushPendingChanges();
+        assertEquals(1, changes.size());
+        assertEquals(2, offerBook.getOfferBookListItems().size());
+        assertEquals("1", offerBook.getOfferBookListItems().get(0).getOffer().getId());
+        assertSame(replacement, offerBook.getOfferBookListItems().get(1).getOffer());
+        assertEquals(2, buyCount.get());
+
+        // Replacing an applied offer removes the old item and adds the new one in one batch
+        changes.clear();
+        listener.onAdded(make(btcUsdOffer.but(with(OfferMaker.id, "1"), with(OfferMaker.price, 300000L))));
+        listener.onRemoved(replacement);
+        assertEquals(2, offerBook.getOfferBookListItems().size());
+
+        offerBook.flushPendingChanges();
+        assertEquals(1, offerBook.getOfferBookListItems().size());
+        assertEquals(300000L, offerBook.getOfferBookListItems().get(0).getOffer().getOfferPayload().getPrice());
+        assertEquals(1, buyCount.get());
+        // One change notification for the removals and one for the additions
+        assertEquals(2, changes.size());
+
+        // Nothing pending, nothing changes
+        changes.clear();
+        offerBook.flushPendingChanges();
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testReplayOfManyAddAndRemoveEvents() {
+        int numOffers = 10000;
+        List<Offer> offers = new ArrayList<>(numOffers);
+        for (int i = 0; i < numOffers; i++) {
+            offers.add(make(btcUsdOffer.but(with(OfferMaker.id, String.valueOf(i)))));
+        }
+
+        long ts = System.currentTimeMillis();
+        // Simulates the initial data sync where we get each offer broadcast repeatedly
+        offers.forEach(listener::onAdded);
+        offers.forEach(listener::onAdded);
+        assertEquals(numOffers, offerBook.getOfferBookListItems().size());
+
+        offers.forEach(listener::onRemoved);
+        assertTrue(offerBook.getOfferBookListItems().isEmpty());
+        log.info("Replaying {} add and {} remove events took {} ms", 2 * numOffers, numOffers,
+                System.currentTimeMillis() - ts);
+    }
+}
@@ -17,6 +17,10 @@
 
 package bisq.desktop.main.offer.offerbook;
 
+import bisq.core.arbitration.Arbitrator;
+import bisq.core.arbitration.ArbitratorManager;
+import bisq.core.filter.Filter;
+import bisq.core.filter.FilterManager;
 import bisq.core.locale.Country;
 import bisq.core.locale.CryptoCurrency;
 import bisq.core.locale.FiatCurrency;
@@ -25,6 +29,7 @@ import bisq.core.locale.Res;
 import bisq.core.offer.Offer;
 import bisq.core.offer.OfferPayload;
 import bisq.core.offer.OpenOfferManager;
+import bisq.core.payment.AccountAgeWitnessService;
 import bisq.core.payment.CountryBasedPaymentAccount;
 import bisq.core.payment.CryptoCurrencyAccount;
 import bisq.core.payment.NationalBankAccount;
@@ -41,12 +46,24 @@ import bisq.core.payment.payload.SepaAccountPayload;
 import bisq.core.payment.payload.SpecificBanksAccountPayload;
 import bisq.core.provider.price.MarketPrice;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.user.Preferences;
+import bisq.core.user.User;
 import bisq.core.util.BSFormatter;
 
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.app.Version;
+
+import org.bitcoinj.core.Coin;
+
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
 
 import java.time.Instant;
 
@@ -54,6 +71,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,13 +94,16 @@ import static com.natpryce.makeiteasy.MakeItEasy.make;
 import static com.natpryce.makeiteasy.MakeItEasy.with;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({OfferBook.class, OpenOfferManager.class, PriceFeedService.class})
+@PrepareForTest({OfferBook.class, OpenOfferManager.class, PriceFeedService.class, Offer.class, User.class, Preferences.class,
+        FilterManager.class, ArbitratorManager.class, Filter.class, Arbitrator.class, AccountAgeWitnessService.class})
 public class OfferBookViewModelTest {
     private static final Logger log = LoggerFactory.getLogger(OfferBookViewModelTest.class);
 
@@ -230,8 +252,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, null, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), null, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         assertEquals(0, model.maxPlacesForAmount.intValue());
     }
 
@@ -244,8 +266,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         model.activate();
 
         assertEquals(6, model.maxPlacesForAmount.intValue());
@@ -262,8 +284,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         model.activate();
 
         assertEquals(15, model.maxPlacesForAmount.intValue());
@@ -281,8 +303,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, null, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), null, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         assertEquals(0, model.maxPlacesForVolume.intValue());
     }
 
@@ -295,8 +317,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         model.activate();
 
         assertEquals(8, model.maxPlacesForVolume.intValue());
@@ -313,8 +335,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         model.activate();
 
         assertEquals(15, model.maxPlacesForVolume.intValue());
@@ -332,8 +354,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, null, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), null, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         assertEquals(0, model.maxPlacesForPrice.intValue());
     }
 
@@ -346,8 +368,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         model.activate();
 
         assertEquals(7, model.maxPlacesForPrice.intValue());
@@ -364,8 +386,8 @@ public class OfferBookViewModelTest {
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, null, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), null, offerBook, empty, null, mockPriceFeedService(),
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         assertEquals(0, model.maxPlacesForMarketPriceMargin.intValue());
     }
 
@@ -392,8 +414,8 @@ public class OfferBookViewModelTest {
         item4.getOffer().setPriceFeedService(priceFeedService);
         offerBookListItems.addAll(item1, item2);
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, priceFeedService,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, priceFeedService,
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
         model.activate();
 
         assertEquals(8, model.maxPlacesForMarketPriceMargin.intValue()); //" (1.97%)"
@@ -412,9 +434,10 @@ public class OfferBookViewModelTest {
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
         when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 12684.0450, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.updateCounterProperty()).thenReturn(new SimpleIntegerProperty());
 
-        final OfferBookViewModel model = new OfferBookViewModel(null, openOfferManager, offerBook, empty, null, null,
-                null, null, null, null, new BSFormatter());
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, priceFeedService,
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
 
         final OfferBookListItem item = make(btcBuyItem.but(
                 with(useMarketBasedPrice, true),
@@ -440,6 +463,223 @@ public class OfferBookViewModelTest {
 
     }
 
+    @Test
+    public void testGetPriceIsUpdatedAtPriceFeedUpdate() {
+        OfferBook offerBook = mock(OfferBook.class);
+        OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        SimpleIntegerProperty updateCounter = new SimpleIntegerProperty();
+
+        final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+        when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 12684.0450, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.updateCounterProperty()).thenReturn(updateCounter);
+
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, priceFeedService,
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
+
+        final OfferBookListItem item = make(btcBuyItem.but(
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, 0.01)));
+        item.getOffer().setPriceFeedService(priceFeedService);
+        offerBookListItems.addAll(item);
+        model.activate();
+
+        assertEquals("12557.2046 (1.00%)", model.getPrice(item));
+
+        // Without a price feed update we keep the cached string
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 13000.0, Instant.now().getEpochSecond(), true));
+        assertEquals("12557.2046 (1.00%)", model.getPrice(item));
+
+        updateCounter.set(1);
+        assertEquals("12870.0000 (1.00%)", model.getPrice(item));
+    }
+
+    @Test
+    public void testMaxCharactersForPriceIsUpdatedAtPriceFeedUpdate() {
+        OfferBook offerBook = mock(OfferBook.class);
+        OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        SimpleIntegerProperty updateCounter = new SimpleIntegerProperty();
+
+        final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+        when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 12684.0450, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.updateCounterProperty()).thenReturn(updateCounter);
+
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, priceFeedService,
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
+
+        final OfferBookListItem marketBasedItem = make(btcBuyItem.but(
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, 0.01)));
+        marketBasedItem.getOffer().setPriceFeedService(priceFeedService);
+        offerBookListItems.addAll(marketBasedItem, make(btcBuyItem));
+        model.activate();
+
+        assertEquals(10, model.maxPlacesForPrice.intValue()); // "12557.2046"
+
+        // The list did not change but the price of the market based offer did
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 126840.450, Instant.now().getEpochSecond(), true));
+        updateCounter.set(1);
+        assertEquals(11, model.maxPlacesForPrice.intValue()); // "125572.0455"
+
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 12684.0450, Instant.now().getEpochSecond(), true));
+        updateCounter.set(2);
+        assertEquals(10, model.maxPlacesForPrice.intValue());
+    }
+
+    @Test
+    public void testMaxCharactersForPriceWhenHighestMarketBasedOfferIsRemoved() {
+        OfferBook offerBook = mock(OfferBook.class);
+        OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+
+        final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
+        when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
+        when(priceFeedService.getMarketPrice(anyString())).thenReturn(new MarketPrice("USD", 126840.450, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.updateCounterProperty()).thenReturn(new SimpleIntegerProperty());
+
+        final OfferBookViewModel model = new OfferBookViewModel(mockUser(), openOfferManager, offerBook, empty, null, priceFeedService,
+                null, mockFilterManager(), mockArbitratorManager(), null, null, new BSFormatter());
+
+        final OfferBookListItem marketBasedItem = make(btcBuyItem.but(
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, 0.01)));
+        marketBasedItem.getOffer().setPriceFeedService(priceFeedService);
+        offerBookListItems.addAll(marketBasedItem, make(btcBuyItem));
+        model.activate();
+
+        assertEquals(11, model.maxPlacesForPrice.intValue()); // "125572.0455"
+
+        offerBookListItems.remove(marketBasedItem);
+        assertEquals(7, model.maxPlacesForPrice.intValue());
+    }
+
+    @Test
+    public void testOfferEligibilityIsMemoized() {
+        final EligibilityFixture fixture = new EligibilityFixture();
+        final OfferEligibility offerEligibility = fixture.model.getOfferEligibility(fixture.item);
+
+        assertFalse(offerEligibility.isMatchingArbitrator());
+        assertFalse(offerEligibility.isIgnored());
+        assertSame(offerEligibility, fixture.model.getOfferEligibility(fixture.item));
+    }
+
+    @Test
+    public void testOfferEligibilityIsInvalidatedAtFilterChange() {
+        final EligibilityFixture fixture = new EligibilityFixture();
+        final OfferEligibility offerEligibility = fixture.model.getOfferEligibility(fixture.item);
+
+        when(fixture.filterManager.isOfferIdBanned("1234")).thenReturn(true);
+        fixture.filter.set(mock(Filter.class));
+        assertTrue(fixture.model.getOfferEligibility(fixture.item).isOfferBanned());
+        assertFalse(offerEligibility.isOfferBanned());
+    }
+
+    @Test
+    public void testOfferEligibilityIsInvalidatedAtPaymentAccountsChange() {
+        final EligibilityFixture fixture = new EligibilityFixture();
+        final OfferEligibility offerEligibility = fixture.model.getOfferEligibility(fixture.item);
+
+        fixture.paymentAccounts.add(mock(PaymentAccount.class));
+        assertNotSame(offerEligibility, fixture.model.getOfferEligibility(fixture.item));
+    }
+
+    @Test
+    public void testOfferEligibilityIsInvalidatedAtArbitratorsChange() {
+        final EligibilityFixture fixture = new EligibilityFixture();
+        assertFalse(fixture.model.getOfferEligibility(fixture.item).isMatchingArbitrator());
+
+        // The ArbitratorManager selects the new arbitrator if auto selection is enabled
+        final NodeAddress arbitratorAddress = new NodeAddress("arbitrator.onion", 9999);
+        fixture.acceptedArbitratorAddresses.add(arbitratorAddress);
+        fixture.arbitrators.put(arbitratorAddress, mock(Arbitrator.class));
+        assertTrue(fixture.model.getOfferEligibility(fixture.item).isMatchingArbitrator());
+    }
+
+    @Test
+    public void testOfferEligibilityIsInvalidatedAtIgnoreTradersListChange() {
+        final EligibilityFixture fixture = new EligibilityFixture();
+        assertFalse(fixture.model.getOfferEligibility(fixture.item).isIgnored());
+
+        when(fixture.preferences.getIgnoreTradersList()).thenReturn(new ArrayList<>(Collections.singletonList("maker")));
+        assertTrue(fixture.model.getOfferEligibility(fixture.item).isIgnored());
+    }
+
+    @Test
+    public void testOfferEligibilityIsInvalidatedAtActivate() {
+        final EligibilityFixture fixture = new EligibilityFixture();
+        final OfferEligibility offerEligibility = fixture.model.getOfferEligibility(fixture.item);
+        fixture.model.deactivate();
+
+        // Changes while being deactivated are picked up at the next activation
+        fixture.paymentAccounts.add(mock(PaymentAccount.class));
+        assertSame(offerEligibility, fixture.model.getOfferEligibility(fixture.item));
+        fixture.model.activate();
+        assertNotSame(offerEligibility, fixture.model.getOfferEligibility(fixture.item));
+    }
+
+    private static class EligibilityFixture {
+        final User user = mockUser();
+        final Preferences preferences = mock(Preferences.class);
+        final FilterManager filterManager = mockFilterManager();
+        final ArbitratorManager arbitratorManager = mockArbitratorManager();
+        final ObservableSet<PaymentAccount> paymentAccounts = user.getPaymentAccountsAsObservable();
+        final ObjectProperty<Filter> filter = filterManager.filterProperty();
+        final ObservableMap<NodeAddress, Arbitrator> arbitrators = arbitratorManager.getArbitratorsObservableMap();
+        final List<NodeAddress> acceptedArbitratorAddresses = new ArrayList<>();
+        final OfferBookListItem item;
+        final OfferBookViewModel model;
+
+        EligibilityFixture() {
+            OfferBook offerBook = mock(OfferBook.class);
+            when(offerBook.getOfferBookListItems()).thenReturn(FXCollections.observableArrayList());
+            when(preferences.getTradeCurrenciesAsObservable()).thenReturn(FXCollections.observableArrayList());
+            when(preferences.getIgnoreTradersList()).thenReturn(new ArrayList<>());
+            when(user.getPaymentAccounts()).thenReturn(new HashSet<>());
+            when(user.getAcceptedArbitratorAddresses()).thenReturn(acceptedArbitratorAddresses);
+
+            Offer offer = mock(Offer.class);
+            when(offer.getId()).thenReturn("1234");
+            when(offer.getCurrencyCode()).thenReturn("USD");
+            when(offer.getMinAmount()).thenReturn(Coin.valueOf(100000));
+            when(offer.getProtocolVersion()).thenReturn(Version.TRADE_PROTOCOL_VERSION);
+            when(offer.getMakerNodeAddress()).thenReturn(new NodeAddress("maker.onion", 9999));
+            when(offer.getArbitratorNodeAddresses()).thenReturn(Collections.singletonList(new NodeAddress("arbitrator.onion", 9999)));
+            item = new OfferBookListItem(offer);
+
+            model = new OfferBookViewModel(user, mock(OpenOfferManager.class), offerBook, preferences, null,
+                    mockPriceFeedService(), null, filterManager, arbitratorManager, mock(AccountAgeWitnessService.class), null,
+                    new BSFormatter());
+            model.activate();
+        }
+    }
+
+    private static User mockUser() {
+        User user = mock(User.class);
+        when(user.getPaymentAccountsAsObservable()).thenReturn(FXCollections.observableSet());
+        return user;
+    }
+
+    private static FilterManager mockFilterManager() {
+        FilterManager filterManager = mock(FilterManager.class);
+        when(filterManager.filterProperty()).thenReturn(new SimpleObjectProperty<>());
+        return filterManager;
+    }
+
+    private static ArbitratorManager mockArbitratorManager() {
+        ArbitratorManager arbitratorManager = mock(ArbitratorManager.class);
+        when(arbitratorManager.getArbitratorsObservableMap()).thenReturn(FXCollections.observableHashMap());
+        return arbitratorManager;
+    }
+
+    private static PriceFeedService mockPriceFeedService() {
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        when(priceFeedService.updateCounterProperty()).thenReturn(new SimpleIntegerProperty());
+        return priceFeedService;
+    }
+
     private PaymentAccount getOKPayAccount(String currencyCode) {
         PaymentAccount paymentAccount = new OKPayAccount();
         paymentAccount.setSelectedTradeCurrency(new FiatCurrency(currencyCode));
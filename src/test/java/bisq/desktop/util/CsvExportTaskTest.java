@@ -0,0 +1,72 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import com.google.common.base.Charsets;
+
+import java.nio.file.Files;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CsvExportTaskTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testExportWritesHeaderAndRows() throws Exception {
+        File file = temporaryFolder.newFile("export.csv");
+        CsvExportTask<String> task = new CsvExportTask<>(file, getColumns(), Arrays.asList("a", "bb"), item -> true);
+
+        assertEquals(2, (int) task.call());
+        List<String> lines = Files.readAllLines(file.toPath(), Charsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("Value"));
+        assertTrue(lines.get(2).contains("bb"));
+    }
+
+    @Test
+    public void testExportSkipsFilteredItems() throws Exception {
+        File file = temporaryFolder.newFile("export.csv");
+        CsvExportTask<String> task = new CsvExportTask<>(file, getColumns(), Arrays.asList("a", "bb", "c"),
+                item -> item.length() == 1);
+
+        assertEquals(2, (int) task.call());
+        List<String> lines = Files.readAllLines(file.toPath(), Charsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains("a"));
+        assertTrue(lines.get(2).contains("c"));
+    }
+
+    private static List<CsvExportTask.Column<String>> getColumns() {
+        List<CsvExportTask.Column<String>> columns = new ArrayList<>();
+        columns.add(new CsvExportTask.Column<>("Value", item -> item));
+        columns.add(new CsvExportTask.Column<>("Length", item -> String.valueOf(item.length())));
+        return columns;
+    }
+}
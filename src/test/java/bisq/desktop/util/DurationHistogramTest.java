@@ -0,0 +1,63 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DurationHistogramTest {
+
+    @Test
+    public void testStatistics() {
+        DurationHistogram histogram = new DurationHistogram(10);
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals("", histogram.formatBuckets());
+
+        for (long duration : new long[]{16, 16, 17, 20, 40, 60, 1000, 16, 16, 16})
+            histogram.add(duration);
+
+        assertEquals(10, histogram.size());
+        assertEquals(16, histogram.getPercentile(50));
+        assertEquals(60, histogram.getPercentile(90));
+        assertEquals(1000, histogram.getPercentile(100));
+        assertEquals(1000, histogram.getMax());
+        assertEquals(121.7, histogram.getMean(), 0.001);
+        assertEquals(2, histogram.countAbove(50));
+        assertArrayEquals(new int[]{5, 2, 1, 1, 0, 0, 0, 1}, histogram.getBucketCounts());
+        assertEquals("<17 ms: 5, 17-33 ms: 2, 33-50 ms: 1, 50-100 ms: 1, >=1000 ms: 1", histogram.formatBuckets());
+    }
+
+    @Test
+    public void testOnlyLatestDurationsAreKept() {
+        DurationHistogram histogram = new DurationHistogram(3);
+        histogram.add(500);
+        histogram.add(10);
+        histogram.add(20);
+        histogram.add(30);
+
+        assertEquals(3, histogram.size());
+        assertEquals(30, histogram.getMax());
+        assertEquals(20, histogram.getMean(), 0.001);
+
+        histogram.clear();
+        assertEquals(0, histogram.size());
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -21,6 +21,9 @@ import bisq.core.locale.GlobalSettings;
 import bisq.core.locale.Res;
 import bisq.core.locale.TradeCurrency;
 
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
 import javafx.util.StringConverter;
 
 import java.util.HashMap;
@@ -50,9 +53,9 @@ public class GUIUtilTest {
 
     @Test
     public void testTradeCurrencyConverter() {
-        Map<String, Integer> offerCounts = new HashMap<String, Integer>() {{
-            put("BTC", 11);
-            put("EUR", 10);
+        Map<String, IntegerProperty> offerCounts = new HashMap<String, IntegerProperty>() {{
+            put("BTC", new SimpleIntegerProperty(11));
+            put("EUR", new SimpleIntegerProperty(10));
         }};
         StringConverter<TradeCurrency> tradeCurrencyConverter = GUIUtil.getTradeCurrencyConverter(
                 Res.get("shared.oneOffer"),
@@ -62,6 +65,10 @@ public class GUIUtilTest {
 
         assertEquals("✦ BTC (BTC) - 11 offers", tradeCurrencyConverter.toString(bitcoin));
         assertEquals("★ Euro (EUR) - 10 offers", tradeCurrencyConverter.toString(euro));
+
+        // The converter reads the current counts
+        offerCounts.get("EUR").set(1);
+        assertEquals("★ Euro (EUR) - 1 offer", tradeCurrencyConverter.toString(euro));
     }
 
     @Test
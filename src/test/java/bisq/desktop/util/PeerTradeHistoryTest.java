@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import bisq.core.trade.Tradable;
+import bisq.core.trade.Trade;
+import bisq.core.trade.closed.ClosedTradableManager;
+
+import bisq.network.p2p.NodeAddress;
+
+import org.bitcoinj.core.Coin;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PeerTradeHistoryTest {
+    private final NodeAddress peer1 = new NodeAddress("peer1.onion", 9999);
+    private final NodeAddress peer2 = new NodeAddress("peer2.onion", 9999);
+    private ObservableList<Tradable> closedTradables;
+    private PeerTradeHistory peerTradeHistory;
+
+    @Before
+    public void setUp() {
+        closedTradables = FXCollections.observableArrayList();
+        ClosedTradableManager closedTradableManager = mock(ClosedTradableManager.class);
+        when(closedTradableManager.getClosedTradables()).thenReturn(closedTradables);
+        peerTradeHistory = new PeerTradeHistory(closedTradableManager);
+    }
+
+    @Test
+    public void testGetPeerStatistics() {
+        closedTradables.add(createTrade(peer1, 2000, 100));
+        closedTradables.add(createTrade(peer1, 1000, 200));
+        closedTradables.add(createTrade(peer2, 3000, 50));
+        closedTradables.add(mock(Tradable.class));
+
+        PeerTradeHistory.PeerStatistics peerStatistics = peerTradeHistory.getPeerStatistics(peer1);
+        assertEquals(2, peerStatistics.getNumTrades());
+        assertEquals(new Date(1000), peerStatistics.getFirstTradeDate());
+        assertEquals(new Date(2000), peerStatistics.getLastTradeDate());
+        assertEquals(Coin.valueOf(300), peerStatistics.getTradeVolume());
+
+        assertEquals(1, peerTradeHistory.getPeerStatistics(new NodeAddress("peer2.onion", 9999)).getNumTrades());
+        assertSame(PeerTradeHistory.PeerStatistics.EMPTY, peerTradeHistory.getPeerStatistics(null));
+        assertSame(PeerTradeHistory.PeerStatistics.EMPTY,
+                peerTradeHistory.getPeerStatistics(new NodeAddress("unknown.onion", 9999)));
+    }
+
+    @Test
+    public void testUpdateOnListChanges() {
+        Trade trade = createTrade(peer1, 1000, 100);
+        closedTradables.add(trade);
+        assertEquals(1, peerTradeHistory.getPeerStatistics(peer1).getNumTrades());
+
+        closedTradables.add(createTrade(peer1, 5000, 400));
+        PeerTradeHistory.PeerStatistics peerStatistics = peerTradeHistory.getPeerStatistics(peer1);
+        assertEquals(2, peerStatistics.getNumTrades());
+        assertEquals(new Date(5000), peerStatistics.getLastTradeDate());
+        assertEquals(Coin.valueOf(500), peerStatistics.getTradeVolume());
+
+        closedTradables.remove(trade);
+        peerStatistics = peerTradeHistory.getPeerStatistics(peer1);
+        assertEquals(1, peerStatistics.getNumTrades());
+        assertEquals(new Date(5000), peerStatistics.getFirstTradeDate());
+
+        closedTradables.clear();
+        assertSame(PeerTradeHistory.PeerStatistics.EMPTY, peerTradeHistory.getPeerStatistics(peer1));
+    }
+
+    private static Trade createTrade(NodeAddress tradingPeerNodeAddress, long date, long tradeAmount) {
+        Trade trade = mock(Trade.class);
+        when(trade.getTradingPeerNodeAddress()).thenReturn(tradingPeerNodeAddress);
+        when(trade.getDate()).thenReturn(new Date(date));
+        when(trade.getTradeAmount()).thenReturn(Coin.valueOf(tradeAmount));
+        return trade;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.util;
+
+import bisq.core.btc.listeners.TxConfidenceListener;
+import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.btc.wallet.BtcWalletService;
+
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.wallet.listeners.WalletEventListener;
+
+import org.mockito.ArgumentCaptor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TxConfidenceDispatcherTest {
+    @Test
+    public void testDispatchByTxId() {
+        BtcWalletService walletService = mock(BtcWalletService.class);
+        TxConfidenceDispatcher dispatcher = new TxConfidenceDispatcher(0);
+
+        TxConfidenceListener listener1 = spy(createListener("1"));
+        TxConfidenceListener otherListener1 = spy(createListener("1"));
+        TxConfidenceListener listener2 = spy(createListener("2"));
+        dispatcher.addTxConfidenceListener(walletService, listener1);
+        dispatcher.addTxConfidenceListener(walletService, otherListener1);
+        dispatcher.addTxConfidenceListener(walletService, listener2);
+        assertEquals(3, dispatcher.getNumListeners(walletService));
+
+        // Only one listener is registered at the wallet service
+        ArgumentCaptor<WalletEventListener> captor = ArgumentCaptor.forClass(WalletEventListener.class);
+        verify(walletService).addEventListener(captor.capture());
+        WalletEventListener walletEventListener = captor.getValue();
+
+        Transaction tx = mock(Transaction.class);
+        TransactionConfidence confidence = mock(TransactionConfidence.class);
+        when(tx.getHashAsString()).thenReturn("1");
+        when(tx.getConfidence()).thenReturn(confidence);
+        walletEventListener.onTransactionConfidenceChanged(null, tx);
+
+        verify(listener1).onTransactionConfidenceChanged(confidence);
+        verify(otherListener1).onTransactionConfidenceChanged(confidence);
+        verify(listener2, never()).onTransactionConfidenceChanged(confidence);
+    }
+
+    @Test
+    public void testRemoveListener() {
+        BtcWalletService walletService = mock(BtcWalletService.class);
+        TxConfidenceDispatcher dispatcher = new TxConfidenceDispatcher(0);
+
+        TxConfidenceListener listener = createListener("1");
+        dispatcher.addTxConfidenceListener(walletService, listener);
+        dispatcher.removeTxConfidenceListener(walletService, null);
+        dispatcher.removeTxConfidenceListener(walletService, listener);
+
+        assertEquals(0, dispatcher.getNumListeners(walletService));
+        ArgumentCaptor<WalletEventListener> captor = ArgumentCaptor.forClass(WalletEventListener.class);
+        verify(walletService).addEventListener(captor.capture());
+        verify(walletService).removeEventListener(captor.getValue());
+    }
+
+    @Test
+    public void testDispatchByWalletService() {
+        BtcWalletService btcWalletService = mock(BtcWalletService.class);
+        BsqWalletService bsqWalletService = mock(BsqWalletService.class);
+        TxConfidenceDispatcher dispatcher = new TxConfidenceDispatcher(0);
+
+        TxConfidenceListener btcListener = spy(createListener("1"));
+        TxConfidenceListener bsqListener = spy(createListener("1"));
+        dispatcher.addTxConfidenceListener(btcWalletService, btcListener);
+        dispatcher.addTxConfidenceListener(bsqWalletService, bsqListener);
+        assertEquals(1, dispatcher.getNumListeners(btcWalletService));
+        assertEquals(1, dispatcher.getNumListeners(bsqWalletService));
+
+        ArgumentCaptor<WalletEventListener> captor = ArgumentCaptor.forClass(WalletEventListener.class);
+        verify(bsqWalletService).addEventListener(captor.capture());
+
+        Transaction tx = mock(Transaction.class);
+        TransactionConfidence confidence = mock(TransactionConfidence.class);
+        when(tx.getHashAsString()).thenReturn("1");
+        when(tx.getConfidence()).thenReturn(confidence);
+        captor.getValue().onTransactionConfidenceChanged(null, tx);
+
+        verify(bsqListener).onTransactionConfidenceChanged(confidence);
+        verify(btcListener, never()).onTransactionConfidenceChanged(confidence);
+
+        // Removing the last listener of one wallet service does not affect the other one
+        dispatcher.removeTxConfidenceListener(bsqWalletService, bsqListener);
+        verify(bsqWalletService).removeEventListener(captor.getValue());
+        verify(btcWalletService, never()).removeEventListener(any());
+        assertEquals(1, dispatcher.getNumListeners(btcWalletService));
+    }
+
+    private static TxConfidenceListener createListener(String txId) {
+        return new TxConfidenceListener(txId) {
+            @Override
+            public void onTransactionConfidenceChanged(TransactionConfidence confidence) {
+            }
+        };
+    }
+}